@@ -92,6 +92,11 @@ const ResumeList = ({ refreshTrigger }) => {
 
                             <div className="resume-meta">
                                 <span className="source-badge">{resume.source}</span>
+                                {resume.preScreened && (
+                                    <span className="source-badge" title="Scored locally; not sent for AI analysis">
+                                        PRE-SCREENED
+                                    </span>
+                                )}
                                 <span className="date">
                                     Analyzed: {new Date(resume.analyzedAt).toLocaleDateString()}
                                 </span>
@@ -2,6 +2,35 @@ import React, { useState } from 'react';
 import { resumeService } from '../services/api';
 import '../styles/ResumeUpload.css';
 
+// Matches spring.servlet.multipart.max-file-size on the backend
+const MULTIPART_LIMIT_BYTES = 10 * 1024 * 1024;
+
+// Mirrors FormatSniffer on the backend: 'resume' (PDF, DOCX, DOC), 'archive' (ZIP, TAR, TAR.GZ) or null
+const sniffFileKind = async (file) => {
+    const head = new Uint8Array(await file.slice(0, 1024).arrayBuffer());
+    const matches = (magic, offset = 0) => magic.every((byte, i) => head[offset + i] === byte);
+
+    if (matches([0x50, 0x4b, 0x03, 0x04])) {
+        const nameLength = head[26] | (head[27] << 8);
+        const firstEntry = new TextDecoder().decode(head.slice(30, 30 + nameLength));
+        const ooxml = firstEntry === '[Content_Types].xml' || ['_rels/', 'word/', 'docProps/'].some(prefix => firstEntry.startsWith(prefix));
+        return ooxml || file.name.toLowerCase().endsWith('.docx') ? 'resume' : 'archive';
+    }
+    if (matches([0xd0, 0xcf, 0x11, 0xe0, 0xa1, 0xb1, 0x1a, 0xe1])) {
+        return 'resume';
+    }
+    if (matches([0x1f, 0x8b]) || matches([0x75, 0x73, 0x74, 0x61, 0x72], 257)) {
+        return 'archive';
+    }
+    const pdf = [0x25, 0x50, 0x44, 0x46, 0x2d];
+    for (let offset = 0; offset + pdf.length <= head.length; offset++) {
+        if (matches(pdf, offset)) {
+            return 'resume';
+        }
+    }
+    return null;
+};
+
 const ResumeUpload = ({ onUploadSuccess }) => {
     const [selectedFile, setSelectedFile] = useState(null);
     const [selectedFiles, setSelectedFiles] = useState([]);
@@ -12,29 +41,26 @@ const ResumeUpload = ({ onUploadSuccess }) => {
     const [driveFolderId, setDriveFolderId] = useState('');
     const [aiProvider, setAiProvider] = useState('openai');
     const [uploadProgress, setUploadProgress] = useState('');
+    const [lastResult, setLastResult] = useState('');
 
-    const handleFileSelect = (e) => {
+    const handleFileSelect = async (e) => {
         const files = Array.from(e.target.files);
+        // Classify by content, so files the browser labels application/octet-stream are not turned away
+        const kinds = await Promise.all(files.map(sniffFileKind));
 
         if (uploadMode === 'zip') {
             const file = files[0];
             if (file) {
-                if (file.type === 'application/zip' || file.type === 'application/x-zip-compressed' || file.name.toLowerCase().endsWith('.zip')) {
+                if (kinds[0] === 'archive') {
                     setSelectedFile(file);
                     setError('');
                 } else {
-                    setError('Please select a ZIP file');
+                    setError('Please select a ZIP, TAR or TAR.GZ archive');
                     setSelectedFile(null);
                 }
             }
         } else if (uploadMode === 'multiple') {
-            const validTypes = ['application/pdf', 'application/vnd.openxmlformats-officedocument.wordprocessingml.document', 'application/msword'];
-            const validFiles = files.filter(file =>
-                validTypes.includes(file.type) ||
-                file.name.toLowerCase().endsWith('.pdf') ||
-                file.name.toLowerCase().endsWith('.doc') ||
-                file.name.toLowerCase().endsWith('.docx')
-            );
+            const validFiles = files.filter((file, index) => kinds[index] === 'resume');
 
             if (validFiles.length > 0) {
                 setSelectedFiles(validFiles);
@@ -46,8 +72,7 @@ const ResumeUpload = ({ onUploadSuccess }) => {
         } else {
             const file = files[0];
             if (file) {
-                const validTypes = ['application/pdf', 'application/vnd.openxmlformats-officedocument.wordprocessingml.document', 'application/msword'];
-                if (validTypes.includes(file.type) || file.name.toLowerCase().endsWith('.pdf') || file.name.toLowerCase().endsWith('.doc') || file.name.toLowerCase().endsWith('.docx')) {
+                if (kinds[0] === 'resume') {
                     setSelectedFile(file);
                     setError('');
                 } else {
@@ -69,6 +94,18 @@ const ResumeUpload = ({ onUploadSuccess }) => {
         if (fileInput) fileInput.value = '';
     };
 
+    const showJobProgress = (job) => {
+        const processed = job.completedFiles + job.duplicateFiles + job.failedFiles;
+        const eta = job.etaSeconds != null ? ` - about ${job.etaSeconds}s remaining` : '';
+        setUploadProgress(`Processed ${processed} of ${job.totalFiles} resume(s)${eta}`);
+    };
+
+    const showFileResult = (file) => {
+        const detail = file.resume ? `${file.resume.candidateName || file.fileName} - score ${file.resume.matchScore}`
+            : `${file.fileName} - ${file.error || file.status}`;
+        setLastResult(detail);
+    };
+
     const handleUpload = async () => {
         if (uploadMode === 'single' && !selectedFile) {
             setError('Please select a file first');
@@ -88,18 +125,27 @@ const ResumeUpload = ({ onUploadSuccess }) => {
         setUploading(true);
         setError('');
         setUploadProgress('');
+        setLastResult('');
 
         try {
             let result;
 
             if (uploadMode === 'zip') {
                 setUploadProgress('Extracting and analyzing resumes from ZIP...');
-                result = await resumeService.uploadZipFile(selectedFile, aiProvider);
-                setUploadProgress(`Successfully processed ${result.length} resume(s) from ZIP file`);
+                // Large archives go through the resumable chunked upload instead of one multipart request
+                const job = selectedFile.size > MULTIPART_LIMIT_BYTES
+                    ? await resumeService.uploadChunked(selectedFile, aiProvider, (upload) =>
+                        setUploadProgress(`Uploading... ${Math.floor(upload.receivedBytes * 100 / upload.totalSize)}%`))
+                    : await resumeService.uploadZipFile(selectedFile, aiProvider);
+                result = await resumeService.waitForJob(job, showJobProgress, showFileResult);
+                setUploadProgress(`Successfully processed ${result.completedFiles} resume(s) from ZIP file` +
+                    (result.duplicateFiles ? ` (${result.duplicateFiles} already analyzed)` : ''));
             } else if (uploadMode === 'multiple') {
                 setUploadProgress(`Analyzing ${selectedFiles.length} resume(s)...`);
-                result = await resumeService.uploadMultipleResumes(selectedFiles, aiProvider);
-                setUploadProgress(`Successfully processed ${result.length} resume(s)`);
+                const job = await resumeService.uploadMultipleResumes(selectedFiles, aiProvider);
+                result = await resumeService.waitForJob(job, showJobProgress, showFileResult);
+                setUploadProgress(`Successfully processed ${result.completedFiles} resume(s)` +
+                    (result.duplicateFiles ? ` (${result.duplicateFiles} already analyzed)` : ''));
             } else {
                 result = await resumeService.uploadResume(selectedFile, aiProvider);
             }
@@ -123,9 +169,11 @@ const ResumeUpload = ({ onUploadSuccess }) => {
     const handleDriveImport = async () => {
         setDriveImporting(true);
         setError('');
+        setLastResult('');
 
         try {
-            const results = await resumeService.importFromGoogleDrive(driveFolderId, aiProvider);
+            const job = await resumeService.importFromGoogleDrive(driveFolderId, aiProvider);
+            const results = await resumeService.waitForJob(job, null, showFileResult);
             setDriveFolderId('');
             if (onUploadSuccess) {
                 onUploadSuccess(results);
@@ -187,7 +235,7 @@ const ResumeUpload = ({ onUploadSuccess }) => {
                     <input
                         type="file"
                         id="fileInput"
-                        accept={uploadMode === 'zip' ? '.zip' : '.pdf,.doc,.docx'}
+                        accept={uploadMode === 'zip' ? '.zip,.tar,.tar.gz,.tgz' : '.pdf,.doc,.docx'}
                         multiple={uploadMode === 'multiple'}
                         onChange={handleFileSelect}
                         disabled={uploading}
@@ -217,6 +265,9 @@ const ResumeUpload = ({ onUploadSuccess }) => {
                 {uploadProgress && (
                     <div className="upload-progress">
                         {uploadProgress}
+                        {lastResult && uploading && (
+                            <div className="upload-last-result">Latest: {lastResult}</div>
+                        )}
                     </div>
                 )}
 
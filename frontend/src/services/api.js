@@ -5,6 +5,26 @@ const API_BASE_URL = process.env.NODE_ENV === 'production'
     ? '/api'
     : 'http://localhost:8080/api';
 
+const sha256Hex = async (buffer) => {
+    const digest = await crypto.subtle.digest('SHA-256', buffer);
+    return Array.from(new Uint8Array(digest)).map(b => b.toString(16).padStart(2, '0')).join('');
+};
+
+const pollJob = async (job, onProgress) => {
+    let current = job;
+    while (current.status === 'QUEUED' || current.status === 'RUNNING') {
+        await new Promise(resolve => setTimeout(resolve, 2000));
+        current = await jobService.getJob(current.id);
+        if (onProgress) {
+            onProgress(current);
+        }
+    }
+    if (current.status === 'FAILED') {
+        throw new Error(current.error || 'Batch processing failed');
+    }
+    return current;
+};
+
 export const resumeService = {
     uploadResume: async (file, aiProvider = 'openai') => {
         const formData = new FormData();
@@ -44,6 +64,44 @@ export const resumeService = {
         return response.data;
     },
 
+    // Resumable upload for archives beyond the multipart limit: chunks carry a SHA-256 checksum,
+    // failed chunks are retried and the server's receivedBytes tells where to continue
+    uploadChunked: async (file, aiProvider = 'openai', onProgress) => {
+        const init = await axios.post(`${API_BASE_URL}/uploads`, null, {
+            params: { fileName: file.name, totalSize: file.size }
+        });
+        let upload = init.data;
+        let attempts = 0;
+        while (upload.receivedBytes < upload.totalSize) {
+            const chunk = file.slice(upload.receivedBytes, upload.receivedBytes + upload.chunkSize);
+            const body = await chunk.arrayBuffer();
+            try {
+                const response = await axios.put(`${API_BASE_URL}/uploads/${upload.uploadId}`, body, {
+                    headers: {
+                        'Content-Type': 'application/octet-stream',
+                        'X-Chunk-Checksum': await sha256Hex(body),
+                    },
+                    params: { offset: upload.receivedBytes }
+                });
+                upload = response.data;
+                attempts = 0;
+                if (onProgress) {
+                    onProgress(upload);
+                }
+            } catch (err) {
+                if (++attempts > 5) {
+                    throw err;
+                }
+                await new Promise(resolve => setTimeout(resolve, 1000 * attempts));
+                upload = (await axios.get(`${API_BASE_URL}/uploads/${upload.uploadId}`)).data;
+            }
+        }
+        const response = await axios.post(`${API_BASE_URL}/uploads/${upload.uploadId}/complete`, null, {
+            params: { aiProvider }
+        });
+        return response.data;
+    },
+
     importFromGoogleDrive: async (folderId = '', aiProvider = 'openai') => {
         const response = await axios.post(
             `${API_BASE_URL}/resumes/import-from-drive`,
@@ -53,6 +111,58 @@ export const resumeService = {
         return response.data;
     },
 
+    // Batch endpoints return 202 with a job. Follows a job over Server-Sent Events, reporting each finished file as it lands;
+    // falls back to polling when the stream cannot be opened
+    waitForJob: (job, onProgress, onResult) => {
+        if (typeof EventSource === 'undefined') {
+            return pollJob(job, onProgress);
+        }
+        return new Promise((resolve, reject) => {
+            const source = new EventSource(`${API_BASE_URL}/jobs/${job.id}/events`);
+            const finish = (current) => {
+                source.close();
+                if (current.status === 'FAILED') {
+                    reject(new Error(current.error || 'Batch processing failed'));
+                } else {
+                    resolve(current);
+                }
+            };
+            source.addEventListener('progress', (event) => {
+                if (onProgress) {
+                    onProgress(JSON.parse(event.data));
+                }
+            });
+            source.addEventListener('result', (event) => {
+                if (onResult) {
+                    onResult(JSON.parse(event.data));
+                }
+            });
+            source.addEventListener('error', (event) => {
+                if (!event.data) {
+                    // Connection dropped: carry on by polling
+                    source.close();
+                    pollJob(job, onProgress).then(resolve, reject);
+                    return;
+                }
+                const data = JSON.parse(event.data);
+                if (data.fileName === undefined) {
+                    source.close();
+                    reject(new Error(data.error));
+                    return;
+                }
+                if (onResult) {
+                    onResult(data);
+                }
+            });
+            source.addEventListener('complete', (event) => finish(JSON.parse(event.data)));
+            source.onerror = () => {
+                if (!received) {
+                    source.close();
+                }
+            };
+        });
+    },
+
     getAllResumes: async () => {
         const response = await axios.get(`${API_BASE_URL}/resumes`);
         return response.data;
@@ -63,9 +173,37 @@ export const resumeService = {
         return response.data;
     },
 
+    getResumeSections: async (id) => {
+        const response = await axios.get(`${API_BASE_URL}/resumes/${id}/sections`);
+        return response.data;
+    },
+
     deleteResume: async (id) => {
         await axios.delete(`${API_BASE_URL}/resumes/${id}`);
     },
+
+    rescoreResumes: async (aiProvider = null) => {
+        const params = aiProvider ? { aiProvider } : {};
+        const response = await axios.post(`${API_BASE_URL}/resumes/rescore`, null, { params });
+        return response.data;
+    },
+};
+
+export const jobService = {
+    getJob: async (id) => {
+        const response = await axios.get(`${API_BASE_URL}/jobs/${id}`);
+        return response.data;
+    },
+
+    getAllJobs: async () => {
+        const response = await axios.get(`${API_BASE_URL}/jobs`);
+        return response.data;
+    },
+
+    cancelJob: async (id) => {
+        const response = await axios.post(`${API_BASE_URL}/jobs/${id}/cancel`);
+        return response.data;
+    },
 };
 
 export const jobRequirementService = {
@@ -0,0 +1,35 @@
+package org.example.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Column changes that {@code ddl-auto=update} does not apply to an existing database: Hibernate adds missing
+ * columns but never changes the type of one that exists.
+ */
+@Component
+public class SchemaUpgrade {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Hibernate has created or updated the schema once the factory exists
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void upgrade() {
+        // RESUME.EXTRACTED_TEXT was VARCHAR(10000), too small for the text of long PDFs
+        List<String> types = jdbcTemplate.queryForList("SELECT DATA_TYPE FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE TABLE_NAME = 'RESUME' AND COLUMN_NAME = 'EXTRACTED_TEXT'", String.class);
+        if (!types.isEmpty() && types.get(0).equalsIgnoreCase("CHARACTER VARYING")) {
+            System.out.println("DEBUG: Widening RESUME.EXTRACTED_TEXT to CLOB");
+            jdbcTemplate.execute("ALTER TABLE RESUME ALTER COLUMN EXTRACTED_TEXT SET DATA TYPE CLOB");
+        }
+    }
+}
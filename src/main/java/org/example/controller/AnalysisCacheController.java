@@ -0,0 +1,49 @@
+package org.example.controller;
+
+import org.example.dto.AnalysisCacheStatsDTO;
+import org.example.service.AnalysisCacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+public class AnalysisCacheController {
+
+    @Autowired
+    private AnalysisCacheService analysisCacheService;
+
+    @GetMapping
+    public ResponseEntity<AnalysisCacheStatsDTO> getStats() {
+        return ResponseEntity.ok(analysisCacheService.getStats());
+    }
+
+    @DeleteMapping
+    public ResponseEntity<?> invalidate(@RequestParam(required = false) String provider) {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            if (provider != null && !provider.isEmpty()) {
+                response.put("removed", analysisCacheService.invalidateProvider(provider));
+                response.put("message", "Analysis cache cleared for " + provider);
+            } else {
+                analysisCacheService.invalidateAll();
+                response.put("message", "Analysis cache cleared");
+            }
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to clear analysis cache: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(error);
+        }
+    }
+
+    @DeleteMapping("/expired")
+    public ResponseEntity<?> purgeExpired() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("removed", analysisCacheService.purgeExpired());
+        return ResponseEntity.ok(response);
+    }
+}
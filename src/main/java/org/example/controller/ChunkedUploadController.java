@@ -0,0 +1,115 @@
+package org.example.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.example.dto.ChunkedUploadDTO;
+import org.example.dto.IngestionJobDTO;
+import org.example.service.ChunkedUploadService;
+import org.example.service.IngestionRejectedException;
+import org.example.service.UploadNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Resumable chunked uploads: POST to open, PUT chunks with {@code ?offset=} and an
+ * {@code X-Chunk-Checksum} (SHA-256) header, GET to find where to resume, POST {@code /complete} to ingest.
+ */
+@RestController
+@RequestMapping("/api/uploads")
+public class ChunkedUploadController {
+
+    @Autowired
+    private ChunkedUploadService uploadService;
+
+    @PostMapping
+    public ResponseEntity<?> initUpload(@RequestParam String fileName, @RequestParam long totalSize) {
+        try {
+            ChunkedUploadDTO upload = uploadService.init(fileName, totalSize);
+            return ResponseEntity.created(URI.create("/api/uploads/" + upload.getUploadId())).body(upload);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error opening upload: " + e.getMessage());
+        }
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<?> uploadChunk(
+            @PathVariable String id,
+            @RequestParam long offset,
+            @RequestHeader(value = "X-Chunk-Checksum", required = false) String checksum,
+            HttpServletRequest request) {
+        try {
+            return ResponseEntity.ok(uploadService.writeChunk(id, offset, request.getInputStream(), checksum));
+        } catch (UploadNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (IOException e) {
+            // Broken or oversized request body; the chunk can be sent again
+            return ResponseEntity.badRequest().body("Error writing chunk: " + e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error writing chunk: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getUpload(@PathVariable String id) {
+        try {
+            return ResponseEntity.ok(uploadService.getStatus(id));
+        } catch (UploadNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error reading upload: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<?> completeUpload(
+            @PathVariable String id,
+            @RequestParam(required = false) String checksum,
+            @RequestParam(value = "aiProvider", required = false) String aiProvider) {
+        try {
+            IngestionJobDTO job = uploadService.complete(id, checksum, aiProvider);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/jobs/" + job.getId()))
+                    .body(job);
+        } catch (UploadNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IngestionRejectedException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error completing upload: " + e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> abortUpload(@PathVariable String id) {
+        try {
+            uploadService.abort(id);
+            return ResponseEntity.noContent().build();
+        } catch (UploadNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error aborting upload: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.controller;
+
+import org.example.dto.IngestionJobDTO;
+import org.example.service.IngestionEventStreamService;
+import org.example.service.IngestionJobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/jobs")
+public class IngestionJobController {
+
+    @Autowired
+    private IngestionJobService jobService;
+
+    @Autowired
+    private IngestionEventStreamService eventStreamService;
+
+    @GetMapping
+    public ResponseEntity<List<IngestionJobDTO>> getAllJobs() {
+        return ResponseEntity.ok(jobService.getAllJobs());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getJob(@PathVariable String id) {
+        try {
+            return ResponseEntity.ok(jobService.getJob(id));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Job not found: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<?> cancelJob(@PathVariable String id) {
+        try {
+            return ResponseEntity.ok(jobService.cancelJob(id));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Job not found: " + e.getMessage());
+        }
+    }
+
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamJobEvents(@PathVariable String id) {
+        try {
+            return eventStreamService.stream(id);
+        } catch (Exception e) {
+            return eventStreamService.failed("Job not found: " + e.getMessage());
+        }
+    }
+}
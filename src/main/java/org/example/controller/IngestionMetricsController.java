@@ -0,0 +1,86 @@
+package org.example.controller;
+
+import org.example.dto.AIHttpClientStatsDTO;
+import org.example.dto.ExtractedTextCacheStatsDTO;
+import org.example.dto.IngestionGovernorStatsDTO;
+import org.example.dto.PromptCompactionStatsDTO;
+import org.example.model.QuarantineRecord;
+import org.example.service.AIHttpClient;
+import org.example.service.ExtractedTextCache;
+import org.example.service.IngestionGovernor;
+import org.example.service.QuarantineService;
+import org.example.service.ResumeTextCompactor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/ingestion")
+public class IngestionMetricsController {
+
+    @Autowired
+    private IngestionGovernor governor;
+
+    @Autowired
+    private QuarantineService quarantineService;
+
+    @Autowired
+    private ResumeTextCompactor resumeTextCompactor;
+
+    @Autowired
+    private ExtractedTextCache extractedTextCache;
+
+    @Autowired
+    private AIHttpClient aiHttpClient;
+
+    @GetMapping("/metrics")
+    public ResponseEntity<IngestionGovernorStatsDTO> getMetrics() {
+        return ResponseEntity.ok(governor.getStats());
+    }
+
+    /**
+     * Estimated prompt tokens per resume before and after compaction.
+     */
+    @GetMapping("/compaction")
+    public ResponseEntity<PromptCompactionStatsDTO> getCompaction() {
+        return ResponseEntity.ok(resumeTextCompactor.getStats());
+    }
+
+    @GetMapping("/text-cache")
+    public ResponseEntity<ExtractedTextCacheStatsDTO> getTextCache() {
+        return ResponseEntity.ok(extractedTextCache.getStats());
+    }
+
+    /**
+     * Dispatcher load, pooled connections and handshakes of the AI providers' shared HTTP client.
+     */
+    @GetMapping("/ai-http")
+    public ResponseEntity<AIHttpClientStatsDTO> getAiHttp() {
+        return ResponseEntity.ok(aiHttpClient.getStats());
+    }
+
+    @GetMapping("/quarantine")
+    public ResponseEntity<List<QuarantineRecord>> getQuarantine() {
+        return ResponseEntity.ok(quarantineService.getAll());
+    }
+
+    /**
+     * Release a quarantined file so it can be ingested again.
+     */
+    @DeleteMapping("/quarantine/{id}")
+    public ResponseEntity<?> releaseQuarantine(@PathVariable Long id) {
+        try {
+            quarantineService.release(id);
+            return ResponseEntity.noContent().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+}
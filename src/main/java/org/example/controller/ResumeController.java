@@ -1,13 +1,22 @@
 package org.example.controller;
 
+import org.example.dto.IngestionJobDTO;
 import org.example.dto.ResumeDTO;
+import org.example.dto.ResumeSectionDTO;
+import org.example.service.IngestionEventStreamService;
+import org.example.service.IngestionRejectedException;
+import org.example.service.RescoringService;
 import org.example.service.ResumeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -17,6 +26,12 @@ public class ResumeController {
     @Autowired
     private ResumeService resumeService;
 
+    @Autowired
+    private IngestionEventStreamService eventStreamService;
+
+    @Autowired
+    private RescoringService rescoringService;
+
     @PostMapping("/upload")
     public ResponseEntity<?> uploadResume(
             @RequestParam("file") MultipartFile file,
@@ -24,6 +39,10 @@ public class ResumeController {
         try {
             ResumeDTO result = resumeService.uploadAndAnalyzeResume(file, aiProvider);
             return ResponseEntity.ok(result);
+        } catch (IngestionRejectedException e) {
+            return tooBusy(e);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error processing resume: " + e.getMessage());
@@ -35,8 +54,10 @@ public class ResumeController {
             @RequestParam("files") MultipartFile[] files,
             @RequestParam(value = "aiProvider", required = false) String aiProvider) {
         try {
-            List<ResumeDTO> results = resumeService.uploadAndAnalyzeMultipleResumes(files, aiProvider);
-            return ResponseEntity.ok(results);
+            IngestionJobDTO job = resumeService.startMultipleUploadJob(files, aiProvider);
+            return accepted(job);
+        } catch (IngestionRejectedException e) {
+            return tooBusy(e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error processing resumes: " + e.getMessage());
@@ -48,8 +69,12 @@ public class ResumeController {
             @RequestParam("file") MultipartFile zipFile,
             @RequestParam(value = "aiProvider", required = false) String aiProvider) {
         try {
-            List<ResumeDTO> results = resumeService.uploadAndAnalyzeZipFile(zipFile, aiProvider);
-            return ResponseEntity.ok(results);
+            IngestionJobDTO job = resumeService.startZipUploadJob(zipFile, aiProvider);
+            return accepted(job);
+        } catch (IngestionRejectedException e) {
+            return tooBusy(e);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error processing ZIP file: " + e.getMessage());
@@ -61,14 +86,79 @@ public class ResumeController {
             @RequestParam(required = false) String folderId,
             @RequestParam(value = "aiProvider", required = false) String aiProvider) {
         try {
-            List<ResumeDTO> results = resumeService.importFromGoogleDrive(folderId, aiProvider);
-            return ResponseEntity.ok(results);
+            IngestionJobDTO job = resumeService.startGoogleDriveImportJob(folderId, aiProvider);
+            return accepted(job);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error importing from Google Drive: " + e.getMessage());
         }
     }
 
+    @PostMapping("/sync-from-drive")
+    public ResponseEntity<?> syncFromGoogleDrive(
+            @RequestParam(required = false) String folderId,
+            @RequestParam(value = "aiProvider", required = false) String aiProvider,
+            @RequestParam(defaultValue = "false") boolean full) {
+        try {
+            IngestionJobDTO job = resumeService.startGoogleDriveSyncJob(folderId, aiProvider, full);
+            return accepted(job);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error syncing from Google Drive: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/rescore")
+    public ResponseEntity<?> rescoreResumes(
+            @RequestParam(value = "aiProvider", required = false) String aiProvider) {
+        try {
+            IngestionJobDTO job = rescoringService.startRescoring(aiProvider);
+            return accepted(job);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error starting re-scoring: " + e.getMessage());
+        }
+    }
+
+    @PostMapping(value = "/upload-multiple/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter uploadMultipleResumesStream(
+            @RequestParam("files") MultipartFile[] files,
+            @RequestParam(value = "aiProvider", required = false) String aiProvider) {
+        try {
+            return eventStreamService.stream(resumeService.startMultipleUploadJob(files, aiProvider).getId());
+        } catch (IngestionRejectedException e) {
+            // Answered with 429 by the handler below; an SSE body cannot carry the status
+            throw e;
+        } catch (Exception e) {
+            return eventStreamService.failed("Error processing resumes: " + e.getMessage());
+        }
+    }
+
+    @PostMapping(value = "/upload-zip/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter uploadZipFileStream(
+            @RequestParam("file") MultipartFile zipFile,
+            @RequestParam(value = "aiProvider", required = false) String aiProvider) {
+        try {
+            return eventStreamService.stream(resumeService.startZipUploadJob(zipFile, aiProvider).getId());
+        } catch (IngestionRejectedException e) {
+            // Answered with 429 by the handler below; an SSE body cannot carry the status
+            throw e;
+        } catch (Exception e) {
+            return eventStreamService.failed("Error processing ZIP file: " + e.getMessage());
+        }
+    }
+
+    @PostMapping(value = "/import-from-drive/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter importFromGoogleDriveStream(
+            @RequestParam(required = false) String folderId,
+            @RequestParam(value = "aiProvider", required = false) String aiProvider) {
+        try {
+            return eventStreamService.stream(resumeService.startGoogleDriveImportJob(folderId, aiProvider).getId());
+        } catch (Exception e) {
+            return eventStreamService.failed("Error importing from Google Drive: " + e.getMessage());
+        }
+    }
+
     @GetMapping
     public ResponseEntity<List<ResumeDTO>> getAllResumes() {
         List<ResumeDTO> resumes = resumeService.getAllResumesRanked();
@@ -86,6 +176,17 @@ public class ResumeController {
         }
     }
 
+    @GetMapping("/{id}/sections")
+    public ResponseEntity<?> getResumeSections(@PathVariable Long id) {
+        try {
+            List<ResumeSectionDTO> sections = resumeService.getResumeSections(id);
+            return ResponseEntity.ok(sections);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Resume not found: " + e.getMessage());
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteResume(@PathVariable Long id) {
         try {
@@ -96,6 +197,18 @@ public class ResumeController {
                     .body("Error deleting resume: " + e.getMessage());
         }
     }
-}
 
+    @ExceptionHandler(IngestionRejectedException.class)
+    public ResponseEntity<String> tooBusy(IngestionRejectedException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(e.getMessage());
+    }
 
+    private ResponseEntity<IngestionJobDTO> accepted(IngestionJobDTO job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/jobs/" + job.getId()))
+                .body(job);
+    }
+}
@@ -15,5 +15,12 @@ public class AIAnalysisResponse {
     private String candidateName;
     private String email;
     private String phone;
+    // False when the provider's reply could not be parsed and this is a fallback; such results are not cached
+    private boolean parsed = true;
+
+    public AIAnalysisResponse(Double matchScore, String analysis, String extractedSkills, String extractedExperience,
+                              String candidateName, String email, String phone) {
+        this(matchScore, analysis, extractedSkills, extractedExperience, candidateName, email, phone, true);
+    }
 }
 
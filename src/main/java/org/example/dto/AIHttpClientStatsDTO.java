@@ -0,0 +1,18 @@
+package org.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AIHttpClientStatsDTO {
+    private int runningCalls;
+    private int queuedCalls;
+    private int maxRequests;
+    private int maxRequestsPerHost;
+    private Map<String, AIHttpProviderStatsDTO> providers;
+}
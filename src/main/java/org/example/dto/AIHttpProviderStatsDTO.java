@@ -0,0 +1,23 @@
+package org.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AIHttpProviderStatsDTO {
+    private int pooledConnections;
+    private int idleConnections;
+    private int inFlightCalls;
+    private long totalCalls;
+    private long failedCalls;
+    private long connectionsOpened;
+    private long tlsHandshakes;
+    private long connectionsAcquired; // minus connectionsOpened = requests served on an existing connection
+    private long http2Connections;
+    private int connectTimeoutMillis;
+    private int readTimeoutMillis;
+    private int callTimeoutMillis;
+}
@@ -0,0 +1,21 @@
+package org.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalysisCacheStatsDTO {
+    private boolean enabled;
+    private int memoryEntries;
+    private int memoryCapacity;
+    private long persistedEntries;
+    private long memoryHits;
+    private long persistentHits;
+    private long misses;
+    private long evictions;
+    private double hitRatio;
+    private long ttlHours;
+}
@@ -0,0 +1,19 @@
+package org.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChunkedUploadDTO {
+    private String uploadId;
+    private String fileName;
+    private long totalSize;
+    private long receivedBytes;
+    private long chunkSize;
+    private LocalDateTime expiresAt;
+}
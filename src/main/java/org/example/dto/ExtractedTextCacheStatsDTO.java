@@ -0,0 +1,20 @@
+package org.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExtractedTextCacheStatsDTO {
+    private boolean enabled;
+    private String parserVersion;
+    private int entries;
+    private long sizeBytes;
+    private long maxSizeBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private double hitRatio;
+}
@@ -0,0 +1,16 @@
+package org.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngestionFileEventDTO {
+    private int index;
+    private String fileName;
+    private String status;
+    private ResumeDTO resume;
+    private String error;
+}
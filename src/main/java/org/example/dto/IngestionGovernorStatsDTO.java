@@ -0,0 +1,24 @@
+package org.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngestionGovernorStatsDTO {
+    private long bytesInFlight;
+    private long maxBytesInFlight;
+    private int activeRequests;
+    private int activeFiles;
+    private int maxConcurrentFiles;
+    private int queuedFiles;
+    private long admittedRequests;
+    private long rejectedRequests;
+    private long rejectedArchiveEntries;
+    private double maxCompressionRatio;
+    private long maxEntryBytes;
+    private long maxArchiveBytes;
+    private int maxArchiveEntries;
+}
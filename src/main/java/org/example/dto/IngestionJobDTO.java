@@ -0,0 +1,30 @@
+package org.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngestionJobDTO {
+    private String id;
+    private String type;
+    private String status;
+    private boolean discoveryComplete;
+    private int totalFiles;
+    private int pendingFiles;
+    private int completedFiles;
+    private int duplicateFiles;
+    private int failedFiles;
+    private Double filesPerMinute;
+    private Long etaSeconds;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private List<IngestionFileStatusDTO> files;
+}
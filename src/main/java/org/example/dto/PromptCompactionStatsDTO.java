@@ -0,0 +1,19 @@
+package org.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PromptCompactionStatsDTO {
+    private boolean enabled;
+    private long resumesCompacted;
+    private long resumesTrimmedToBudget;
+    private long estimatedTokensBefore;
+    private long estimatedTokensAfter;
+    private double averageTokensBefore;
+    private double averageTokensAfter;
+    private double reductionRatio;
+}
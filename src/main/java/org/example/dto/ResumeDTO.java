@@ -20,6 +20,8 @@ public class ResumeDTO {
     private String fileType;
     private String source;
     private Double matchScore;
+    private Double localScore;
+    private boolean preScreened;
     private String matchAnalysis;
     private LocalDateTime uploadedAt;
     private LocalDateTime analyzedAt;
@@ -0,0 +1,16 @@
+package org.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumeSectionDTO {
+    private String type;
+    private String heading;
+    private int startOffset;
+    private int endOffset;
+    private String text;
+}
@@ -0,0 +1,39 @@
+package org.example.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(indexes = @Index(name = "idx_analysis_cache_provider", columnList = "provider"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalysisCacheEntry {
+    @Id
+    @Column(length = 64)
+    private String cacheKey; // SHA-256 of normalized resume text, requirement text, provider and model
+
+    private String provider;
+    private String model;
+
+    private Double matchScore;
+
+    @Column(length = 5000)
+    private String analysis;
+
+    @Column(length = 5000)
+    private String extractedSkills;
+
+    @Column(length = 5000)
+    private String extractedExperience;
+
+    private String candidateName;
+    private String email;
+    private String phone;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,22 @@
+package org.example.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DriveSyncState {
+    @Id
+    private String folderKey; // Drive folder id, or "ALL" for the whole drive
+
+    private Long lastModifiedTime; // newest Drive modifiedTime (epoch millis) fully processed
+    private LocalDateTime lastSyncedAt;
+    private int lastListedFiles;
+    private int lastChangedFiles;
+}
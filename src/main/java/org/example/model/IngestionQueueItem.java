@@ -0,0 +1,44 @@
+package org.example.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(indexes = @Index(name = "idx_ingestion_queue_status", columnList = "status"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngestionQueueItem {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String fileName;
+    private String contentType;
+    private String source;
+    private String driveFileId;
+    private Long driveModifiedTime;
+
+    @Column(length = 1024)
+    private String spoolPath; // spooled file, or the archive holding archiveEntry
+
+    @Column(length = 1024)
+    private String archiveEntry;
+
+    @Column(length = 64)
+    private String contentHash;
+
+    private String aiProvider;
+    private String status; // "PENDING" or "FAILED"; acknowledged items are deleted
+    private int attempts;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private LocalDateTime enqueuedAt;
+    private LocalDateTime updatedAt;
+}
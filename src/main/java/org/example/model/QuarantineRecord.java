@@ -0,0 +1,34 @@
+package org.example.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(indexes = @Index(name = "idx_quarantine_content_hash", columnList = "contentHash"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuarantineRecord {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String fileName;
+    private String contentType;
+    private String source;
+    private String driveFileId;
+
+    @Column(length = 64)
+    private String contentHash;
+
+    private String reasonCode; // QuarantineReason name
+
+    @Column(length = 1000)
+    private String detail;
+
+    private LocalDateTime quarantinedAt;
+}
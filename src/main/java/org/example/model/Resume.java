@@ -4,25 +4,39 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
+@Table(indexes = @Index(name = "idx_resume_content_hash", columnList = "contentHash", unique = true))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Resume {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "resume_seq")
+    @SequenceGenerator(name = "resume_seq", sequenceName = "resume_seq", allocationSize = 50)
     private Long id;
 
     private String candidateName;
     private String email;
     private String phone;
 
-    @Column(length = 10000)
+    // Unbounded: 50-page PDFs extract to far more than a VARCHAR holds, and section offsets point into the full text
+    @Lob
+    @Column(columnDefinition = "CLOB")
     private String extractedText;
 
+    // Sections of extractedText found by SectionSegmenter, in document order
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "resume_section", joinColumns = @JoinColumn(name = "resume_id"))
+    @OrderBy("startOffset")
+    @BatchSize(size = 50)
+    private List<ResumeSection> sections = new ArrayList<>();
+
     @Column(length = 5000)
     private String skills;
 
@@ -33,9 +47,19 @@ public class Resume {
     private String fileType;
     private String source; // "UPLOAD" or "GOOGLE_DRIVE"
     private String driveFileId;
+    private Long driveModifiedTime; // Drive modifiedTime (epoch millis) of the analyzed version
+
+    @Column(length = 64)
+    private String contentHash; // SHA-256 of the raw file bytes
 
     private Double matchScore;
 
+    @Column(length = 64)
+    private String requirementFingerprint; // fingerprint of the requirement text matchScore was computed against
+
+    private Double localScore; // LocalPreScorer score against the same requirement
+    private Boolean preScreened; // true when matchScore is the local score because the resume was not sent to the AI
+
     @Column(length = 5000)
     private String matchAnalysis;
 
@@ -0,0 +1,25 @@
+package org.example.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumeSection {
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private SectionType type;
+
+    @Column(length = 100)
+    private String heading; // heading line as written, null for CONTACT
+
+    private int startOffset; // into Resume.extractedText, inclusive
+    private int endOffset; // exclusive
+}
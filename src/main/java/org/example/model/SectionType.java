@@ -0,0 +1,22 @@
+package org.example.model;
+
+/**
+ * Kind of a resume section recognised by the section segmenter; CONTACT is the untitled block before the
+ * first heading, OTHER a heading the segmenter does not know.
+ */
+public enum SectionType {
+    CONTACT,
+    SUMMARY,
+    EXPERIENCE,
+    EDUCATION,
+    SKILLS,
+    PROJECTS,
+    CERTIFICATIONS,
+    AWARDS,
+    PUBLICATIONS,
+    VOLUNTEERING,
+    LANGUAGES,
+    INTERESTS,
+    REFERENCES,
+    OTHER
+}
@@ -0,0 +1,17 @@
+package org.example.repository;
+
+import org.example.model.AnalysisCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface AnalysisCacheRepository extends JpaRepository<AnalysisCacheEntry, String> {
+    @Transactional
+    long deleteByProviderIgnoreCase(String provider);
+
+    @Transactional
+    long deleteByCreatedAtBefore(LocalDateTime cutoff);
+}
@@ -0,0 +1,9 @@
+package org.example.repository;
+
+import org.example.model.DriveSyncState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DriveSyncStateRepository extends JpaRepository<DriveSyncState, String> {
+}
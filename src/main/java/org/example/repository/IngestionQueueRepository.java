@@ -0,0 +1,19 @@
+package org.example.repository;
+
+import org.example.model.IngestionQueueItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface IngestionQueueRepository extends JpaRepository<IngestionQueueItem, Long> {
+    List<IngestionQueueItem> findByStatusOrderByIdAsc(String status);
+
+    long countByStatus(String status);
+
+    @Transactional
+    long deleteByStatusAndUpdatedAtBefore(String status, LocalDateTime cutoff);
+}
@@ -0,0 +1,15 @@
+package org.example.repository;
+
+import org.example.model.QuarantineRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface QuarantineRepository extends JpaRepository<QuarantineRecord, Long> {
+    Optional<QuarantineRecord> findFirstByContentHash(String contentHash);
+
+    List<QuarantineRecord> findAllByOrderByQuarantinedAtDesc();
+}
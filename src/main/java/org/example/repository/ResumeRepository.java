@@ -1,15 +1,65 @@
 package org.example.repository;
 
 import org.example.model.Resume;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ResumeRepository extends JpaRepository<Resume, Long> {
     List<Resume> findByOrderByMatchScoreDesc();
     List<Resume> findBySourceOrderByMatchScoreDesc(String source);
-}
+    Optional<Resume> findByContentHash(String contentHash);
+
+    /**
+     * Drive file id and analyzed version only, so a sync can compare thousands of files without loading resume text.
+     */
+    interface DriveFileVersion {
+        String getDriveFileId();
+        Long getDriveModifiedTime();
+    }
+
+    List<DriveFileVersion> findByDriveFileIdIn(Collection<String> driveFileIds);
+
+    /**
+     * Next page of resumes after {@code afterId} whose score was not computed against {@code fingerprint}.
+     */
+    @Query("select r from Resume r where r.id > :afterId and (r.requirementFingerprint is null"
+            + " or r.requirementFingerprint <> :fingerprint) order by r.id")
+    List<Resume> findStaleScoresAfter(@Param("afterId") Long afterId, @Param("fingerprint") String fingerprint,
+                                      Pageable pageable);
 
+    long countByRequirementFingerprintIsNullOrRequirementFingerprintNot(String fingerprint);
 
+    List<Resume> findByIdGreaterThanOrderById(Long afterId, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("update Resume r set r.matchScore = :matchScore, r.matchAnalysis = :matchAnalysis,"
+            + " r.localScore = :localScore, r.preScreened = :preScreened,"
+            + " r.requirementFingerprint = :fingerprint, r.analyzedAt = :analyzedAt where r.id = :id")
+    int updateScore(@Param("id") Long id, @Param("matchScore") Double matchScore,
+                    @Param("matchAnalysis") String matchAnalysis, @Param("localScore") Double localScore,
+                    @Param("preScreened") Boolean preScreened, @Param("fingerprint") String fingerprint,
+                    @Param("analyzedAt") LocalDateTime analyzedAt);
+
+    @Transactional
+    @Modifying
+    @Query("update Resume r set r.driveFileId = :driveFileId, r.driveModifiedTime = :modifiedTime where r.id = :id")
+    int updateDriveVersion(@Param("id") Long id, @Param("driveFileId") String driveFileId,
+                           @Param("modifiedTime") Long modifiedTime);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Resume r where r.driveFileId = :driveFileId and r.id <> :keepId")
+    int deleteOtherDriveVersions(@Param("driveFileId") String driveFileId, @Param("keepId") Long keepId);
+}
@@ -0,0 +1,242 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Connection;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.example.dto.AIHttpClientStatsDTO;
+import org.example.dto.AIHttpProviderStatsDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The one HTTP client behind every AI provider. All providers share a dispatcher sized for our analysis
+ * concurrency (OkHttp's default allows only 5 requests per host), while each provider gets its own connection
+ * pool and timeouts from {@code ai.http.<provider>.*}. HTTP/2 is preferred, so parallel analyses multiplex over
+ * a few kept-alive connections instead of paying a TLS handshake each.
+ */
+@Component
+public class AIHttpClient {
+
+    private static final List<String> PROVIDERS = List.of("openai", "gemini", "groq");
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${ai.http.max-requests:64}")
+    private int maxRequests;
+
+    @Value("${ai.http.max-requests-per-host:32}")
+    private int maxRequestsPerHost;
+
+    @Value("${ai.http.ping-interval-seconds:30}")
+    private long pingIntervalSeconds;
+
+    private Dispatcher dispatcher;
+    private final Map<String, ProviderClient> clients = new LinkedHashMap<>();
+
+    /**
+     * Turns a response into a result; the response is closed afterwards.
+     */
+    @FunctionalInterface
+    public interface ResponseHandler<T> {
+        T handle(Response response) throws IOException;
+    }
+
+    private record ProviderClient(OkHttpClient client, ConnectionPool pool, ProviderMetrics metrics) {
+    }
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "ai-http-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        dispatcher = new Dispatcher(executor);
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+
+        OkHttpClient base = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                // Detects dead HTTP/2 connections before a request is stuck on one
+                .pingInterval(pingIntervalSeconds, TimeUnit.SECONDS)
+                .retryOnConnectionFailure(true)
+                .build();
+
+        for (String provider : PROVIDERS) {
+            ConnectionPool pool = new ConnectionPool(setting(provider, "max-idle-connections", 8),
+                    setting(provider, "keep-alive-seconds", 300), TimeUnit.SECONDS);
+            ProviderMetrics metrics = new ProviderMetrics();
+            OkHttpClient client = base.newBuilder()
+                    .connectionPool(pool)
+                    .connectTimeout(setting(provider, "connect-timeout-seconds", 10), TimeUnit.SECONDS)
+                    .readTimeout(setting(provider, "read-timeout-seconds", 60), TimeUnit.SECONDS)
+                    .writeTimeout(setting(provider, "write-timeout-seconds", 30), TimeUnit.SECONDS)
+                    .callTimeout(setting(provider, "call-timeout-seconds", 120), TimeUnit.SECONDS)
+                    .eventListener(metrics)
+                    .build();
+            clients.put(provider, new ProviderClient(client, pool, metrics));
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        dispatcher.executorService().shutdown();
+        clients.values().forEach(client -> client.pool().evictAll());
+    }
+
+    /**
+     * Client for "openai", "gemini" or "groq", with that provider's pool and timeouts.
+     */
+    public OkHttpClient forProvider(String provider) {
+        ProviderClient client = clients.get(provider.toLowerCase(Locale.ROOT));
+        if (client == null) {
+            throw new IllegalArgumentException("Unknown AI provider: " + provider);
+        }
+        return client.client();
+    }
+
+    /**
+     * Blocking call on the caller's thread.
+     */
+    public <T> T execute(String provider, Request request, ResponseHandler<T> handler) throws IOException {
+        try (Response response = forProvider(provider).newCall(request).execute()) {
+            return handler.handle(response);
+        }
+    }
+
+    /**
+     * Queues the call on the shared dispatcher and returns at once; no thread waits while the request is in
+     * flight, and the handler runs on a dispatcher thread when the response arrives. Cancelling the returned
+     * future, or failing it (e.g. by {@code orTimeout}), cancels the HTTP call. The provider's call timeout
+     * still bounds every call.
+     */
+    public <T> CompletableFuture<T> enqueue(String provider, Request request, ResponseHandler<T> handler) {
+        Call call = forProvider(provider).newCall(request);
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                call.cancel();
+            }
+        });
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call failed, IOException e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call completed, Response response) {
+                try (response) {
+                    future.complete(handler.handle(response));
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        return future;
+    }
+
+    public AIHttpClientStatsDTO getStats() {
+        Map<String, AIHttpProviderStatsDTO> providers = new LinkedHashMap<>();
+        clients.forEach((provider, client) -> {
+            ProviderMetrics metrics = client.metrics();
+            providers.put(provider, new AIHttpProviderStatsDTO(client.pool().connectionCount(),
+                    client.pool().idleConnectionCount(), metrics.inFlight.get(), metrics.calls.get(),
+                    metrics.failedCalls.get(), metrics.connectionsOpened.get(), metrics.tlsHandshakes.get(),
+                    metrics.connectionsAcquired.get(), metrics.http2Connections.get(),
+                    client.client().connectTimeoutMillis(), client.client().readTimeoutMillis(),
+                    client.client().callTimeoutMillis()));
+        });
+        return new AIHttpClientStatsDTO(dispatcher.runningCallsCount(), dispatcher.queuedCallsCount(),
+                dispatcher.getMaxRequests(), dispatcher.getMaxRequestsPerHost(), providers);
+    }
+
+    private int setting(String provider, String name, int defaultValue) {
+        return environment.getProperty("ai.http." + provider + "." + name, Integer.class,
+                environment.getProperty("ai.http." + name, Integer.class, defaultValue));
+    }
+
+    /**
+     * Counts calls and connection events for one provider. Acquisitions beyond connections opened were
+     * served by a pooled (or multiplexed HTTP/2) connection without a new handshake.
+     */
+    private static class ProviderMetrics extends EventListener {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong failedCalls = new AtomicLong();
+        private final AtomicLong connectionsOpened = new AtomicLong();
+        private final AtomicLong tlsHandshakes = new AtomicLong();
+        private final AtomicLong connectionsAcquired = new AtomicLong();
+        private final AtomicLong http2Connections = new AtomicLong();
+
+        @Override
+        public void callStart(Call call) {
+            calls.incrementAndGet();
+            inFlight.incrementAndGet();
+        }
+
+        @Override
+        public void callEnd(Call call) {
+            inFlight.decrementAndGet();
+        }
+
+        @Override
+        public void callFailed(Call call, IOException ioe) {
+            failedCalls.incrementAndGet();
+            inFlight.decrementAndGet();
+        }
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+            connectionsOpened.incrementAndGet();
+        }
+
+        @Override
+        public void secureConnectEnd(Call call, Handshake handshake) {
+            tlsHandshakes.incrementAndGet();
+        }
+
+        @Override
+        public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+            if (protocol == Protocol.HTTP_2) {
+                http2Connections.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void connectionAcquired(Call call, Connection connection) {
+            connectionsAcquired.incrementAndGet();
+        }
+    }
+}
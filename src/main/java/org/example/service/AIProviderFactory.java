@@ -19,6 +19,15 @@ public class AIProviderFactory {
     @Autowired
     private GroqService groqService;
 
+    @Autowired
+    private AISettingsService aiSettingsService;
+
+    @Autowired
+    private AnalysisCacheService analysisCacheService;
+
+    @Autowired
+    private ResumeTextCompactor resumeTextCompactor;
+
     @Value("${ai.provider:openai}")
     private String defaultProvider;
 
@@ -53,6 +62,21 @@ public class AIProviderFactory {
         };
     }
 
+    /**
+     * Get AI service for a provider wrapped with the analysis result cache
+     * (falls back to the plain service when the cache is disabled).
+     * Resume text is compacted first, so cache keys are built from what the provider actually sees.
+     * @param provider "openai", "gemini", or "groq"
+     */
+    public AIService getCachingAIService(String provider) {
+        AIService service = getAIService(provider);
+        String providerKey = service.getProviderName().toLowerCase();
+        if (analysisCacheService.isEnabled()) {
+            service = new CachingAIService(service, providerKey, aiSettingsService, analysisCacheService);
+        }
+        return new CompactingAIService(service, providerKey, aiSettingsService, resumeTextCompactor);
+    }
+
     /**
      * Check if a provider is available
      */
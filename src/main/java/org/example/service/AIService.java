@@ -2,11 +2,19 @@ package org.example.service;
 
 import org.example.dto.AIAnalysisResponse;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Interface for AI service providers (OpenAI, Gemini, etc.)
  */
 public interface AIService {
 
+    /**
+     * Bump whenever a provider's analysis prompt or response parsing changes, so cached analyses
+     * produced by the old prompt are not reused.
+     */
+    int PROMPT_VERSION = 1;
+
     /**
      * Analyze a resume against job requirements
      * @param resumeText The extracted resume text
@@ -15,6 +23,15 @@ public interface AIService {
      */
     AIAnalysisResponse analyzeResume(String resumeText, String jobRequirements);
 
+    /**
+     * Analyze a resume without blocking the calling thread
+     * @param resumeText The extracted resume text
+     * @param jobRequirements The job requirements
+     * @return Future completing with the analysis; cancelling it, or failing it with
+     *         {@link CompletableFuture#orTimeout}, cancels the request to the provider
+     */
+    CompletableFuture<AIAnalysisResponse> analyzeResumeAsync(String resumeText, String jobRequirements);
+
     /**
      * Get the name of the AI provider
      * @return Provider name (e.g., "OpenAI", "Gemini")
@@ -78,6 +78,17 @@ public class AISettingsService {
         return getProperty("groq.api.url", "https://api.groq.com/openai/v1/chat/completions");
     }
 
+    /**
+     * Model currently configured for a provider ("openai", "gemini" or "groq")
+     */
+    public String getModel(String provider) {
+        return switch (provider.toLowerCase()) {
+            case "gemini" -> getGeminiModel();
+            case "groq" -> getGroqModel();
+            default -> getOpenAiModel();
+        };
+    }
+
     public AllAISettingsDTO getAllSettings() {
         AllAISettingsDTO allSettings = new AllAISettingsDTO();
 
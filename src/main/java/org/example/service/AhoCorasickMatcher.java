@@ -0,0 +1,127 @@
+package org.example.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Case-insensitive Aho-Corasick automaton: finds every occurrence of a fixed set of phrases in one pass over
+ * the text, however many phrases there are. Matches must stand alone as words, so "java" does not match inside
+ * "javascript" and "c" does not match inside "c++" or "c#", while phrases that end in punctuation such as "c++"
+ * and ".net" still match.
+ * Immutable once built and safe to share between threads.
+ */
+public final class AhoCorasickMatcher {
+
+    private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+    private final List<int[]> outputs = new ArrayList<>();
+    private final int[] failure;
+    private final int[] phraseLengths;
+    private final String[] labels;
+
+    /**
+     * @param phrases phrase to the label reported when it matches; several phrases (aliases) may share a label
+     */
+    public AhoCorasickMatcher(Map<String, String> phrases) {
+        transitions.add(new HashMap<>());
+        outputs.add(new int[0]);
+        phraseLengths = new int[phrases.size()];
+        labels = new String[phrases.size()];
+
+        int id = 0;
+        for (Map.Entry<String, String> phrase : phrases.entrySet()) {
+            String key = phrase.getKey().toLowerCase(Locale.ROOT);
+            int state = 0;
+            for (int i = 0; i < key.length(); i++) {
+                char c = key.charAt(i);
+                Integer next = transitions.get(state).get(c);
+                if (next == null) {
+                    next = transitions.size();
+                    transitions.get(state).put(c, next);
+                    transitions.add(new HashMap<>());
+                    outputs.add(new int[0]);
+                }
+                state = next;
+            }
+            outputs.set(state, append(outputs.get(state), id));
+            phraseLengths[id] = key.length();
+            labels[id] = phrase.getValue();
+            id++;
+        }
+
+        // Breadth-first, so every state's failure link points at an already finished shallower state
+        failure = new int[transitions.size()];
+        Queue<Integer> queue = new ArrayDeque<>(transitions.get(0).values());
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (Map.Entry<Character, Integer> edge : transitions.get(state).entrySet()) {
+                int child = edge.getValue();
+                int fallback = failure[state];
+                while (fallback > 0 && !transitions.get(fallback).containsKey(edge.getKey())) {
+                    fallback = failure[fallback];
+                }
+                Integer target = transitions.get(fallback).get(edge.getKey());
+                failure[child] = target != null && target != child ? target : 0;
+                outputs.set(child, concat(outputs.get(child), outputs.get(failure[child])));
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Labels of every phrase found in {@code text}, in order of first occurrence.
+     */
+    public Set<String> findAll(String text) {
+        Set<String> found = new LinkedHashSet<>();
+        if (text == null) {
+            return found;
+        }
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            while (state > 0 && !transitions.get(state).containsKey(c)) {
+                state = failure[state];
+            }
+            Integer next = transitions.get(state).get(c);
+            state = next != null ? next : 0;
+            for (int phrase : outputs.get(state)) {
+                int start = i - phraseLengths[phrase] + 1;
+                if (isBoundary(text, start - 1) && isBoundary(text, i + 1)) {
+                    found.add(labels[phrase]);
+                }
+            }
+        }
+        return found;
+    }
+
+    private static boolean isBoundary(String text, int index) {
+        if (index < 0 || index >= text.length()) {
+            return true;
+        }
+        char c = text.charAt(index);
+        // '+' and '#' continue a word like "c++" or "c#"
+        return !Character.isLetterOrDigit(c) && c != '+' && c != '#';
+    }
+
+    private static int[] append(int[] values, int value) {
+        int[] result = Arrays.copyOf(values, values.length + 1);
+        result[values.length] = value;
+        return result;
+    }
+
+    private static int[] concat(int[] first, int[] second) {
+        if (second.length == 0) {
+            return first;
+        }
+        int[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+}
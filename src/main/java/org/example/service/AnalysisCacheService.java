@@ -0,0 +1,170 @@
+package org.example.service;
+
+import org.example.dto.AIAnalysisResponse;
+import org.example.dto.AnalysisCacheStatsDTO;
+import org.example.model.AnalysisCacheEntry;
+import org.example.repository.AnalysisCacheRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Two-tier cache of AI analysis results: a bounded in-memory LRU in front of a database table.
+ * Entries expire after the configured TTL and can be invalidated per provider or entirely.
+ */
+@Service
+public class AnalysisCacheService {
+
+    @Autowired
+    private AnalysisCacheRepository cacheRepository;
+
+    @Value("${ai.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ai.cache.max-entries:1000}")
+    private int maxEntries;
+
+    @Value("${ai.cache.ttl-hours:168}")
+    private long ttlHours;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong persistentHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    // Access-ordered map evicting the least recently used entry once maxEntries is exceeded
+    private final Map<String, AnalysisCacheEntry> memory = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, AnalysisCacheEntry> eldest) {
+            if (size() > maxEntries) {
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Cache key for one analysis: the same resume text, requirement, provider, model and
+     * {@link AIService#PROMPT_VERSION} give the same key.
+     */
+    public String buildKey(String resumeText, String jobRequirements, String provider, String model) {
+        return ContentHasher.sha256Hex(normalize(resumeText) + '\u0000' + normalize(jobRequirements)
+                + '\u0000' + provider.toLowerCase() + '\u0000' + model + '\u0000' + AIService.PROMPT_VERSION);
+    }
+
+    public Optional<AIAnalysisResponse> get(String key) {
+        AnalysisCacheEntry entry;
+        synchronized (memory) {
+            entry = memory.get(key);
+        }
+        if (entry != null && !isExpired(entry)) {
+            memoryHits.incrementAndGet();
+            return Optional.of(toResponse(entry));
+        }
+
+        entry = cacheRepository.findById(key).orElse(null);
+        if (entry != null && !isExpired(entry)) {
+            persistentHits.incrementAndGet();
+            synchronized (memory) {
+                memory.put(key, entry);
+            }
+            return Optional.of(toResponse(entry));
+        }
+
+        if (entry != null) {
+            invalidate(key);
+        }
+        misses.incrementAndGet();
+        return Optional.empty();
+    }
+
+    /**
+     * Store a parsed analysis; fallbacks for replies that could not be parsed are skipped, so the next
+     * request asks the provider again.
+     */
+    public void put(String key, String provider, String model, AIAnalysisResponse response) {
+        if (!response.isParsed()) {
+            System.out.println("DEBUG: Not caching unparsed " + provider + " analysis");
+            return;
+        }
+        AnalysisCacheEntry entry = new AnalysisCacheEntry(key, provider.toLowerCase(), model,
+                response.getMatchScore(), response.getAnalysis(), response.getExtractedSkills(),
+                response.getExtractedExperience(), response.getCandidateName(), response.getEmail(),
+                response.getPhone(), LocalDateTime.now());
+        synchronized (memory) {
+            memory.put(key, entry);
+        }
+        try {
+            cacheRepository.save(entry);
+        } catch (Exception e) {
+            // The in-memory tier still serves the entry; a failed write only costs a future miss
+            System.err.println("WARNING: Could not persist analysis cache entry: " + e.getMessage());
+        }
+    }
+
+    public void invalidate(String key) {
+        synchronized (memory) {
+            memory.remove(key);
+        }
+        cacheRepository.deleteById(key);
+    }
+
+    public long invalidateProvider(String provider) {
+        synchronized (memory) {
+            memory.values().removeIf(entry -> entry.getProvider().equalsIgnoreCase(provider));
+        }
+        return cacheRepository.deleteByProviderIgnoreCase(provider);
+    }
+
+    public void invalidateAll() {
+        synchronized (memory) {
+            memory.clear();
+        }
+        cacheRepository.deleteAll();
+    }
+
+    public long purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(ttlHours);
+        synchronized (memory) {
+            memory.values().removeIf(entry -> entry.getCreatedAt().isBefore(cutoff));
+        }
+        return cacheRepository.deleteByCreatedAtBefore(cutoff);
+    }
+
+    public AnalysisCacheStatsDTO getStats() {
+        int memoryEntries;
+        synchronized (memory) {
+            memoryEntries = memory.size();
+        }
+        long hits = memoryHits.get() + persistentHits.get();
+        long lookups = hits + misses.get();
+        return new AnalysisCacheStatsDTO(enabled, memoryEntries, maxEntries, cacheRepository.count(),
+                memoryHits.get(), persistentHits.get(), misses.get(), evictions.get(),
+                lookups == 0 ? 0.0 : (double) hits / lookups, ttlHours);
+    }
+
+    private boolean isExpired(AnalysisCacheEntry entry) {
+        return entry.getCreatedAt() == null
+                || entry.getCreatedAt().isBefore(LocalDateTime.now().minusHours(ttlHours));
+    }
+
+    private String normalize(String text) {
+        return text == null ? "" : text.replaceAll("\\s+", " ").trim();
+    }
+
+    private AIAnalysisResponse toResponse(AnalysisCacheEntry entry) {
+        return new AIAnalysisResponse(entry.getMatchScore(), entry.getAnalysis(), entry.getExtractedSkills(),
+                entry.getExtractedExperience(), entry.getCandidateName(), entry.getEmail(), entry.getPhone());
+    }
+}
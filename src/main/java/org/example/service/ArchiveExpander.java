@@ -0,0 +1,256 @@
+package org.example.service;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Expands ZIP, TAR and TAR.GZ archives from disk into ingestion items. Archives and their entries are
+ * recognised by content ({@link FormatSniffer}), not by name, so resumes without a usable extension are
+ * still found and junk such as macOS resource forks named {@code ._resume.pdf} is skipped.
+ * ZIP archives are opened for random access so entries stream straight into the parser in parallel;
+ * sequential formats and nested archives are spooled to disk first, keeping heap use flat.
+ * Entry sizes and decompression ratios are held to the {@link IngestionGovernor} limits.
+ */
+@Component
+public class ArchiveExpander {
+
+    @Autowired
+    private FileSpoolService spoolService;
+
+    @Autowired
+    private IngestionGovernor governor;
+
+    @Value("${ingestion.archive.max-depth:3}")
+    private int maxDepth;
+
+    /**
+     * Start a new expansion. Close it once every item it produced has finished processing.
+     */
+    public Expansion open() {
+        return new Expansion();
+    }
+
+    /**
+     * Open a single ZIP entry outside of an expansion, e.g. when replaying the durable queue.
+     * The archive is closed together with the returned stream.
+     */
+    public InputStream openEntry(Path archive, String entryName) throws IOException {
+        ZipFile zipFile = new ZipFile(archive.toFile());
+        try {
+            ZipArchiveEntry entry = zipFile.getEntry(entryName);
+            if (entry == null) {
+                throw new IOException("Entry " + entryName + " not found in " + archive);
+            }
+            InputStream in = governor.limitArchiveEntry(zipFile.getInputStream(entry), entryName, entry.getCompressedSize());
+            return new FilterInputStream(in) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        zipFile.close();
+                    }
+                }
+            };
+        } catch (IOException | RuntimeException e) {
+            zipFile.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Owns the open archives and spooled entries of one expansion.
+     */
+    public class Expansion implements Closeable {
+        private final List<ZipFile> openArchives = new ArrayList<>();
+        private final List<Path> spooledFiles = new ArrayList<>();
+        private final AtomicLong expandedBytes = new AtomicLong();
+        private final AtomicInteger entryCount = new AtomicInteger();
+        private long maxExpandedBytes = Long.MAX_VALUE;
+
+        /**
+         * Walk the archive and hand every PDF/Word entry to the sink.
+         * @return number of resume entries found
+         */
+        public int expand(Path archive, String archiveName, String source, Consumer<IngestionItem> sink) throws IOException {
+            maxExpandedBytes = governor.maxExpandedBytes(Files.size(archive));
+            return expand(archive, archiveName, source, sink, 0, "");
+        }
+
+        private int expand(Path archive, String archiveName, String source, Consumer<IngestionItem> sink,
+                           int depth, String prefix) throws IOException {
+            FormatSniffer.Format format = FormatSniffer.detect(archive, null, archiveName);
+            if (format == FormatSniffer.Format.ZIP) {
+                return expandZip(archive, source, sink, depth, prefix);
+            }
+            if (!format.isArchive()) {
+                throw new IOException(archiveName + " is not a ZIP, TAR or TAR.GZ archive (content is " + format + ")");
+            }
+            try (InputStream raw = new BufferedInputStream(Files.newInputStream(archive));
+                 InputStream in = format == FormatSniffer.Format.TAR ? raw : new GzipCompressorInputStream(raw);
+                 TarArchiveInputStream tarInput = new TarArchiveInputStream(in)) {
+                return expandTar(tarInput, source, sink, depth, prefix);
+            }
+        }
+
+        private int expandZip(Path archive, String source, Consumer<IngestionItem> sink,
+                              int depth, String prefix) throws IOException {
+            ZipFile zipFile = new ZipFile(archive.toFile());
+            synchronized (openArchives) {
+                openArchives.add(zipFile);
+            }
+
+            int found = 0;
+            Enumeration<ZipArchiveEntry> entries = zipFile.getEntries();
+            while (entries.hasMoreElements()) {
+                ZipArchiveEntry entry = entries.nextElement();
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                countEntry();
+                if (!zipFile.canReadEntryData(entry)) {
+                    continue;
+                }
+
+                String fileName = prefix + entry.getName();
+                FormatSniffer.Format format;
+                try (InputStream in = zipFile.getInputStream(entry)) {
+                    byte[] head = in.readNBytes(FormatSniffer.PEEK_BYTES);
+                    format = FormatSniffer.detect(head, head.length, null, fileName);
+                }
+                String contentType = format.getContentType();
+                boolean nested = format.isArchive() && depth < maxDepth;
+                if ((contentType != null || nested) && !admitEntry(fileName, entry.getSize(), entry.getCompressedSize())) {
+                    continue;
+                }
+
+                long compressedSize = entry.getCompressedSize();
+                if (contentType != null) {
+                    // Random access: each worker opens its own stream over the entry
+                    IngestionItem item = new IngestionItem(fileName, contentType, source, null,
+                            () -> governor.limitArchiveEntry(zipFile.getInputStream(entry), fileName, compressedSize));
+                    item.setSpoolPath(archive.toString());
+                    item.setArchiveEntry(entry.getName());
+                    sink.accept(item);
+                    found++;
+                } else if (nested) {
+                    try (InputStream in = governor.limitArchiveEntry(zipFile.getInputStream(entry), fileName, compressedSize)) {
+                        found += expandNested(in, fileName, source, sink, depth);
+                    }
+                }
+            }
+            return found;
+        }
+
+        private int expandTar(TarArchiveInputStream tarInput, String source, Consumer<IngestionItem> sink,
+                              int depth, String prefix) throws IOException {
+            int found = 0;
+            TarArchiveEntry entry;
+            while ((entry = tarInput.getNextEntry()) != null) {
+                if (!entry.isFile()) {
+                    continue;
+                }
+                countEntry();
+
+                String fileName = prefix + entry.getName();
+                // Sequential: peek through a buffer that then replays into the spool, so nothing is read twice
+                FormatSniffer.Sniffed sniffed = FormatSniffer.sniff(governor.limitArchiveEntry(tarInput, fileName, -1),
+                        null, fileName);
+                String contentType = sniffed.format().getContentType();
+                boolean nested = sniffed.format().isArchive() && depth < maxDepth;
+                if ((contentType != null || nested) && !admitEntry(fileName, entry.getSize(), -1)) {
+                    continue;
+                }
+
+                if (contentType != null) {
+                    // TAR is sequential: spool the entry so it can be parsed in parallel with the rest
+                    Path spooled = track(spoolService.spool(sniffed.stream(), fileName));
+                    IngestionItem item = new IngestionItem(fileName, contentType, source, null,
+                            () -> Files.newInputStream(spooled));
+                    item.setSpoolPath(spooled.toString());
+                    sink.accept(item);
+                    found++;
+                } else if (nested) {
+                    found += expandNested(sniffed.stream(), fileName, source, sink, depth);
+                }
+            }
+            return found;
+        }
+
+        private int expandNested(InputStream in, String fileName, String source, Consumer<IngestionItem> sink,
+                                 int depth) throws IOException {
+            Path nested = track(spoolService.spool(in, fileName));
+            return expand(nested, fileName, source, sink, depth + 1, fileName + "/");
+        }
+
+        /**
+         * Skip entries over the size or ratio limits; fail the whole archive once it expands past its total budget.
+         */
+        private boolean admitEntry(String fileName, long size, long compressedSize) throws IOException {
+            try {
+                governor.checkArchiveEntry(fileName, size, compressedSize);
+            } catch (IOException e) {
+                System.err.println("WARNING: Skipping archive entry: " + e.getMessage());
+                return false;
+            }
+            if (size > 0 && expandedBytes.addAndGet(size) > maxExpandedBytes) {
+                throw new IOException("Archive expands beyond the allowed " + maxExpandedBytes + " bytes");
+            }
+            return true;
+        }
+
+        /**
+         * Fail the whole archive once it holds more entries than allowed, before the next one is read.
+         */
+        private void countEntry() throws IOException {
+            if (entryCount.incrementAndGet() > governor.maxArchiveEntries()) {
+                throw new IOException("Archive has more than the allowed " + governor.maxArchiveEntries() + " entries");
+            }
+        }
+
+        private Path track(Path path) {
+            synchronized (spooledFiles) {
+                spooledFiles.add(path);
+            }
+            return path;
+        }
+
+        @Override
+        public void close() {
+            synchronized (openArchives) {
+                for (ZipFile zipFile : openArchives) {
+                    try {
+                        zipFile.close();
+                    } catch (IOException e) {
+                        System.err.println("WARNING: Could not close archive: " + e.getMessage());
+                    }
+                }
+                openArchives.clear();
+            }
+            synchronized (spooledFiles) {
+                spooledFiles.forEach(spoolService::delete);
+                spooledFiles.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.service;
+
+import org.example.dto.AIAnalysisResponse;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Decorator that answers repeat analyses from {@link AnalysisCacheService} and only calls the
+ * underlying provider on a miss.
+ */
+public class CachingAIService implements AIService {
+
+    private final AIService delegate;
+    private final String provider;
+    private final AISettingsService aiSettingsService;
+    private final AnalysisCacheService cacheService;
+
+    public CachingAIService(AIService delegate, String provider, AISettingsService aiSettingsService,
+                            AnalysisCacheService cacheService) {
+        this.delegate = delegate;
+        this.provider = provider;
+        this.aiSettingsService = aiSettingsService;
+        this.cacheService = cacheService;
+    }
+
+    @Override
+    public AIAnalysisResponse analyzeResume(String resumeText, String jobRequirements) {
+        // Model is read per call so switching it in Admin Settings never serves stale results
+        String model = aiSettingsService.getModel(provider);
+        String key = cacheService.buildKey(resumeText, jobRequirements, provider, model);
+
+        Optional<AIAnalysisResponse> cached = cacheService.get(key);
+        if (cached.isPresent()) {
+            System.out.println("DEBUG: Analysis cache hit for " + delegate.getProviderName() + " (" + model + ")");
+            return cached.get();
+        }
+
+        AIAnalysisResponse response = delegate.analyzeResume(resumeText, jobRequirements);
+        cacheService.put(key, provider, model, response);
+        return response;
+    }
+
+    @Override
+    public CompletableFuture<AIAnalysisResponse> analyzeResumeAsync(String resumeText, String jobRequirements) {
+        String model = aiSettingsService.getModel(provider);
+        String key = cacheService.buildKey(resumeText, jobRequirements, provider, model);
+
+        Optional<AIAnalysisResponse> cached = cacheService.get(key);
+        if (cached.isPresent()) {
+            System.out.println("DEBUG: Analysis cache hit for " + delegate.getProviderName() + " (" + model + ")");
+            return CompletableFuture.completedFuture(cached.get());
+        }
+
+        // The provider's own future is returned, so cancelling it still reaches the HTTP call
+        CompletableFuture<AIAnalysisResponse> response = delegate.analyzeResumeAsync(resumeText, jobRequirements);
+        response.thenAccept(analysis -> cacheService.put(key, provider, model, analysis));
+        return response;
+    }
+
+    @Override
+    public String getProviderName() {
+        return delegate.getProviderName();
+    }
+}
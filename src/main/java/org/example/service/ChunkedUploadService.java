@@ -0,0 +1,255 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.dto.ChunkedUploadDTO;
+import org.example.dto.IngestionJobDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resumable uploads for files beyond the multipart limit.
+ * A client opens a session, PUTs chunks at byte offsets (each with a SHA-256 checksum) and completes it;
+ * each chunk is staged and verified before it is written into the spool file, and the assembled file is
+ * handed to the regular archive/multi-file ingestion path. After a dropped connection the client asks for
+ * the session and continues from {@code receivedBytes}. Sessions idle past their TTL are swept periodically.
+ */
+@Service
+public class ChunkedUploadService {
+
+    @Autowired
+    private FileSpoolService spoolService;
+
+    @Autowired
+    private ResumeService resumeService;
+
+    @Value("${ingestion.upload.max-size:2GB}")
+    private DataSize maxUploadSize;
+
+    @Value("${ingestion.upload.chunk-size:8MB}")
+    private DataSize chunkSize;
+
+    @Value("${ingestion.upload.session-ttl-minutes:120}")
+    private long sessionTtlMinutes;
+
+    @Value("${ingestion.upload.sweep-interval-minutes:5}")
+    private long sweepIntervalMinutes;
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+    private ScheduledExecutorService sweeper;
+
+    private static class UploadSession {
+        private final String id = UUID.randomUUID().toString();
+        private final String fileName;
+        private final long totalSize;
+        private final Path path;
+        private long receivedBytes;
+        private boolean closed;
+        private volatile LocalDateTime lastActivity = LocalDateTime.now();
+
+        UploadSession(String fileName, long totalSize, Path path) {
+            this.fileName = fileName;
+            this.totalSize = totalSize;
+            this.path = path;
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "upload-session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1, sweepIntervalMinutes);
+        sweeper.scheduleWithFixedDelay(this::evictExpiredSessions, interval, interval, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() {
+        sweeper.shutdownNow();
+    }
+
+    public ChunkedUploadDTO init(String fileName, long totalSize) throws IOException {
+        evictExpiredSessions();
+        if (fileName == null || fileName.isBlank()) {
+            throw new IllegalArgumentException("File name is required");
+        }
+        if (totalSize <= 0 || totalSize > maxUploadSize.toBytes()) {
+            throw new IllegalArgumentException("Upload size must be between 1 and " + maxUploadSize.toBytes() + " bytes");
+        }
+        UploadSession session = new UploadSession(fileName, totalSize, spoolService.newSpoolFile(fileName));
+        sessions.put(session.id, session);
+        System.out.println("DEBUG: Opened chunked upload " + session.id + " for " + fileName + " (" + totalSize + " bytes)");
+        return toDTO(session);
+    }
+
+    public ChunkedUploadDTO getStatus(String uploadId) {
+        UploadSession session = findSession(uploadId);
+        synchronized (session) {
+            return toDTO(session);
+        }
+    }
+
+    /**
+     * Write one chunk at {@code offset}. Chunks may be re-sent (offset below {@code receivedBytes})
+     * but not skip ahead. The chunk is staged in a temp file and only copied into the upload once its checksum
+     * matches, so a corrupted chunk (or re-send) never touches bytes already accepted and can simply be retried.
+     * @param checksum hex SHA-256 of the chunk body
+     */
+    public ChunkedUploadDTO writeChunk(String uploadId, long offset, InputStream body, String checksum) throws IOException {
+        if (checksum == null || checksum.isBlank()) {
+            throw new IllegalArgumentException("Chunk checksum is required");
+        }
+        UploadSession session = findSession(uploadId);
+        synchronized (session) {
+            if (session.closed) {
+                throw new IllegalStateException("Upload " + uploadId + " is already complete");
+            }
+            if (offset < 0 || offset > session.receivedBytes) {
+                throw new IllegalStateException("Expected a chunk at offset " + session.receivedBytes + " but got " + offset);
+            }
+
+            long limit = Math.min(chunkSize.toBytes(), session.totalSize - offset);
+            MessageDigest digest = ContentHasher.newDigest();
+            long written;
+            Path staged = Files.createTempFile(session.path.getParent(), session.id, ".chunk");
+            try {
+                try (InputStream in = new DigestInputStream(new LimitedInputStream(body, limit, "Chunk"), digest)) {
+                    written = Files.copy(in, staged, StandardCopyOption.REPLACE_EXISTING);
+                }
+                String actual = HexFormat.of().formatHex(digest.digest());
+                if (!actual.equalsIgnoreCase(checksum.trim())) {
+                    throw new IllegalArgumentException("Checksum mismatch for chunk at offset " + offset);
+                }
+                try (FileChannel source = FileChannel.open(staged, StandardOpenOption.READ);
+                     FileChannel target = FileChannel.open(session.path, StandardOpenOption.WRITE)) {
+                    long copied = 0;
+                    while (copied < written) {
+                        copied += target.transferFrom(source, offset + copied, written - copied);
+                    }
+                }
+            } finally {
+                Files.deleteIfExists(staged);
+            }
+            session.receivedBytes = Math.max(session.receivedBytes, offset + written);
+            session.lastActivity = LocalDateTime.now();
+            if (offset == 0) {
+                // Reject unsupported content after the first chunk instead of after the whole upload
+                FormatSniffer.Format format = FormatSniffer.detect(session.path, null, session.fileName);
+                if (!format.isResume() && !format.isArchive()) {
+                    discard(session);
+                    throw new IllegalArgumentException("Unsupported file type: " + session.fileName);
+                }
+            }
+            return toDTO(session);
+        }
+    }
+
+    /**
+     * Verify the assembled file and start its ingestion job. If the governor rejects it the session
+     * stays open so the client can retry; otherwise the job takes over the spooled file.
+     * @param checksum optional hex SHA-256 of the whole file
+     */
+    public IngestionJobDTO complete(String uploadId, String checksum, String aiProvider) throws IOException {
+        UploadSession session = findSession(uploadId);
+        synchronized (session) {
+            if (session.closed) {
+                throw new IllegalStateException("Upload " + uploadId + " is already complete");
+            }
+            if (session.receivedBytes != session.totalSize) {
+                throw new IllegalStateException("Upload incomplete: received " + session.receivedBytes
+                        + " of " + session.totalSize + " bytes");
+            }
+            if (checksum != null && !checksum.isBlank()) {
+                String actual;
+                try (InputStream in = Files.newInputStream(session.path)) {
+                    actual = ContentHasher.sha256Hex(in);
+                }
+                if (!actual.equalsIgnoreCase(checksum.trim())) {
+                    throw new IllegalArgumentException("Checksum mismatch for assembled upload " + uploadId);
+                }
+            }
+
+            IngestionJobDTO job;
+            try {
+                job = resumeService.startSpooledUploadJob(session.path, session.fileName, aiProvider);
+            } catch (IngestionRejectedException e) {
+                session.lastActivity = LocalDateTime.now();
+                throw e;
+            } catch (IOException | RuntimeException e) {
+                discard(session);
+                throw e;
+            }
+            session.closed = true;
+            sessions.remove(session.id);
+            System.out.println("DEBUG: Chunked upload " + uploadId + " complete, started job " + job.getId());
+            return job;
+        }
+    }
+
+    public void abort(String uploadId) {
+        UploadSession session = findSession(uploadId);
+        synchronized (session) {
+            discard(session);
+        }
+    }
+
+    private UploadSession findSession(String uploadId) {
+        UploadSession session = sessions.get(uploadId);
+        if (session == null) {
+            throw new UploadNotFoundException(uploadId);
+        }
+        return session;
+    }
+
+    private void discard(UploadSession session) {
+        session.closed = true;
+        sessions.remove(session.id);
+        spoolService.delete(session.path);
+    }
+
+    private void evictExpiredSessions() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(sessionTtlMinutes);
+        sessions.values().removeIf(session -> {
+            if (session.lastActivity.isAfter(cutoff)) {
+                return false;
+            }
+            synchronized (session) {
+                // A chunk may have landed while waiting for the lock
+                if (session.lastActivity.isAfter(cutoff)) {
+                    return false;
+                }
+                session.closed = true;
+                spoolService.delete(session.path);
+            }
+            System.out.println("DEBUG: Expired chunked upload " + session.id + " (" + session.fileName + ")");
+            return true;
+        });
+    }
+
+    private ChunkedUploadDTO toDTO(UploadSession session) {
+        return new ChunkedUploadDTO(session.id, session.fileName, session.totalSize, session.receivedBytes,
+                chunkSize.toBytes(), session.lastActivity.plusMinutes(sessionTtlMinutes));
+    }
+}
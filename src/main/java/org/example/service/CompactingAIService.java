@@ -0,0 +1,42 @@
+package org.example.service;
+
+import org.example.dto.AIAnalysisResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Decorator that runs resume text through {@link ResumeTextCompactor} before it reaches the provider's prompt,
+ * using the token budget of the provider and the model it currently has configured.
+ */
+public class CompactingAIService implements AIService {
+
+    private final AIService delegate;
+    private final String provider;
+    private final AISettingsService aiSettingsService;
+    private final ResumeTextCompactor compactor;
+
+    public CompactingAIService(AIService delegate, String provider, AISettingsService aiSettingsService,
+                               ResumeTextCompactor compactor) {
+        this.delegate = delegate;
+        this.provider = provider;
+        this.aiSettingsService = aiSettingsService;
+        this.compactor = compactor;
+    }
+
+    @Override
+    public AIAnalysisResponse analyzeResume(String resumeText, String jobRequirements) {
+        String model = aiSettingsService.getModel(provider);
+        return delegate.analyzeResume(compactor.compact(resumeText, provider, model), jobRequirements);
+    }
+
+    @Override
+    public CompletableFuture<AIAnalysisResponse> analyzeResumeAsync(String resumeText, String jobRequirements) {
+        String model = aiSettingsService.getModel(provider);
+        return delegate.analyzeResumeAsync(compactor.compact(resumeText, provider, model), jobRequirements);
+    }
+
+    @Override
+    public String getProviderName() {
+        return delegate.getProviderName();
+    }
+}
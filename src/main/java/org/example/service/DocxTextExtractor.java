@@ -0,0 +1,157 @@
+package org.example.service;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+/**
+ * Streams text out of a .docx without building the POI object model: the OOXML zip is read entry by entry
+ * and the body, header and footer parts are pulled through StAX, so memory stays flat whatever the document size.
+ * Paragraphs end a line, table cells are tab-separated and text boxes are read once (their VML fallback copy is skipped).
+ */
+public final class DocxTextExtractor {
+
+    private static final String MAIN_PART = "word/document.xml";
+    private static final Pattern HEADER_PART = Pattern.compile("word/header\\d*\\.xml");
+    private static final Pattern FOOTER_PART = Pattern.compile("word/footer\\d*\\.xml");
+    private static final String MARKUP_COMPATIBILITY_NS = "http://schemas.openxmlformats.org/markup-compatibility/2006";
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = newInputFactory();
+
+    private DocxTextExtractor() {
+    }
+
+    public static String extractText(InputStream inputStream) throws IOException {
+        StringBuilder headers = new StringBuilder();
+        StringBuilder body = new StringBuilder();
+        StringBuilder footers = new StringBuilder();
+        boolean foundBody = false;
+
+        // Stored entries with data descriptors are legal in OOXML but rejected by java.util.zip
+        try (ZipArchiveInputStream zip = new ZipArchiveInputStream(inputStream, StandardCharsets.UTF_8.name(),
+                true, true)) {
+            ZipArchiveEntry entry;
+            while ((entry = zip.getNextZipEntry()) != null) {
+                String name = entry.getName();
+                if (name.equals(MAIN_PART)) {
+                    readPart(zip, body);
+                    foundBody = true;
+                } else if (HEADER_PART.matcher(name).matches()) {
+                    readPart(zip, headers);
+                } else if (FOOTER_PART.matcher(name).matches()) {
+                    readPart(zip, footers);
+                }
+            }
+        }
+
+        if (!foundBody) {
+            throw new IOException("Not a Word document: " + MAIN_PART + " is missing");
+        }
+        return headers.append(body).append(footers).toString();
+    }
+
+    private static void readPart(InputStream part, StringBuilder text) throws IOException {
+        XMLStreamReader reader = null;
+        try {
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(new NonClosingInputStream(part));
+            boolean inText = false;
+            int skipDepth = 0;
+            // w:tab also defines tab stops inside w:pPr/w:tabs; only a tab within a run is content
+            int tabStopsDepth = 0;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    if (skipDepth > 0) {
+                        skipDepth++;
+                        continue;
+                    }
+                    String local = reader.getLocalName();
+                    if (local.equals("Fallback") && MARKUP_COMPATIBILITY_NS.equals(reader.getNamespaceURI())) {
+                        skipDepth = 1;
+                    } else if (local.equals("tabs")) {
+                        tabStopsDepth++;
+                    } else if (local.equals("t")) {
+                        inText = true;
+                    } else if (local.equals("tab") && tabStopsDepth == 0) {
+                        text.append('\t');
+                    } else if (local.equals("br") || local.equals("cr")) {
+                        text.append('\n');
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if (skipDepth > 0) {
+                        skipDepth--;
+                        continue;
+                    }
+                    String local = reader.getLocalName();
+                    if (local.equals("t")) {
+                        inText = false;
+                    } else if (local.equals("tabs")) {
+                        tabStopsDepth--;
+                    } else if (local.equals("p")) {
+                        text.append('\n');
+                    } else if (local.equals("tc")) {
+                        // The cell's last paragraph already ended the line; separate cells with a tab instead
+                        if (text.length() > 0 && text.charAt(text.length() - 1) == '\n') {
+                            text.setLength(text.length() - 1);
+                        }
+                        text.append('\t');
+                    } else if (local.equals("tr")) {
+                        text.append('\n');
+                    }
+                } else if (inText && skipDepth == 0
+                        && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                        || event == XMLStreamConstants.SPACE)) {
+                    text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed Word document: " + e.getMessage(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ignored) {
+                    // Nothing left to release
+                }
+            }
+        }
+    }
+
+    private static XMLInputFactory newInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // Uploaded files are untrusted: no DTDs, no external entities
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        try {
+            factory.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+        } catch (IllegalArgumentException ignored) {
+            // Not supported by this StAX implementation; DTDs are already disabled
+        }
+        return factory;
+    }
+
+    /**
+     * Keeps the StAX reader from closing the zip stream when a part is done.
+     */
+    private static class NonClosingInputStream extends FilterInputStream {
+        NonClosingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
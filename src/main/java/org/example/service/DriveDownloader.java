@@ -0,0 +1,109 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Downloads Drive files into the spool on a bounded pool of its own, so network transfers run ahead of
+ * and overlap with parsing and analysis instead of blocking pipeline threads one file at a time.
+ */
+@Component
+public class DriveDownloader {
+
+    @Autowired
+    private GoogleDriveService driveService;
+
+    @Autowired
+    private FileSpoolService spoolService;
+
+    @Value("${google.drive.download.concurrency:4}")
+    private int concurrency;
+
+    private ExecutorService downloadExecutor;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger counter = new AtomicInteger();
+        downloadExecutor = Executors.newFixedThreadPool(Math.max(1, concurrency), runnable -> {
+            Thread thread = new Thread(runnable, "drive-download-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        downloadExecutor.shutdownNow();
+    }
+
+    /**
+     * Start downloading now. Opening the returned source waits for the download to finish.
+     * @param onSpooled receives the spool file once written, for cleanup
+     */
+    public IngestionItem.ContentSource prefetch(String fileId, String fileName, Consumer<Path> onSpooled) {
+        CompletableFuture<Path> download = CompletableFuture.supplyAsync(() -> {
+            try {
+                return download(fileId, fileName, onSpooled);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, downloadExecutor);
+
+        return () -> {
+            try {
+                return Files.newInputStream(download.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for download of " + fileName, e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                        ? e.getCause().getCause() : e.getCause();
+                throw cause instanceof IOException ioException ? ioException : new IOException(cause.getMessage(), cause);
+            }
+        };
+    }
+
+    /**
+     * Download on first open only, on the calling thread (e.g. when replaying a single queued file).
+     */
+    public IngestionItem.ContentSource onFirstOpen(String fileId, String fileName, Consumer<Path> onSpooled) {
+        return new IngestionItem.ContentSource() {
+            private Path spooled;
+
+            @Override
+            public synchronized InputStream open() throws IOException {
+                if (spooled == null) {
+                    spooled = download(fileId, fileName, onSpooled);
+                }
+                return Files.newInputStream(spooled);
+            }
+        };
+    }
+
+    private Path download(String fileId, String fileName, Consumer<Path> onSpooled) throws IOException {
+        Path target = spoolService.newSpoolFile(fileName);
+        onSpooled.accept(target);
+        try {
+            driveService.downloadTo(fileId, target);
+        } catch (GeneralSecurityException e) {
+            throw new IOException(e);
+        }
+        return target;
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.dto.IngestionJobDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs an incremental Google Drive sync on a fixed interval. A tick is skipped while the previous sync is still running.
+ */
+@Component
+public class DriveSyncScheduler {
+
+    @Autowired
+    private ResumeService resumeService;
+
+    @Autowired
+    private IngestionJobService jobService;
+
+    @Value("${google.drive.enabled:false}")
+    private boolean driveEnabled;
+
+    @Value("${google.drive.sync.interval-minutes:0}")
+    private long intervalMinutes;
+
+    @Value("${google.drive.sync.folder-id:}")
+    private String folderId;
+
+    @Value("${google.drive.sync.ai-provider:}")
+    private String aiProvider;
+
+    private ScheduledExecutorService scheduler;
+    private String lastJobId;
+
+    @PostConstruct
+    public void start() {
+        if (!driveEnabled || intervalMinutes <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "drive-sync-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::sync, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+        System.out.println("DEBUG: Scheduled Google Drive sync every " + intervalMinutes + " minute(s)");
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void sync() {
+        try {
+            if (lastJobId != null && isRunning(lastJobId)) {
+                System.out.println("DEBUG: Previous Drive sync " + lastJobId + " still running, skipping");
+                return;
+            }
+            IngestionJobDTO job = resumeService.startGoogleDriveSyncJob(folderId, aiProvider, false);
+            lastJobId = job.getId();
+        } catch (Exception e) {
+            // Keep the schedule alive; the next tick retries
+            System.err.println("WARNING: Scheduled Google Drive sync failed: " + e.getMessage());
+        }
+    }
+
+    private boolean isRunning(String jobId) {
+        try {
+            return !jobService.findJob(jobId).isFinished();
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
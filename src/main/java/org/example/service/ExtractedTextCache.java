@@ -0,0 +1,276 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import org.example.dto.ExtractedTextCacheStatsDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Content-addressed cache of extracted resume text, keyed by the SHA-256 of the file bytes, so files that are
+ * processed again (another provider, a retried batch) skip PDFBox/POI entirely. Entries are gzip files under a
+ * directory per parser version: starting with a new {@link ResumeParserService#getVersion()} discards every
+ * older directory. Total size on disk is bounded, evicting the least recently used entries first.
+ */
+@Service
+public class ExtractedTextCache {
+
+    private static final int FORMAT = 1;
+    private static final String SUFFIX = ".txt.gz";
+
+    @Autowired
+    private ResumeParserService parserService;
+
+    @Value("${ingestion.text-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ingestion.text-cache.dir:${java.io.tmpdir}/talentlens-text-cache}")
+    private String cacheDir;
+
+    @Value("${ingestion.text-cache.max-size:256MB}")
+    private DataSize maxSize;
+
+    private String version;
+    private Path versionPath;
+    private long totalBytes;
+
+    // Access-ordered index of content hash to compressed size; the eldest entry is the next to evict
+    private final Map<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param pageCount number of PDF pages the text came from; 0 for Word documents, which have no fixed pages
+     */
+    public record CachedText(String text, int pageCount, String parserVersion) {
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        version = parserService.getVersion();
+        Path root = Paths.get(cacheDir);
+        versionPath = root.resolve("v" + version);
+        Files.createDirectories(versionPath);
+
+        try (DirectoryStream<Path> versions = Files.newDirectoryStream(root)) {
+            for (Path dir : versions) {
+                if (!dir.equals(versionPath) && Files.isDirectory(dir)) {
+                    System.out.println("DEBUG: Discarding extracted text cached by parser " + dir.getFileName());
+                    deleteTree(dir);
+                }
+            }
+        }
+
+        // Modification times record last use, so the LRU order survives restarts
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> walk = Files.walk(versionPath)) {
+            walk.filter(Files::isRegularFile).forEach(files::add);
+        }
+        files.sort(Comparator.comparing(this::lastModified));
+        synchronized (entries) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (!name.endsWith(SUFFIX)) {
+                    Files.deleteIfExists(file); // temp file of an interrupted write
+                    continue;
+                }
+                long size = Files.size(file);
+                entries.put(name.substring(0, name.length() - SUFFIX.length()), size);
+                totalBytes += size;
+            }
+        }
+        evict();
+        System.out.println("DEBUG: Extracted text cache (parser " + version + ") holds " + entries.size()
+                + " entries, " + totalBytes / 1024 + " KB");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Optional<CachedText> get(String contentHash) {
+        if (!enabled || contentHash == null) {
+            return Optional.empty();
+        }
+        synchronized (entries) {
+            if (entries.get(contentHash) == null) {
+                misses.incrementAndGet();
+                return Optional.empty();
+            }
+        }
+
+        Path file = pathOf(contentHash);
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(
+                new BufferedInputStream(Files.newInputStream(file))))) {
+            int format = in.readInt();
+            String entryVersion = in.readUTF();
+            if (format != FORMAT || !version.equals(entryVersion)) {
+                remove(contentHash);
+                misses.incrementAndGet();
+                return Optional.empty();
+            }
+            int pageCount = in.readInt();
+            int length = in.readInt();
+            byte[] text = in.readNBytes(length);
+            if (text.length != length) {
+                throw new EOFException("truncated entry");
+            }
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+            hits.incrementAndGet();
+            return Optional.of(new CachedText(new String(text, StandardCharsets.UTF_8), pageCount, entryVersion));
+        } catch (IOException e) {
+            System.err.println("WARNING: Dropping unreadable cached text " + contentHash + ": " + e.getMessage());
+            remove(contentHash);
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+    }
+
+    public void put(String contentHash, String text) {
+        if (!enabled || contentHash == null || text == null) {
+            return;
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        Path file = pathOf(contentHash);
+        Path temp = null;
+        try {
+            Files.createDirectories(file.getParent());
+            temp = Files.createTempFile(file.getParent(), contentHash, ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp))))) {
+                out.writeInt(FORMAT);
+                out.writeUTF(version);
+                out.writeInt(pageCount(text));
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            long size = Files.size(temp);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            synchronized (entries) {
+                Long previous = entries.put(contentHash, size);
+                totalBytes += size - (previous != null ? previous : 0);
+            }
+            evict();
+        } catch (IOException e) {
+            System.err.println("WARNING: Could not cache extracted text " + contentHash + ": " + e.getMessage());
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // Cleaned up on the next start
+                }
+            }
+        }
+    }
+
+    public ExtractedTextCacheStatsDTO getStats() {
+        int count;
+        long bytes;
+        synchronized (entries) {
+            count = entries.size();
+            bytes = totalBytes;
+        }
+        long lookups = hits.get() + misses.get();
+        return new ExtractedTextCacheStatsDTO(enabled, version, count, bytes, maxSize.toBytes(), hits.get(),
+                misses.get(), evictions.get(), lookups > 0 ? (double) hits.get() / lookups : 0);
+    }
+
+    private void evict() {
+        List<String> victims = new ArrayList<>();
+        synchronized (entries) {
+            Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+            while (totalBytes > maxSize.toBytes() && eldest.hasNext()) {
+                Map.Entry<String, Long> entry = eldest.next();
+                totalBytes -= entry.getValue();
+                victims.add(entry.getKey());
+                eldest.remove();
+            }
+        }
+        for (String victim : victims) {
+            evictions.incrementAndGet();
+            deleteQuietly(pathOf(victim));
+        }
+    }
+
+    private void remove(String contentHash) {
+        synchronized (entries) {
+            Long size = entries.remove(contentHash);
+            if (size != null) {
+                totalBytes -= size;
+            }
+        }
+        deleteQuietly(pathOf(contentHash));
+    }
+
+    /**
+     * Fanned out by the first two hex digits so no directory grows too large.
+     */
+    private Path pathOf(String contentHash) {
+        return versionPath.resolve(contentHash.substring(0, 2)).resolve(contentHash + SUFFIX);
+    }
+
+    private static int pageCount(String text) {
+        int pages = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == ResumeTextCompactor.PAGE_BREAK) {
+                pages++;
+            }
+        }
+        return pages;
+    }
+
+    private FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static void deleteTree(Path dir) throws IOException {
+        try (Stream<Path> walk = Files.walk(dir)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(ExtractedTextCache::deleteQuietly);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            System.err.println("WARNING: Could not delete " + path + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Spools uploaded content to local disk so background jobs can outlive the HTTP request
+ * without holding file bytes on the heap. The spool lives on durable storage so pending
+ * work recorded in the ingestion queue can be resumed after a restart.
+ */
+@Service
+public class FileSpoolService {
+
+    @Value("${ingestion.spool.dir:${java.io.tmpdir}/talentlens-spool}")
+    private String spoolDir;
+
+    private Path spoolPath;
+    private Instant startedAt;
+
+    @PostConstruct
+    public void init() throws IOException {
+        spoolPath = Paths.get(spoolDir);
+        Files.createDirectories(spoolPath);
+        startedAt = Instant.now();
+    }
+
+    public Path spool(MultipartFile file) throws IOException {
+        Path target = newSpoolFile(file.getOriginalFilename());
+        file.transferTo(target);
+        return target;
+    }
+
+    public Path spool(InputStream inputStream, String fileName) throws IOException {
+        Path target = newSpoolFile(fileName);
+        Files.copy(inputStream, target, StandardCopyOption.REPLACE_EXISTING);
+        return target;
+    }
+
+    public Path newSpoolFile(String fileName) throws IOException {
+        return Files.createTempFile(spoolPath, "spool-", suffixOf(fileName));
+    }
+
+    public void delete(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            System.err.println("WARNING: Could not delete spool file " + path + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Delete spool files left behind by a previous run, except those still referenced by pending work.
+     * Files created since this instance started are never touched.
+     */
+    public int deleteOrphans(Set<Path> keep) {
+        Set<Path> normalizedKeep = new HashSet<>();
+        keep.forEach(path -> normalizedKeep.add(path.toAbsolutePath().normalize()));
+
+        int deleted = 0;
+        try (Stream<Path> files = Files.list(spoolPath)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (normalizedKeep.contains(file.toAbsolutePath().normalize())
+                        || !Files.getLastModifiedTime(file).toInstant().isBefore(startedAt)) {
+                    continue;
+                }
+                delete(file);
+                deleted++;
+            }
+        } catch (IOException e) {
+            System.err.println("WARNING: Could not clean spool directory: " + e.getMessage());
+        }
+        return deleted;
+    }
+
+    private String suffixOf(String fileName) {
+        if (fileName == null) {
+            return ".tmp";
+        }
+        int dot = fileName.lastIndexOf('.');
+        if (dot < 0 || fileName.length() - dot > 10) {
+            return ".tmp";
+        }
+        return fileName.substring(dot).replaceAll("[^A-Za-z0-9.]", "");
+    }
+}
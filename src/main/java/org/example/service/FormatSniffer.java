@@ -0,0 +1,153 @@
+package org.example.service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Identifies uploaded files by their leading bytes instead of the declared Content-Type or file extension,
+ * which browsers and archives routinely get wrong ({@code application/octet-stream}, missing extensions).
+ * The declared type or extension is only used to settle a generic ZIP that could still be a .docx.
+ */
+public final class FormatSniffer {
+
+    /**
+     * Enough for a PDF header after leading junk, the first ZIP entry name and the TAR magic at offset 257.
+     */
+    public static final int PEEK_BYTES = 1024;
+
+    private static final byte[] PDF_MAGIC = "%PDF-".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] OLE2_MAGIC = {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1};
+    private static final byte[] ZIP_MAGIC = {'P', 'K', 0x03, 0x04};
+    private static final byte[] TAR_MAGIC = "ustar".getBytes(StandardCharsets.US_ASCII);
+    private static final int TAR_MAGIC_OFFSET = 257;
+
+    public enum Format {
+        PDF("application/pdf"),
+        DOCX("application/vnd.openxmlformats-officedocument.wordprocessingml.document"),
+        DOC("application/msword"),
+        ZIP(null),
+        GZIP(null),
+        TAR(null),
+        UNKNOWN(null);
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        /**
+         * MIME type of a resume format, or null for archives and unknown content.
+         */
+        public String getContentType() {
+            return contentType;
+        }
+
+        public boolean isResume() {
+            return contentType != null;
+        }
+
+        public boolean isArchive() {
+            return this == ZIP || this == GZIP || this == TAR;
+        }
+    }
+
+    /**
+     * Content whose leading bytes were inspected; {@code stream} replays them, so nothing is read twice.
+     */
+    public record Sniffed(Format format, InputStream stream) {
+    }
+
+    private FormatSniffer() {
+    }
+
+    public static Format detect(byte[] head, int length) {
+        if (startsWith(head, length, 0, ZIP_MAGIC)) {
+            return isOoxml(head, length) ? Format.DOCX : Format.ZIP;
+        }
+        if (startsWith(head, length, 0, OLE2_MAGIC)) {
+            return Format.DOC;
+        }
+        if (length >= 2 && (head[0] & 0xFF) == 0x1F && (head[1] & 0xFF) == 0x8B) {
+            return Format.GZIP;
+        }
+        if (startsWith(head, length, TAR_MAGIC_OFFSET, TAR_MAGIC)) {
+            return Format.TAR;
+        }
+        // The PDF header may follow a little leading junk
+        for (int offset = 0; offset + PDF_MAGIC.length <= length; offset++) {
+            if (startsWith(head, length, offset, PDF_MAGIC)) {
+                return Format.PDF;
+            }
+        }
+        return Format.UNKNOWN;
+    }
+
+    /**
+     * Detect a format and settle ambiguous results with what the client declared.
+     */
+    public static Format detect(byte[] head, int length, String declaredType, String fileName) {
+        return refine(detect(head, length), declaredType, fileName);
+    }
+
+    public static Format detect(Path file, String declaredType, String fileName) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] head = in.readNBytes(PEEK_BYTES);
+            return detect(head, head.length, declaredType, fileName);
+        }
+    }
+
+    /**
+     * Peek at the start of {@code in}. The returned stream must be used in its place; it replays the
+     * peeked bytes from its buffer.
+     */
+    public static Sniffed sniff(InputStream in, String declaredType, String fileName) throws IOException {
+        InputStream buffered = in.markSupported() ? in : new BufferedInputStream(in, Math.max(8192, PEEK_BYTES));
+        buffered.mark(PEEK_BYTES);
+        byte[] head = buffered.readNBytes(PEEK_BYTES);
+        buffered.reset();
+        return new Sniffed(detect(head, head.length, declaredType, fileName), buffered);
+    }
+
+    private static Format refine(Format format, String declaredType, String fileName) {
+        if (format != Format.ZIP) {
+            return format;
+        }
+        // An OOXML package whose first entry is not one of the usual parts
+        String lowerName = fileName != null ? fileName.toLowerCase() : "";
+        if (Format.DOCX.getContentType().equals(declaredType) || lowerName.endsWith(".docx")) {
+            return Format.DOCX;
+        }
+        return format;
+    }
+
+    /**
+     * Word, Google Docs and LibreOffice all write one of these parts first.
+     */
+    private static boolean isOoxml(byte[] head, int length) {
+        if (length < 30) {
+            return false;
+        }
+        int nameLength = (head[26] & 0xFF) | (head[27] & 0xFF) << 8;
+        int end = Math.min(length, 30 + nameLength);
+        String firstEntry = new String(head, 30, end - 30, StandardCharsets.UTF_8);
+        return firstEntry.equals("[Content_Types].xml") || firstEntry.startsWith("_rels/")
+                || firstEntry.startsWith("word/") || firstEntry.startsWith("docProps/");
+    }
+
+    private static boolean startsWith(byte[] head, int length, int offset, byte[] magic) {
+        if (offset + magic.length > length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if (head[offset + i] != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
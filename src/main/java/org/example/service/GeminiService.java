@@ -8,7 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -18,15 +18,15 @@ public class GeminiService implements AIService {
     @Autowired
     private AISettingsService aiSettingsService;
 
-    private final OkHttpClient client;
+    @Autowired
+    private AIHttpClient httpClient;
+
+    @Autowired
+    private ResumeFieldExtractor fieldExtractor;
+
     private final ObjectMapper objectMapper;
 
     public GeminiService() {
-        this.client = new OkHttpClient.Builder()
-                .connectTimeout(60, TimeUnit.SECONDS)
-                .readTimeout(60, TimeUnit.SECONDS)
-                .writeTimeout(60, TimeUnit.SECONDS)
-                .build();
         this.objectMapper = new ObjectMapper();
     }
 
@@ -34,7 +34,7 @@ public class GeminiService implements AIService {
     public AIAnalysisResponse analyzeResume(String resumeText, String jobRequirements) {
         String prompt = buildAnalysisPrompt(resumeText, jobRequirements);
         String response = callGeminiAPI(prompt);
-        return parseGeminiResponse(response);
+        return fieldExtractor.fill(parseGeminiResponse(response), resumeText);
     }
 
     @Override
@@ -54,12 +54,7 @@ public class GeminiService implements AIService {
                 
                 Please provide your analysis in the following JSON format:
                 {
-                  "candidateName": "extracted candidate name",
-                  "email": "extracted email address",
-                  "phone": "extracted phone number",
                   "matchScore": numerical score from 0 to 100,
-                  "extractedSkills": "comma-separated list of skills found in resume",
-                  "extractedExperience": "brief summary of experience",
                   "analysis": "detailed analysis of strengths, weaknesses, and overall fit"
                 }
                 
@@ -82,101 +77,118 @@ public class GeminiService implements AIService {
 
     private String callGeminiAPI(String prompt) {
         try {
-            // Get current settings dynamically
-            String apiKey = aiSettingsService.getGeminiApiKey();
-            String model = aiSettingsService.getGeminiModel();
-            String apiUrl = aiSettingsService.getGeminiApiUrl();
+            return httpClient.execute("gemini", buildRequest(prompt), this::readContent);
+        } catch (IOException e) {
+            System.err.println("ERROR: Gemini API call failed: " + e.getMessage());
+            throw new RuntimeException("Gemini API call failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<AIAnalysisResponse> analyzeResumeAsync(String resumeText, String jobRequirements) {
+        try {
+            Request request = buildRequest(buildAnalysisPrompt(resumeText, jobRequirements));
+            // Parsed in the response handler, so the future returned is the one that cancels the call
+            return httpClient.enqueue("gemini", request, response -> fieldExtractor.fill(parseGeminiResponse(readContent(response)), resumeText));
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 
-            // Build the Gemini API URL with the model and API key
-            String fullUrl = String.format("%s/%s:generateContent?key=%s",
-                    apiUrl, model, apiKey);
+    private Request buildRequest(String prompt) throws IOException {
+        // Get current settings dynamically
+        String apiKey = aiSettingsService.getGeminiApiKey();
+        String model = aiSettingsService.getGeminiModel();
+        String apiUrl = aiSettingsService.getGeminiApiUrl();
+
+        // Build the Gemini API URL with the model and API key
+        String fullUrl = String.format("%s/%s:generateContent?key=%s",
+                apiUrl, model, apiKey);
+
+        // Build the JSON request body for Gemini API
+        String requestBody = String.format("""
+            {
+              "contents": [{
+                "parts": [{
+                  "text": %s
+                }]
+              }],
+              "generationConfig": {
+                "temperature": 0.7,
+                "maxOutputTokens": 2000
+              }
+            }
+            """, objectMapper.writeValueAsString(prompt));
 
-            // Build the JSON request body for Gemini API
-            String requestBody = String.format("""
-                {
-                  "contents": [{
-                    "parts": [{
-                      "text": %s
-                    }]
-                  }],
-                  "generationConfig": {
-                    "temperature": 0.7,
-                    "maxOutputTokens": 2000
-                  }
-                }
-                """, objectMapper.writeValueAsString(prompt));
-
-            RequestBody body = RequestBody.create(
-                    requestBody,
-                    MediaType.parse("application/json")
-            );
-
-            System.out.println("DEBUG: Calling Gemini API at: " + fullUrl.replace(apiKey, "***"));
-            System.out.println("DEBUG: Using model: " + model);
-
-            Request request = new Request.Builder()
-                    .url(fullUrl)
-                    .post(body)
-                    .addHeader("Content-Type", "application/json")
-                    .build();
-
-            try (Response response = client.newCall(request).execute()) {
-                if (!response.isSuccessful()) {
-                    String errorBody = response.body() != null ? response.body().string() : "No error details";
-                    System.err.println("ERROR: Gemini API failed with status " + response.code());
-                    System.err.println("ERROR: Response message: " + response.message());
-                    System.err.println("ERROR: Response body: " + errorBody);
-
-                    if (response.code() == 401 || response.code() == 403) {
-                        throw new RuntimeException("Gemini API authentication failed (" + response.code() + "). Please verify:\n" +
-                                "1. API key is valid and active\n" +
-                                "2. API key is properly formatted\n" +
-                                "3. Generative Language API is enabled in Google Cloud Console\n" +
-                                "Error details: " + errorBody);
-                    }
-
-                    if (response.code() == 404) {
-                        throw new RuntimeException("Gemini API endpoint not found (404). Please verify:\n" +
-                                "1. API key is valid and active\n" +
-                                "2. Generative Language API is enabled in Google Cloud Console\n" +
-                                "3. Model name is correct (try gemini-1.5-flash or gemini-pro)\n" +
-                                "Error details: " + errorBody);
-                    }
-
-                    if (response.code() == 429) {
-                        throw new RuntimeException("Gemini API rate limit exceeded (429). Please:\n" +
-                                "1. Check your API usage quota\n" +
-                                "2. Wait before retrying\n" +
-                                "Error details: " + errorBody);
-                    }
-
-                    throw new RuntimeException("Gemini API call failed: " + response.code() + " - " +
-                            response.message() + "\nDetails: " + errorBody);
-                }
+        RequestBody body = RequestBody.create(
+                requestBody,
+                MediaType.parse("application/json")
+        );
 
-                String responseBody = response.body().string();
-                System.out.println("DEBUG: Gemini Response received");
-
-                // Parse the Gemini response to extract the content
-                JsonNode jsonResponse = objectMapper.readTree(responseBody);
-                JsonNode candidates = jsonResponse.get("candidates");
-
-                if (candidates != null && candidates.size() > 0) {
-                    JsonNode content = candidates.get(0).get("content");
-                    if (content != null && content.has("parts")) {
-                        JsonNode parts = content.get("parts");
-                        if (parts.size() > 0 && parts.get(0).has("text")) {
-                            return parts.get(0).get("text").asText();
-                        }
-                    }
-                }
+        System.out.println("DEBUG: Calling Gemini API at: " + fullUrl.replace(apiKey, "***"));
+        System.out.println("DEBUG: Using model: " + model);
 
-                throw new RuntimeException("Invalid response structure from Gemini API");
+        Request request = new Request.Builder()
+                .url(fullUrl)
+                .post(body)
+                .addHeader("Content-Type", "application/json")
+                .build();
+
+        return request;
+    }
+
+    private String readContent(Response response) throws IOException {
+        if (!response.isSuccessful()) {
+            String errorBody = response.body() != null ? response.body().string() : "No error details";
+            System.err.println("ERROR: Gemini API failed with status " + response.code());
+            System.err.println("ERROR: Response message: " + response.message());
+            System.err.println("ERROR: Response body: " + errorBody);
+
+            if (response.code() == 401 || response.code() == 403) {
+                throw new RuntimeException("Gemini API authentication failed (" + response.code() + "). Please verify:\n" +
+                        "1. API key is valid and active\n" +
+                        "2. API key is properly formatted\n" +
+                        "3. Generative Language API is enabled in Google Cloud Console\n" +
+                        "Error details: " + errorBody);
             }
-        } catch (IOException e) {
-            System.err.println("ERROR: Gemini API call failed: " + e.getMessage());
-            throw new RuntimeException("Gemini API call failed: " + e.getMessage(), e);
+
+            if (response.code() == 404) {
+                throw new RuntimeException("Gemini API endpoint not found (404). Please verify:\n" +
+                        "1. API key is valid and active\n" +
+                        "2. Generative Language API is enabled in Google Cloud Console\n" +
+                        "3. Model name is correct (try gemini-1.5-flash or gemini-pro)\n" +
+                        "Error details: " + errorBody);
+            }
+
+            if (response.code() == 429) {
+                throw new RuntimeException("Gemini API rate limit exceeded (429). Please:\n" +
+                        "1. Check your API usage quota\n" +
+                        "2. Wait before retrying\n" +
+                        "Error details: " + errorBody);
+            }
+
+            throw new RuntimeException("Gemini API call failed: " + response.code() + " - " +
+                    response.message() + "\nDetails: " + errorBody);
         }
+
+        String responseBody = response.body().string();
+        System.out.println("DEBUG: Gemini Response received");
+
+        // Parse the Gemini response to extract the content
+        JsonNode jsonResponse = objectMapper.readTree(responseBody);
+        JsonNode candidates = jsonResponse.get("candidates");
+
+        if (candidates != null && candidates.size() > 0) {
+            JsonNode content = candidates.get(0).get("content");
+            if (content != null && content.has("parts")) {
+                JsonNode parts = content.get("parts");
+                if (parts.size() > 0 && parts.get(0).has("text")) {
+                    return parts.get(0).get("text").asText();
+                }
+            }
+        }
+
+        throw new RuntimeException("Invalid response structure from Gemini API");
     }
 
     private AIAnalysisResponse parseGeminiResponse(String apiResponse) {
@@ -202,7 +214,9 @@ public class GeminiService implements AIService {
         }
 
         // Return default response if parsing fails
-        return new AIAnalysisResponse(50.0, apiResponse, "", "", "", "", "");
+        AIAnalysisResponse fallback = new AIAnalysisResponse(50.0, apiResponse, "", "", "", "", "");
+        fallback.setParsed(false);
+        return fallback;
     }
 
     private String extractJsonFromResponse(String text) {
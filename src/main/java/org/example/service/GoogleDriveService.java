@@ -6,9 +6,11 @@ import com.google.api.client.extensions.jetty.auth.oauth2.LocalServerReceiver;
 import com.google.api.client.googleapis.auth.oauth2.GoogleAuthorizationCodeFlow;
 import com.google.api.client.googleapis.auth.oauth2.GoogleClientSecrets;
 import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
+import com.google.api.client.http.HttpResponseException;
 import com.google.api.client.http.javanet.NetHttpTransport;
 import com.google.api.client.json.JsonFactory;
 import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.client.util.DateTime;
 import com.google.api.client.util.store.FileDataStoreFactory;
 import com.google.api.services.drive.Drive;
 import com.google.api.services.drive.DriveScopes;
@@ -16,12 +18,17 @@ import com.google.api.services.drive.model.File;
 import com.google.api.services.drive.model.FileList;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedOutputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.GeneralSecurityException;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -35,10 +42,20 @@ public class GoogleDriveService {
     private static final String TOKENS_DIRECTORY_PATH = "tokens";
     private static final List<String> SCOPES = Collections.singletonList(DriveScopes.DRIVE_READONLY);
     private static final String CREDENTIALS_FILE_PATH = "/credentials.json";
+    private static final int PAGE_SIZE = 1000;
 
     @Value("${google.drive.enabled:false}")
     private boolean driveEnabled;
 
+    @Value("${google.drive.download.max-attempts:4}")
+    private int downloadMaxAttempts;
+
+    @Value("${google.drive.download.retry-backoff-ms:500}")
+    private long downloadRetryBackoffMs;
+
+    @Value("${google.drive.download.chunk-size:8MB}")
+    private DataSize downloadChunkSize;
+
     private Drive driveService;
 
     private Drive getDriveService() throws IOException, GeneralSecurityException {
@@ -70,6 +87,14 @@ public class GoogleDriveService {
     }
 
     public List<File> listResumeFiles(String folderId) throws IOException, GeneralSecurityException {
+        return listResumeFiles(folderId, null);
+    }
+
+    /**
+     * List every PDF/Word file (all pages), optionally only those modified after a point in time.
+     * @param modifiedAfter lower bound on modifiedTime, or null for all files
+     */
+    public List<File> listResumeFiles(String folderId, DateTime modifiedAfter) throws IOException, GeneralSecurityException {
         if (!driveEnabled) {
             throw new IllegalStateException("Google Drive integration is not enabled");
         }
@@ -77,30 +102,78 @@ public class GoogleDriveService {
         Drive service = getDriveService();
         List<File> result = new ArrayList<>();
 
-        String query = "mimeType='application/pdf' or mimeType='application/vnd.openxmlformats-officedocument.wordprocessingml.document'";
+        String query = "(mimeType='application/pdf' or mimeType='application/vnd.openxmlformats-officedocument.wordprocessingml.document'"
+                + " or mimeType='application/msword')"
+                + " and trashed=false";
         if (folderId != null && !folderId.isEmpty()) {
             query += " and '" + folderId + "' in parents";
         }
+        if (modifiedAfter != null) {
+            query += " and modifiedTime > '" + modifiedAfter.toStringRfc3339() + "'";
+        }
 
-        FileList fileList = service.files().list()
-                .setQ(query)
-                .setSpaces("drive")
-                .setFields("nextPageToken, files(id, name, mimeType, size, modifiedTime)")
-                .execute();
-
-        result.addAll(fileList.getFiles());
+        String pageToken = null;
+        do {
+            FileList fileList = service.files().list()
+                    .setQ(query)
+                    .setSpaces("drive")
+                    .setPageSize(PAGE_SIZE)
+                    .setPageToken(pageToken)
+                    .setFields("nextPageToken, files(id, name, mimeType, size, modifiedTime)")
+                    .execute();
+            result.addAll(fileList.getFiles());
+            pageToken = fileList.getNextPageToken();
+        } while (pageToken != null);
+
+        System.out.println("DEBUG: Listed " + result.size() + " resume file(s) from Google Drive");
         return result;
     }
 
-    public byte[] downloadFile(String fileId) throws IOException, GeneralSecurityException {
+    /**
+     * Stream a file's content to disk, retrying transient failures. A retry resumes with a range request
+     * from the bytes already on disk instead of starting over.
+     */
+    public void downloadTo(String fileId, Path target) throws IOException, GeneralSecurityException {
         if (!driveEnabled) {
             throw new IllegalStateException("Google Drive integration is not enabled");
         }
 
         Drive service = getDriveService();
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        service.files().get(fileId).executeMediaAndDownloadTo(outputStream);
-        return outputStream.toByteArray();
+        for (int attempt = 1; ; attempt++) {
+            long resumeFrom = Files.exists(target) ? Files.size(target) : 0;
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(target,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND))) {
+                Drive.Files.Get request = service.files().get(fileId);
+                request.getMediaHttpDownloader()
+                        .setDirectDownloadEnabled(false)
+                        .setChunkSize((int) Math.min(Integer.MAX_VALUE, downloadChunkSize.toBytes()))
+                        .setBytesDownloaded(resumeFrom);
+                request.executeMediaAndDownloadTo(out);
+                return;
+            } catch (IOException e) {
+                if (attempt >= downloadMaxAttempts || !isRetryable(e)) {
+                    throw e;
+                }
+                long backoff = downloadRetryBackoffMs * (1L << (attempt - 1));
+                System.err.println("WARNING: Download of Drive file " + fileId + " failed (attempt " + attempt + "), "
+                        + "resuming from byte " + Files.size(target) + " in " + backoff + "ms: " + e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private boolean isRetryable(IOException e) {
+        if (e instanceof HttpResponseException response) {
+            int status = response.getStatusCode();
+            return status == 408 || status == 429 || status >= 500;
+        }
+        // Connection resets, timeouts and truncated bodies
+        return true;
     }
 
     public File getFileMetadata(String fileId) throws IOException, GeneralSecurityException {
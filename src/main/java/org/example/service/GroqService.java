@@ -8,7 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class GroqService implements AIService {
@@ -16,15 +16,15 @@ public class GroqService implements AIService {
     @Autowired
     private AISettingsService aiSettingsService;
 
-    private final OkHttpClient client;
+    @Autowired
+    private AIHttpClient httpClient;
+
+    @Autowired
+    private ResumeFieldExtractor fieldExtractor;
+
     private final ObjectMapper objectMapper;
 
     public GroqService() {
-        this.client = new OkHttpClient.Builder()
-                .connectTimeout(60, TimeUnit.SECONDS)
-                .readTimeout(60, TimeUnit.SECONDS)
-                .writeTimeout(60, TimeUnit.SECONDS)
-                .build();
         this.objectMapper = new ObjectMapper();
     }
 
@@ -32,7 +32,7 @@ public class GroqService implements AIService {
     public AIAnalysisResponse analyzeResume(String resumeText, String jobRequirements) {
         String prompt = buildAnalysisPrompt(resumeText, jobRequirements);
         String response = callGroqAPI(prompt);
-        return parseGroqResponse(response);
+        return fieldExtractor.fill(parseGroqResponse(response), resumeText);
     }
 
     @Override
@@ -52,12 +52,7 @@ public class GroqService implements AIService {
                 
                 Please provide your analysis in the following JSON format:
                 {
-                  "candidateName": "extracted candidate name",
-                  "email": "extracted email address",
-                  "phone": "extracted phone number",
                   "matchScore": numerical score from 0 to 100,
-                  "extractedSkills": "comma-separated list of skills found in resume",
-                  "extractedExperience": "brief summary of experience",
                   "analysis": "detailed analysis of strengths, weaknesses, and overall fit"
                 }
                 
@@ -80,98 +75,114 @@ public class GroqService implements AIService {
 
     private String callGroqAPI(String prompt) {
         try {
-            // Get current settings dynamically
-            String apiKey = aiSettingsService.getGroqApiKey();
-            String model = aiSettingsService.getGroqModel();
-            String apiUrl = aiSettingsService.getGroqApiUrl();
+            return httpClient.execute("groq", buildRequest(prompt), this::readContent);
+        } catch (IOException e) {
+            System.err.println("ERROR: IOException while calling Groq API: " + e.getMessage());
+            e.printStackTrace();
+            throw new RuntimeException("Failed to call Groq API: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<AIAnalysisResponse> analyzeResumeAsync(String resumeText, String jobRequirements) {
+        try {
+            Request request = buildRequest(buildAnalysisPrompt(resumeText, jobRequirements));
+            // Parsed in the response handler, so the future returned is the one that cancels the call
+            return httpClient.enqueue("groq", request, response -> fieldExtractor.fill(parseGroqResponse(readContent(response)), resumeText));
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 
-            // Build the JSON request body (Groq uses OpenAI-compatible API)
-            String requestBody = String.format("""
+    private Request buildRequest(String prompt) throws IOException {
+        // Get current settings dynamically
+        String apiKey = aiSettingsService.getGroqApiKey();
+        String model = aiSettingsService.getGroqModel();
+        String apiUrl = aiSettingsService.getGroqApiUrl();
+
+        // Build the JSON request body (Groq uses OpenAI-compatible API)
+        String requestBody = String.format("""
+            {
+              "model": "%s",
+              "messages": [
                 {
-                  "model": "%s",
-                  "messages": [
-                    {
-                      "role": "system",
-                      "content": "You are an expert HR analyst specializing in resume evaluation and candidate matching."
-                    },
-                    {
-                      "role": "user",
-                      "content": %s
-                    }
-                  ],
-                  "temperature": 0.7,
-                  "max_tokens": 2000
+                  "role": "system",
+                  "content": "You are an expert HR analyst specializing in resume evaluation and candidate matching."
+                },
+                {
+                  "role": "user",
+                  "content": %s
                 }
-                """, model, objectMapper.writeValueAsString(prompt));
-
-            RequestBody body = RequestBody.create(
-                    requestBody,
-                    MediaType.parse("application/json")
-            );
-
-            System.out.println("DEBUG: Calling Groq API at: " + apiUrl);
-            System.out.println("DEBUG: Using model: " + model);
-            System.out.println("DEBUG: API key loaded: " + (apiKey != null && !apiKey.isEmpty() ?
-                (apiKey.startsWith("gsk_") ? "Yes (starts with gsk_)" : "Yes (but format may be incorrect)") : "No (empty or null)"));
-            System.out.println("DEBUG: API key length: " + (apiKey != null ? apiKey.length() : 0));
-
-            // Validate API key
-            if (apiKey == null || apiKey.isEmpty() || apiKey.equals("your_groq_api_key_here")) {
-                throw new RuntimeException("Groq API key is not configured. Please:\n" +
-                        "1. Get your API key from https://console.groq.com/keys\n" +
-                        "2. Update it in Admin Settings or set GROQ_API_KEY environment variable\n" +
-                        "3. Ensure the key starts with 'gsk_'");
+              ],
+              "temperature": 0.7,
+              "max_tokens": 2000
             }
+            """, model, objectMapper.writeValueAsString(prompt));
+
+        RequestBody body = RequestBody.create(
+                requestBody,
+                MediaType.parse("application/json")
+        );
+
+        System.out.println("DEBUG: Calling Groq API at: " + apiUrl);
+        System.out.println("DEBUG: Using model: " + model);
+        System.out.println("DEBUG: API key loaded: " + (apiKey != null && !apiKey.isEmpty() ?
+            (apiKey.startsWith("gsk_") ? "Yes (starts with gsk_)" : "Yes (but format may be incorrect)") : "No (empty or null)"));
+        System.out.println("DEBUG: API key length: " + (apiKey != null ? apiKey.length() : 0));
+
+        // Validate API key
+        if (apiKey == null || apiKey.isEmpty() || apiKey.equals("your_groq_api_key_here")) {
+            throw new RuntimeException("Groq API key is not configured. Please:\n" +
+                    "1. Get your API key from https://console.groq.com/keys\n" +
+                    "2. Update it in Admin Settings or set GROQ_API_KEY environment variable\n" +
+                    "3. Ensure the key starts with 'gsk_'");
+        }
 
-            Request request = new Request.Builder()
-                    .url(apiUrl)
-                    .post(body)
-                    .addHeader("Authorization", "Bearer " + apiKey)
-                    .addHeader("Content-Type", "application/json")
-                    .build();
-
-            try (Response response = client.newCall(request).execute()) {
-                if (!response.isSuccessful()) {
-                    String errorBody = response.body() != null ? response.body().string() : "No error details";
-                    System.err.println("ERROR: Groq API failed with status " + response.code());
-                    System.err.println("ERROR: Response message: " + response.message());
-                    System.err.println("ERROR: Response body: " + errorBody);
-
-                    if (response.code() == 401 || response.code() == 403) {
-                        throw new RuntimeException("Groq API authentication failed (" + response.code() + "). Please verify:\n" +
-                                "1. API key is valid and active\n" +
-                                "2. API key is properly formatted (starts with 'gsk_')\n" +
-                                "3. Get your API key from https://console.groq.com/keys\n" +
-                                "Error details: " + errorBody);
-                    }
-
-                    if (response.code() == 429) {
-                        throw new RuntimeException("Groq API rate limit exceeded (429). Please:\n" +
-                                "1. Check your API usage quota\n" +
-                                "2. Wait before retrying\n" +
-                                "Error details: " + errorBody);
-                    }
-
-                    if (response.code() == 400) {
-                        throw new RuntimeException("Groq API bad request (400). Please verify:\n" +
-                                "1. Request format is correct\n" +
-                                "2. Model name is valid (e.g., llama-3.1-70b-versatile, mixtral-8x7b-32768)\n" +
-                                "Error details: " + errorBody);
-                    }
-
-                    throw new RuntimeException("Groq API call failed: " + response.code() + " - " + errorBody);
-                }
+        Request request = new Request.Builder()
+                .url(apiUrl)
+                .post(body)
+                .addHeader("Authorization", "Bearer " + apiKey)
+                .addHeader("Content-Type", "application/json")
+                .build();
 
-                String responseBody = response.body().string();
-                System.out.println("DEBUG: Groq API response received successfully");
-                return responseBody;
+        return request;
+    }
+
+    private String readContent(Response response) throws IOException {
+        if (!response.isSuccessful()) {
+            String errorBody = response.body() != null ? response.body().string() : "No error details";
+            System.err.println("ERROR: Groq API failed with status " + response.code());
+            System.err.println("ERROR: Response message: " + response.message());
+            System.err.println("ERROR: Response body: " + errorBody);
+
+            if (response.code() == 401 || response.code() == 403) {
+                throw new RuntimeException("Groq API authentication failed (" + response.code() + "). Please verify:\n" +
+                        "1. API key is valid and active\n" +
+                        "2. API key is properly formatted (starts with 'gsk_')\n" +
+                        "3. Get your API key from https://console.groq.com/keys\n" +
+                        "Error details: " + errorBody);
             }
 
-        } catch (IOException e) {
-            System.err.println("ERROR: IOException while calling Groq API: " + e.getMessage());
-            e.printStackTrace();
-            throw new RuntimeException("Failed to call Groq API: " + e.getMessage(), e);
+            if (response.code() == 429) {
+                throw new RuntimeException("Groq API rate limit exceeded (429). Please:\n" +
+                        "1. Check your API usage quota\n" +
+                        "2. Wait before retrying\n" +
+                        "Error details: " + errorBody);
+            }
+
+            if (response.code() == 400) {
+                throw new RuntimeException("Groq API bad request (400). Please verify:\n" +
+                        "1. Request format is correct\n" +
+                        "2. Model name is valid (e.g., llama-3.1-70b-versatile, mixtral-8x7b-32768)\n" +
+                        "Error details: " + errorBody);
+            }
+
+            throw new RuntimeException("Groq API call failed: " + response.code() + " - " + errorBody);
         }
+
+        String responseBody = response.body().string();
+        System.out.println("DEBUG: Groq API response received successfully");
+        return responseBody;
     }
 
     private AIAnalysisResponse parseGroqResponse(String responseJson) {
@@ -195,9 +206,9 @@ public class GroqService implements AIService {
             JsonNode analysisJson = objectMapper.readTree(content);
 
             AIAnalysisResponse response = new AIAnalysisResponse();
-            response.setCandidateName(getStringValue(analysisJson, "candidateName", "Unknown"));
-            response.setEmail(getStringValue(analysisJson, "email", "Not provided"));
-            response.setPhone(getStringValue(analysisJson, "phone", "Not provided"));
+            response.setCandidateName(getStringValue(analysisJson, "candidateName", ""));
+            response.setEmail(getStringValue(analysisJson, "email", ""));
+            response.setPhone(getStringValue(analysisJson, "phone", ""));
             response.setMatchScore(getDoubleValue(analysisJson, "matchScore", 0.0));
             response.setExtractedSkills(getStringValue(analysisJson, "extractedSkills", ""));
             response.setExtractedExperience(getStringValue(analysisJson, "extractedExperience", ""));
@@ -0,0 +1,201 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.dto.IngestionFileEventDTO;
+import org.example.dto.ResumeDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams ingestion job events to clients over Server-Sent Events:
+ * a {@code result} or {@code error} event per file as soon as it finishes, {@code progress} after each file,
+ * periodic {@code heartbeat} events and a final {@code complete} event.
+ * Only the resume id is kept per file; each DTO is loaded when its event is sent.
+ */
+@Service
+public class IngestionEventStreamService {
+
+    @Autowired
+    private IngestionJobService jobService;
+
+    @Autowired
+    private ResumeService resumeService;
+
+    @Value("${ingestion.stream.timeout-ms:1800000}")
+    private long streamTimeoutMs;
+
+    @Value("${ingestion.stream.heartbeat-seconds:15}")
+    private long heartbeatSeconds;
+
+    @Value("${ingestion.stream.sender-threads:4}")
+    private int senderThreads;
+
+    private ScheduledExecutorService sender;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger counter = new AtomicInteger();
+        sender = Executors.newScheduledThreadPool(Math.max(1, senderThreads), runnable -> {
+            Thread thread = new Thread(runnable, "ingestion-sse-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        sender.shutdownNow();
+    }
+
+    public SseEmitter stream(String jobId) {
+        IngestionJob job = jobService.findJob(jobId);
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        JobStream stream = new JobStream(job, emitter);
+
+        emitter.onCompletion(stream::close);
+        emitter.onTimeout(stream::close);
+        emitter.onError(error -> stream.close());
+
+        stream.enqueue(() -> send(emitter, "progress", job.toDTO(false)));
+        stream.heartbeat = sender.scheduleAtFixedRate(
+                () -> stream.enqueue(() -> send(emitter, "heartbeat", Map.of("timestamp", System.currentTimeMillis()))),
+                heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        job.addObserver(stream);
+        return emitter;
+    }
+
+    /**
+     * Emitter for a stream that could not start: a single {@code error} event, then completion.
+     */
+    public SseEmitter failed(String message) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        try {
+            send(emitter, "error", Map.of("error", message));
+            emitter.complete();
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    private ResumeDTO loadResume(Long resumeId) {
+        if (resumeId == null) {
+            return null;
+        }
+        try {
+            return resumeService.getResumeById(resumeId);
+        } catch (RuntimeException e) {
+            // Deleted since it was analyzed
+            return null;
+        }
+    }
+
+    private void send(SseEmitter emitter, String name, Object data) throws IOException {
+        emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+    }
+
+    @FunctionalInterface
+    private interface StreamEvent {
+        void send() throws IOException;
+    }
+
+    /**
+     * One client connection. Events are queued and written in order by a sender thread,
+     * so a slow client never blocks the pipeline threads that raise them.
+     */
+    private class JobStream implements IngestionJob.Observer {
+        private final IngestionJob job;
+        private final SseEmitter emitter;
+        private final Queue<StreamEvent> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final Set<Integer> sentFiles = ConcurrentHashMap.newKeySet();
+        private volatile ScheduledFuture<?> heartbeat;
+
+        JobStream(IngestionJob job, SseEmitter emitter) {
+            this.job = job;
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onFileFinished(IngestionJob.FileEntry entry) {
+            // Replay on subscribe can overlap with a live event for the same file
+            if (!sentFiles.add(entry.getIndex())) {
+                return;
+            }
+            enqueue(() -> {
+                ResumeDTO resume = loadResume(entry.getResumeId());
+                IngestionFileEventDTO event = new IngestionFileEventDTO(entry.getIndex(), entry.getFileName(),
+                        entry.getStatus().name(), resume, entry.getError());
+                send(emitter, entry.getStatus() == IngestionJob.FileStatus.FAILED ? "error" : "result", event);
+                send(emitter, "progress", job.toDTO(false));
+            });
+        }
+
+        @Override
+        public void onJobFinished(IngestionJob finishedJob) {
+            enqueue(() -> {
+                send(emitter, "complete", finishedJob.toDTO(false));
+                emitter.complete();
+            });
+        }
+
+        void enqueue(StreamEvent event) {
+            if (closed.get()) {
+                return;
+            }
+            queue.add(event);
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                StreamEvent event;
+                while (!closed.get() && (event = queue.poll()) != null) {
+                    try {
+                        event.send();
+                    } catch (Exception e) {
+                        // Client went away; the job itself keeps running
+                        System.out.println("DEBUG: Event stream for job " + job.getId() + " closed: " + e.getMessage());
+                        emitter.completeWithError(e);
+                        close();
+                    }
+                }
+            } finally {
+                draining.set(false);
+                if (!queue.isEmpty() && !closed.get() && draining.compareAndSet(false, true)) {
+                    sender.execute(this::drain);
+                }
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                job.removeObserver(this);
+                if (heartbeat != null) {
+                    heartbeat.cancel(false);
+                }
+                queue.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import org.example.dto.IngestionGovernorStatsDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Global admission control for ingestion.
+ * <ul>
+ *   <li>Requests reserve their upload size against a bytes-in-flight budget for as long as their work runs;
+ *       when the budget stays exhausted past a short wait they are rejected with {@link IngestionRejectedException}.</li>
+ *   <li>Files hold a slot from pipeline entry until they finish; when all slots are taken the submitter blocks,
+ *       which throttles archive expansion and Drive listing instead of queueing unbounded work.</li>
+ *   <li>Archive entries are checked against size and decompression-ratio limits before they are read, and an
+ *       upload may hold only so many entries.</li>
+ * </ul>
+ */
+@Component
+public class IngestionGovernor {
+
+    @Value("${ingestion.governor.max-bytes-in-flight:256MB}")
+    private DataSize maxBytesInFlight;
+
+    @Value("${ingestion.governor.max-concurrent-files:32}")
+    private int maxConcurrentFiles;
+
+    @Value("${ingestion.governor.admission-wait-ms:2000}")
+    private long admissionWaitMs;
+
+    @Value("${ingestion.governor.retry-after-seconds:30}")
+    private long retryAfterSeconds;
+
+    @Value("${ingestion.archive.max-compression-ratio:100}")
+    private double maxCompressionRatio;
+
+    @Value("${ingestion.archive.max-entry-size:50MB}")
+    private DataSize maxEntrySize;
+
+    @Value("${ingestion.archive.max-expanded-size:1GB}")
+    private DataSize maxExpandedSize;
+
+    @Value("${ingestion.archive.max-entries:10000}")
+    private int maxArchiveEntries;
+
+    private final Object budgetLock = new Object();
+    private long bytesInFlight;
+    private int activeRequests;
+
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong rejectedEntries = new AtomicLong();
+
+    private Semaphore fileSlots;
+
+    @PostConstruct
+    public void init() {
+        fileSlots = new Semaphore(Math.max(1, maxConcurrentFiles), true);
+    }
+
+    /**
+     * Released exactly once, however many times it is closed.
+     */
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * Reserve {@code bytes} of the in-flight budget for one request.
+     * A request larger than the whole budget is admitted only when nothing else is in flight.
+     * @throws IngestionRejectedException if the budget does not free up within the admission wait
+     */
+    public Permit admit(long bytes) {
+        long budget = maxBytesInFlight.toBytes();
+        long reserved = Math.min(Math.max(bytes, 0), budget);
+        long deadline = System.currentTimeMillis() + admissionWaitMs;
+
+        synchronized (budgetLock) {
+            while (bytesInFlight + reserved > budget) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    rejected.incrementAndGet();
+                    System.err.println("WARNING: Rejecting ingestion request of " + bytes + " bytes; "
+                            + bytesInFlight + " of " + budget + " bytes in flight");
+                    throw new IngestionRejectedException(
+                            "Server is busy processing other uploads. Please retry shortly.", retryAfterSeconds);
+                }
+                try {
+                    budgetLock.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IngestionRejectedException("Interrupted while waiting for admission", retryAfterSeconds);
+                }
+            }
+            bytesInFlight += reserved;
+            activeRequests++;
+        }
+        admitted.incrementAndGet();
+
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                synchronized (budgetLock) {
+                    bytesInFlight -= reserved;
+                    activeRequests--;
+                    budgetLock.notifyAll();
+                }
+            }
+        };
+    }
+
+    /**
+     * Take a file slot, blocking until one is free.
+     */
+    public Permit acquireFileSlot() {
+        Semaphore slots = fileSlots;
+        try {
+            slots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for an ingestion slot", e);
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                slots.release();
+            }
+        };
+    }
+
+    /**
+     * Check an archive entry's declared sizes before reading it.
+     * @param compressedSize stored size, or -1 when the format does not record one
+     * @throws IOException if the entry is too large or compresses suspiciously well
+     */
+    public void checkArchiveEntry(String name, long size, long compressedSize) throws IOException {
+        if (size > maxEntrySize.toBytes()) {
+            rejectedEntries.incrementAndGet();
+            throw new IOException(name + " is larger than the allowed " + maxEntrySize.toBytes() + " bytes");
+        }
+        if (size > 0 && compressedSize > 0 && (double) size / compressedSize > maxCompressionRatio) {
+            rejectedEntries.incrementAndGet();
+            throw new IOException(name + " exceeds the allowed compression ratio of " + maxCompressionRatio);
+        }
+    }
+
+    /**
+     * Wrap an entry stream so it fails once it yields more than the size and ratio limits allow,
+     * whatever the archive header claimed.
+     */
+    public InputStream limitArchiveEntry(InputStream in, String name, long compressedSize) {
+        long limit = maxEntrySize.toBytes();
+        if (compressedSize > 0) {
+            limit = Math.min(limit, (long) (compressedSize * maxCompressionRatio));
+        }
+        return new LimitedInputStream(in, limit, name);
+    }
+
+    /**
+     * Total bytes one upload may expand to, across all entries and nested archives.
+     */
+    public long maxExpandedBytes(long archiveSize) {
+        return Math.min(maxExpandedSize.toBytes(), (long) (Math.max(archiveSize, 1) * maxCompressionRatio));
+    }
+
+    /**
+     * Entries one upload may contain, counting those of nested archives.
+     */
+    public int maxArchiveEntries() {
+        return maxArchiveEntries;
+    }
+
+    public IngestionGovernorStatsDTO getStats() {
+        long bytes;
+        int requests;
+        synchronized (budgetLock) {
+            bytes = bytesInFlight;
+            requests = activeRequests;
+        }
+        return new IngestionGovernorStatsDTO(bytes, maxBytesInFlight.toBytes(), requests,
+                maxConcurrentFiles - fileSlots.availablePermits(), maxConcurrentFiles, fileSlots.getQueueLength(),
+                admitted.get(), rejected.get(), rejectedEntries.get(),
+                maxCompressionRatio, maxEntrySize.toBytes(), maxExpandedSize.toBytes(), maxArchiveEntries);
+    }
+}
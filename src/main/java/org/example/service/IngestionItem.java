@@ -0,0 +1,43 @@
+package org.example.service;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A single resume file waiting to go through the ingestion pipeline.
+ * The content is opened lazily so the parse stage decides when bytes are read.
+ * {@code spoolPath}/{@code archiveEntry} (or {@code driveFileId}) say where the content can be found again
+ * after a restart; items without them are not recorded in the durable queue.
+ */
+@Data
+@NoArgsConstructor
+public class IngestionItem {
+    private String fileName;
+    private String contentType;
+    private String source; // "UPLOAD", "UPLOAD_ZIP" or "GOOGLE_DRIVE"
+    private String driveFileId;
+    private ContentSource content;
+
+    private Long driveModifiedTime;
+
+    private String spoolPath;
+    private String archiveEntry;
+    private Long queueId;
+
+    public IngestionItem(String fileName, String contentType, String source, String driveFileId,
+                         ContentSource content) {
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.source = source;
+        this.driveFileId = driveFileId;
+        this.content = content;
+    }
+
+    @FunctionalInterface
+    public interface ContentSource {
+        InputStream open() throws IOException;
+    }
+}
@@ -0,0 +1,284 @@
+package org.example.service;
+
+import org.example.dto.IngestionFileStatusDTO;
+import org.example.dto.IngestionJobDTO;
+import org.example.model.Resume;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory state of a background ingestion batch: one entry per file plus aggregate counters.
+ */
+public class IngestionJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
+    }
+
+    public enum FileStatus {
+        QUEUED, PARSING, ANALYZING, SAVING, COMPLETED, DUPLICATE, FAILED
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final String type;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final List<FileEntry> files = new ArrayList<>();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger duplicates = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final List<Observer> observers = new ArrayList<>();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile boolean discoveryComplete;
+    private volatile boolean cancelRequested;
+    private volatile String error;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile long startedNanos;
+
+    /**
+     * Receives per-file and job completion events, e.g. to stream them to a client.
+     * Callbacks run on pipeline threads and must hand off any slow work.
+     */
+    public interface Observer {
+        void onFileFinished(FileEntry entry);
+
+        void onJobFinished(IngestionJob job);
+    }
+
+    public IngestionJob(String type) {
+        this.type = type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED || status == Status.CANCELLED;
+    }
+
+    /**
+     * Ask the job to stop. Drivers stop submitting new work; files already in flight still finish.
+     */
+    public void requestCancel() {
+        cancelRequested = true;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    /**
+     * Register a newly discovered file; the returned entry tracks it through the pipeline.
+     */
+    public FileEntry addFile(String fileName) {
+        synchronized (files) {
+            FileEntry entry = new FileEntry(files.size(), fileName);
+            files.add(entry);
+            return entry;
+        }
+    }
+
+    public void discoveryComplete() {
+        discoveryComplete = true;
+    }
+
+    /**
+     * Register an observer; files that already finished (and the job itself, if done) are replayed to it first.
+     */
+    public void addObserver(Observer observer) {
+        synchronized (observers) {
+            observers.add(observer);
+            List<FileEntry> finished = new ArrayList<>();
+            synchronized (files) {
+                for (FileEntry entry : files) {
+                    if (entry.isFinished()) {
+                        finished.add(entry);
+                    }
+                }
+            }
+            finished.forEach(observer::onFileFinished);
+            if (isFinished()) {
+                observer.onJobFinished(this);
+            }
+        }
+    }
+
+    public void removeObserver(Observer observer) {
+        synchronized (observers) {
+            observers.remove(observer);
+        }
+    }
+
+    private void fireFileFinished(FileEntry entry) {
+        synchronized (observers) {
+            for (Observer observer : observers) {
+                observer.onFileFinished(entry);
+            }
+        }
+    }
+
+    private void fireJobFinished() {
+        synchronized (observers) {
+            for (Observer observer : observers) {
+                observer.onJobFinished(this);
+            }
+        }
+    }
+
+    void markStarted() {
+        startedNanos = System.nanoTime();
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+
+    void markCompleted() {
+        discoveryComplete = true;
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+        fireJobFinished();
+    }
+
+    void markCancelled() {
+        discoveryComplete = true;
+        finishedAt = LocalDateTime.now();
+        status = Status.CANCELLED;
+        fireJobFinished();
+    }
+
+    void markFailed(String message) {
+        discoveryComplete = true;
+        error = message;
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+        fireJobFinished();
+    }
+
+    public IngestionJobDTO toDTO(boolean includeFiles) {
+        List<IngestionFileStatusDTO> fileDTOs = new ArrayList<>();
+        int total;
+        synchronized (files) {
+            total = files.size();
+            if (includeFiles) {
+                for (FileEntry entry : files) {
+                    fileDTOs.add(entry.toDTO());
+                }
+            }
+        }
+
+        int done = completed.get();
+        int duplicateFiles = duplicates.get();
+        int errors = failed.get();
+        int finishedFiles = done + duplicateFiles + errors;
+        int pending = total - finishedFiles;
+
+        Double filesPerMinute = null;
+        Long etaSeconds = null;
+        if (startedAt != null && finishedFiles > 0) {
+            long endNanos = isFinished() && finishedAt != null
+                    ? startedNanos + Duration.between(startedAt, finishedAt).toNanos()
+                    : System.nanoTime();
+            double elapsedSeconds = Math.max(0.001, (endNanos - startedNanos) / 1_000_000_000.0);
+            double perSecond = finishedFiles / elapsedSeconds;
+            filesPerMinute = perSecond * 60.0;
+            if (!isFinished()) {
+                etaSeconds = Math.round(pending / perSecond);
+            }
+        }
+
+        return new IngestionJobDTO(id, type, status.name(), discoveryComplete, total, pending,
+                done, duplicateFiles, errors, filesPerMinute, etaSeconds, error, createdAt, startedAt, finishedAt,
+                includeFiles ? fileDTOs : null);
+    }
+
+    /**
+     * Per-file progress, updated by the pipeline through the {@link IngestionListener} callbacks.
+     */
+    public class FileEntry implements IngestionListener {
+        private final int index;
+        private final String fileName;
+        private volatile FileStatus status = FileStatus.QUEUED;
+        private volatile Long resumeId;
+        private volatile String error;
+
+        private FileEntry(int index, String fileName) {
+            this.index = index;
+            this.fileName = fileName;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public FileStatus getStatus() {
+            return status;
+        }
+
+        public Long getResumeId() {
+            return resumeId;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public boolean isFinished() {
+            return status == FileStatus.COMPLETED || status == FileStatus.DUPLICATE || status == FileStatus.FAILED;
+        }
+
+        @Override
+        public void onStage(Stage stage) {
+            status = switch (stage) {
+                case PARSING -> FileStatus.PARSING;
+                case ANALYZING -> FileStatus.ANALYZING;
+                case SAVING -> FileStatus.SAVING;
+            };
+        }
+
+        @Override
+        public void onSaved(Resume resume) {
+            resumeId = resume.getId();
+            status = FileStatus.COMPLETED;
+            completed.incrementAndGet();
+            fireFileFinished(this);
+        }
+
+        @Override
+        public void onDuplicate(Resume existing) {
+            resumeId = existing.getId();
+            status = FileStatus.DUPLICATE;
+            duplicates.incrementAndGet();
+            fireFileFinished(this);
+        }
+
+        @Override
+        public void onFailed(Throwable cause) {
+            error = cause.getMessage();
+            status = FileStatus.FAILED;
+            failed.incrementAndGet();
+            fireFileFinished(this);
+        }
+
+        IngestionFileStatusDTO toDTO() {
+            return new IngestionFileStatusDTO(index, fileName, status.name(), resumeId, error);
+        }
+    }
+}
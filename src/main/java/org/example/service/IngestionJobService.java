@@ -0,0 +1,115 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.dto.IngestionJobDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Runs ingestion batches in the background and keeps their progress for polling.
+ */
+@Service
+public class IngestionJobService {
+
+    @Value("${ingestion.jobs.max-concurrent:4}")
+    private int maxConcurrentJobs;
+
+    @Value("${ingestion.jobs.retention-minutes:60}")
+    private long retentionMinutes;
+
+    private final Map<String, IngestionJob> jobs = new ConcurrentHashMap<>();
+
+    private ExecutorService jobExecutor;
+
+    @FunctionalInterface
+    public interface JobDriver {
+        void run(IngestionJob job) throws Exception;
+    }
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger counter = new AtomicInteger();
+        jobExecutor = Executors.newFixedThreadPool(Math.max(1, maxConcurrentJobs), runnable -> {
+            Thread thread = new Thread(runnable, "ingestion-job-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        jobExecutor.shutdownNow();
+    }
+
+    /**
+     * Register a job and run its driver on the job executor.
+     * The driver discovers files, feeds them to the pipeline and returns once all of them finished.
+     */
+    public IngestionJob startJob(String type, JobDriver driver) {
+        evictExpiredJobs();
+
+        IngestionJob job = new IngestionJob(type);
+        jobs.put(job.getId(), job);
+
+        jobExecutor.submit(() -> {
+            job.markStarted();
+            try {
+                driver.run(job);
+                if (job.isCancelRequested()) {
+                    job.markCancelled();
+                    System.out.println("DEBUG: Ingestion job " + job.getId() + " cancelled");
+                } else {
+                    job.markCompleted();
+                    System.out.println("DEBUG: Ingestion job " + job.getId() + " completed");
+                }
+            } catch (Exception e) {
+                System.err.println("Ingestion job " + job.getId() + " failed: " + e.getMessage());
+                job.markFailed(e.getMessage());
+            }
+        });
+        return job;
+    }
+
+    public IngestionJobDTO getJob(String id) {
+        return findJob(id).toDTO(true);
+    }
+
+    public IngestionJob findJob(String id) {
+        IngestionJob job = jobs.get(id);
+        if (job == null) {
+            throw new RuntimeException("Job not found: " + id);
+        }
+        return job;
+    }
+
+    public IngestionJobDTO cancelJob(String id) {
+        IngestionJob job = findJob(id);
+        job.requestCancel();
+        return job.toDTO(false);
+    }
+
+    public List<IngestionJobDTO> getAllJobs() {
+        evictExpiredJobs();
+        return jobs.values().stream()
+                .map(job -> job.toDTO(false))
+                .sorted(Comparator.comparing(IngestionJobDTO::getCreatedAt).reversed())
+                .collect(Collectors.toList());
+    }
+
+    private void evictExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt() != null
+                && job.getFinishedAt().isBefore(cutoff));
+    }
+}
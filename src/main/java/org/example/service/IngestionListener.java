@@ -0,0 +1,32 @@
+package org.example.service;
+
+import org.example.model.Resume;
+
+/**
+ * Callbacks fired by {@link ResumeIngestionPipeline} as a single file moves through its stages.
+ */
+public interface IngestionListener {
+
+    IngestionListener NONE = new IngestionListener() {
+    };
+
+    enum Stage {
+        PARSING, ANALYZING, SAVING
+    }
+
+    default void onStage(Stage stage) {
+    }
+
+    default void onSaved(Resume resume) {
+    }
+
+    /**
+     * The file's content was already analyzed; {@code existing} is the stored resume it matched.
+     */
+    default void onDuplicate(Resume existing) {
+        onSaved(existing);
+    }
+
+    default void onFailed(Throwable error) {
+    }
+}
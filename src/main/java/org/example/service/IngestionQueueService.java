@@ -0,0 +1,93 @@
+package org.example.service;
+
+import org.example.model.IngestionQueueItem;
+import org.example.repository.IngestionQueueRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Durable record of files that entered the pipeline but have not been saved yet.
+ * Items are written before parsing and deleted once their resume is committed, so after a restart
+ * the pending rows are exactly the unfinished work. Only items whose content can be reopened
+ * (a spooled file, an archive entry or a Drive file) are recorded.
+ */
+@Service
+public class IngestionQueueService {
+
+    public static final String PENDING = "PENDING";
+    public static final String FAILED = "FAILED";
+
+    @Autowired
+    private IngestionQueueRepository queueRepository;
+
+    @Value("${ingestion.queue.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ingestion.queue.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${ingestion.queue.failed-retention-days:7}")
+    private long failedRetentionDays;
+
+    /**
+     * @return id of the queue row, or null when the item cannot be recovered after a restart
+     */
+    public Long enqueue(IngestionItem item, String contentHash, String aiProvider) {
+        if (!enabled || (item.getSpoolPath() == null && item.getDriveFileId() == null)) {
+            return null;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        IngestionQueueItem row = new IngestionQueueItem(null, item.getFileName(), item.getContentType(),
+                item.getSource(), item.getDriveFileId(), item.getDriveModifiedTime(), item.getSpoolPath(), item.getArchiveEntry(), contentHash,
+                aiProvider, PENDING, 0, null, now, now);
+        return queueRepository.save(row).getId();
+    }
+
+    public void acknowledge(Long id) {
+        try {
+            queueRepository.deleteById(id);
+        } catch (Exception e) {
+            // A stale row is replayed after a restart and then found by its content hash
+            System.err.println("WARNING: Could not acknowledge queue item " + id + ": " + e.getMessage());
+        }
+    }
+
+    public void fail(Long id, String error) {
+        queueRepository.findById(id).ifPresent(row -> {
+            row.setStatus(FAILED);
+            row.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+            row.setUpdatedAt(LocalDateTime.now());
+            queueRepository.save(row);
+        });
+    }
+
+    /**
+     * Pending items to replay after a restart. Each call counts as an attempt; items that already
+     * failed to finish {@code max-attempts} times (e.g. a file that crashes the parser) are marked failed instead.
+     */
+    public List<IngestionQueueItem> claimPendingForReplay() {
+        queueRepository.deleteByStatusAndUpdatedAtBefore(FAILED, LocalDateTime.now().minusDays(failedRetentionDays));
+
+        List<IngestionQueueItem> pending = queueRepository.findByStatusOrderByIdAsc(PENDING);
+        LocalDateTime now = LocalDateTime.now();
+        pending.forEach(row -> {
+            row.setAttempts(row.getAttempts() + 1);
+            row.setUpdatedAt(now);
+            if (row.getAttempts() > maxAttempts) {
+                row.setStatus(FAILED);
+                row.setLastError("Gave up after " + maxAttempts + " interrupted attempts");
+            }
+        });
+        queueRepository.saveAll(pending);
+        return pending.stream().filter(row -> PENDING.equals(row.getStatus())).collect(Collectors.toList());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
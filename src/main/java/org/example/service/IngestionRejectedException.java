@@ -0,0 +1,19 @@
+package org.example.service;
+
+/**
+ * Thrown when the ingestion governor cannot admit more work right now.
+ * Controllers answer it with 429 Too Many Requests and a Retry-After header.
+ */
+public class IngestionRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public IngestionRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.service;
+
+/**
+ * Published when the active job requirement changes: a new one is created, another one is activated,
+ * or the active one is edited. Stored match scores are stale from this point on.
+ */
+public class JobRequirementChangedEvent {
+
+    private final Long jobRequirementId;
+
+    public JobRequirementChangedEvent(Long jobRequirementId) {
+        this.jobRequirementId = jobRequirementId;
+    }
+
+    public Long getJobRequirementId() {
+        return jobRequirementId;
+    }
+}
@@ -4,6 +4,7 @@ import org.example.dto.JobRequirementDTO;
 import org.example.model.JobRequirement;
 import org.example.repository.JobRequirementRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -16,6 +17,9 @@ public class JobRequirementService {
     @Autowired
     private JobRequirementRepository repository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public JobRequirementDTO createJobRequirement(JobRequirementDTO dto) {
         // Deactivate all existing job requirements
         List<JobRequirement> existingReqs = repository.findAll();
@@ -33,6 +37,7 @@ public class JobRequirementService {
         jobReq.setActive(true);
 
         jobReq = repository.save(jobReq);
+        eventPublisher.publishEvent(new JobRequirementChangedEvent(jobReq.getId()));
         return convertToDTO(jobReq);
     }
 
@@ -57,6 +62,7 @@ public class JobRequirementService {
     public JobRequirementDTO updateJobRequirement(Long id, JobRequirementDTO dto) {
         JobRequirement jobReq = repository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Job requirement not found"));
+        String previousText = buildRequirementText(jobReq);
 
         jobReq.setJobTitle(dto.getJobTitle());
         jobReq.setDescription(dto.getDescription());
@@ -65,10 +71,17 @@ public class JobRequirementService {
         jobReq.setExperienceLevel(dto.getExperienceLevel());
 
         jobReq = repository.save(jobReq);
+        if (jobReq.isActive() && !previousText.equals(buildRequirementText(jobReq))) {
+            eventPublisher.publishEvent(new JobRequirementChangedEvent(jobReq.getId()));
+        }
         return convertToDTO(jobReq);
     }
 
     public void setActiveJobRequirement(Long id) {
+        boolean alreadyActive = repository.findFirstByActiveTrue()
+                .map(active -> active.getId().equals(id))
+                .orElse(false);
+
         // Deactivate all
         List<JobRequirement> allReqs = repository.findAll();
         allReqs.forEach(req -> req.setActive(false));
@@ -79,12 +92,44 @@ public class JobRequirementService {
                 .orElseThrow(() -> new RuntimeException("Job requirement not found"));
         jobReq.setActive(true);
         repository.save(jobReq);
+        if (!alreadyActive) {
+            eventPublisher.publishEvent(new JobRequirementChangedEvent(jobReq.getId()));
+        }
     }
 
     public void deleteJobRequirement(Long id) {
         repository.deleteById(id);
     }
 
+    /**
+     * The requirement as it is sent to the AI providers.
+     */
+    public String buildRequirementText(JobRequirement jobReq) {
+        return String.format("""
+                Job Title: %s
+                
+                Description: %s
+                
+                Required Skills: %s
+                
+                Preferred Skills: %s
+                
+                Experience Level: %s
+                """,
+                jobReq.getJobTitle(),
+                jobReq.getDescription(),
+                jobReq.getRequiredSkills(),
+                jobReq.getPreferredSkills(),
+                jobReq.getExperienceLevel());
+    }
+
+    /**
+     * Identifies the requirement text a match score was computed against.
+     */
+    public static String fingerprint(String requirementText) {
+        return ContentHasher.sha256Hex(requirementText);
+    }
+
     private JobRequirementDTO convertToDTO(JobRequirement jobReq) {
         JobRequirementDTO dto = new JobRequirementDTO();
         dto.setId(jobReq.getId());
@@ -0,0 +1,59 @@
+package org.example.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Fails with an IOException once more than {@code limit} bytes have been read,
+ * so a lying archive header cannot inflate an entry past what was checked up front.
+ */
+class LimitedInputStream extends FilterInputStream {
+
+    private final long limit;
+    private final String name;
+    private long count;
+
+    LimitedInputStream(InputStream in, long limit, String name) {
+        super(in);
+        this.limit = limit;
+        this.name = name;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            count(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int n = super.read(buffer, offset, length);
+        if (n > 0) {
+            count(n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        count(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void count(long n) throws IOException {
+        count += n;
+        if (count > limit) {
+            throw new IOException(name + " expands beyond the allowed " + limit + " bytes");
+        }
+    }
+}
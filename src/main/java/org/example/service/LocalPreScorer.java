@@ -0,0 +1,376 @@
+package org.example.service;
+
+import org.example.model.JobRequirement;
+import org.example.model.ResumeSection;
+import org.example.model.Resume;
+import org.example.model.SectionType;
+import org.example.repository.ResumeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fast in-process scoring that decides whether a resume is worth a full AI analysis.
+ * The score (0-100) combines required and preferred skill coverage, an experience-level heuristic
+ * and TF-IDF cosine similarity between the resume and the requirement text. Document frequencies come from
+ * the stored resumes, loaded once at startup, plus each newly ingested resume. Every document counts once,
+ * keyed by its content hash, so common resume vocabulary weighs less as the corpus grows. The weights do not
+ * depend on upload order, restarts or how often resumes are re-scored.
+ */
+@Component
+public class LocalPreScorer {
+
+    private static final Pattern TOKEN = Pattern.compile("[a-z0-9][a-z0-9+#.]*");
+    private static final Pattern SKILL_SEPARATOR = Pattern.compile("[,;\\n\\u2022]+|\\s+and\\s+");
+    private static final Pattern STATED_YEARS = Pattern.compile("(\\d{1,2})\\s*\\+?\\s*(?:years?|yrs?)\\b"
+            + "|\\b(?:years?|yrs?)\\s+of\\s+experience\\s*:?\\s*(\\d{1,2})\\b");
+    private static final Pattern YEAR_RANGE = Pattern.compile(
+            "\\b((?:19|20)\\d{2})\\s*(?:-|\\u2013|\\u2014|to)\\s*((?:19|20)\\d{2}|present|current|now)\\b");
+    private static final Pattern REQUIRED_NUMBER = Pattern.compile("(\\d{1,2})");
+    // Whole words only: "lead" must not match "leadership", nor "intern" "international"
+    private static final Pattern LEAD_LEVEL = Pattern.compile("\\b(?:principal|staff|lead)\\b");
+    private static final Pattern SENIOR_LEVEL = Pattern.compile("\\b(?:senior|sr)\\b");
+    private static final Pattern MID_LEVEL = Pattern.compile("\\b(?:mid|intermediate)\\b");
+    private static final Pattern JUNIOR_LEVEL = Pattern.compile("\\b(?:junior|jr|entry|intern|internship|graduate)\\b");
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it", "of", "on", "or",
+            "our", "that", "the", "this", "to", "we", "will", "with", "you", "your", "have", "has", "who", "can"));
+
+    private static final double REQUIRED_WEIGHT = 0.55;
+    private static final double PREFERRED_WEIGHT = 0.15;
+    private static final double SIMILARITY_WEIGHT = 0.20;
+    private static final double EXPERIENCE_WEIGHT = 0.10;
+    // Cosine similarity between a resume and a job description rarely exceeds 0.5
+    private static final double SIMILARITY_SCALE = 2.0;
+    private static final int MAX_VOCABULARY = 200_000;
+    private static final int CORPUS_PAGE_SIZE = 200;
+    private static final Set<SectionType> EXPERIENCE_SECTIONS = Set.of(SectionType.SUMMARY, SectionType.EXPERIENCE);
+
+    @Autowired
+    private ResumeRepository resumeRepository;
+
+    @Value("${prescore.enabled:true}")
+    private boolean enabled;
+
+    @Value("${prescore.threshold:15}")
+    private double threshold;
+
+    @Value("${prescore.top-k:0}")
+    private int topK;
+
+    private final Map<String, AtomicInteger> documentFrequencies = new ConcurrentHashMap<>();
+    private final AtomicLong documentCount = new AtomicLong();
+    // Content hashes of every document counted in documentFrequencies
+    private final Set<String> learnedDocuments = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The parts of a requirement the scorer compares against, prepared once per job.
+     */
+    public record Profile(List<String> requiredSkills, List<String> preferredSkills, double requiredYears,
+                          Map<String, Integer> requirementTerms) {
+    }
+
+    public record Score(double value, List<String> matchedSkills, int requiredSkillCount, int requiredMatched) {
+
+        public String describe() {
+            return String.format(Locale.ROOT, "Pre-screened locally with a score of %.1f: %d of %d required skills found%s.",
+                    value, requiredMatched, requiredSkillCount,
+                    matchedSkills.isEmpty() ? "" : " (" + String.join(", ", matchedSkills) + ")");
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Resumes scoring below this are stored with their local score instead of being sent to the AI provider.
+     */
+    public double getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Upper bound on how many resumes one re-scoring run sends to the AI provider, best local scores first;
+     * 0 means no limit.
+     */
+    public int getTopK() {
+        return topK;
+    }
+
+    public boolean passes(Score score) {
+        return !enabled || score.value() >= threshold;
+    }
+
+    public Profile profile(JobRequirement jobReq) {
+        String requirementText = String.join(" ", nullToEmpty(jobReq.getJobTitle()), nullToEmpty(jobReq.getDescription()),
+                nullToEmpty(jobReq.getRequiredSkills()), nullToEmpty(jobReq.getPreferredSkills()));
+        return new Profile(splitSkills(jobReq.getRequiredSkills()), splitSkills(jobReq.getPreferredSkills()),
+                requiredYears(jobReq.getExperienceLevel()), termCounts(tokenize(requirementText)));
+    }
+
+    /**
+     * Load document frequencies from the stored resumes in the background; scores computed meanwhile use
+     * what has been loaded so far.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadCorpus() {
+        if (!enabled) {
+            return;
+        }
+        Thread loader = new Thread(this::learnStoredResumes, "prescore-corpus");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    public Score score(String resumeText, Profile profile) {
+        return score(resumeText, SectionSegmenter.segment(resumeText), profile, null);
+    }
+
+    /**
+     * @param sections    the resume's sections; experience is measured from the experience section when there is
+     *                    one, so education dates do not count as years of work
+     * @param contentHash hash of a newly ingested resume, counted towards document frequencies unless a document
+     *                    with this hash was counted before; null to score without learning, as re-scoring does
+     */
+    public Score score(String resumeText, List<ResumeSection> sections, Profile profile, String contentHash) {
+        List<String> tokens = tokenize(resumeText);
+        String joined = " " + String.join(" ", tokens) + " ";
+        Map<String, Integer> resumeTerms = termCounts(tokens);
+        if (contentHash != null) {
+            learn(contentHash, resumeTerms.keySet());
+        }
+
+        List<String> matched = new ArrayList<>();
+        int requiredMatched = countMatches(joined, profile.requiredSkills(), matched);
+        int preferredMatched = countMatches(joined, profile.preferredSkills(), matched);
+
+        double weighted = 0;
+        double weights = 0;
+        if (!profile.requiredSkills().isEmpty()) {
+            weighted += REQUIRED_WEIGHT * requiredMatched / profile.requiredSkills().size();
+            weights += REQUIRED_WEIGHT;
+        }
+        if (!profile.preferredSkills().isEmpty()) {
+            weighted += PREFERRED_WEIGHT * preferredMatched / profile.preferredSkills().size();
+            weights += PREFERRED_WEIGHT;
+        }
+        weighted += SIMILARITY_WEIGHT * Math.min(1.0, SIMILARITY_SCALE * cosine(resumeTerms, profile.requirementTerms()));
+        weights += SIMILARITY_WEIGHT;
+        if (profile.requiredYears() >= 0) {
+            String experienceText = SectionSegmenter.hasSection(sections, SectionType.EXPERIENCE)
+                    ? SectionSegmenter.text(resumeText, sections, EXPERIENCE_SECTIONS) : resumeText;
+            weighted += EXPERIENCE_WEIGHT * experienceFit(experienceText, profile.requiredYears());
+            weights += EXPERIENCE_WEIGHT;
+        }
+
+        double value = Math.round(1000.0 * weighted / weights) / 10.0;
+        return new Score(value, matched, profile.requiredSkills().size(), requiredMatched);
+    }
+
+    private int countMatches(String joinedTokens, List<String> skills, List<String> matched) {
+        int count = 0;
+        for (String skill : skills) {
+            if (joinedTokens.contains(" " + skill + " ")) {
+                matched.add(skill);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private double cosine(Map<String, Integer> resumeTerms, Map<String, Integer> requirementTerms) {
+        double dot = 0;
+        double resumeNorm = 0;
+        double requirementNorm = 0;
+        for (Map.Entry<String, Integer> term : resumeTerms.entrySet()) {
+            double weight = tfidf(term.getKey(), term.getValue());
+            resumeNorm += weight * weight;
+            Integer requirementCount = requirementTerms.get(term.getKey());
+            if (requirementCount != null) {
+                dot += weight * tfidf(term.getKey(), requirementCount);
+            }
+        }
+        for (Map.Entry<String, Integer> term : requirementTerms.entrySet()) {
+            double weight = tfidf(term.getKey(), term.getValue());
+            requirementNorm += weight * weight;
+        }
+        if (resumeNorm == 0 || requirementNorm == 0) {
+            return 0;
+        }
+        return dot / (Math.sqrt(resumeNorm) * Math.sqrt(requirementNorm));
+    }
+
+    private double tfidf(String term, int count) {
+        AtomicInteger df = documentFrequencies.get(term);
+        double idf = Math.log((documentCount.get() + 1.0) / ((df != null ? df.get() : 0) + 1.0)) + 1.0;
+        return (1.0 + Math.log(count)) * idf;
+    }
+
+    private void learnStoredResumes() {
+        try {
+            long afterId = 0;
+            while (true) {
+                List<Resume> page = resumeRepository.findByIdGreaterThanOrderById(afterId, PageRequest.of(0, CORPUS_PAGE_SIZE));
+                if (page.isEmpty()) {
+                    break;
+                }
+                for (Resume resume : page) {
+                    // Resumes stored before content hashing are keyed by id
+                    String key = resume.getContentHash() != null ? resume.getContentHash() : "resume-" + resume.getId();
+                    learn(key, termCounts(tokenize(resume.getExtractedText())).keySet());
+                }
+                afterId = page.get(page.size() - 1).getId();
+            }
+            System.out.println("DEBUG: Pre-scorer document frequencies cover " + documentCount.get() + " resume(s)");
+        } catch (Exception e) {
+            System.err.println("WARNING: Could not load pre-scorer document frequencies: " + e.getMessage());
+        }
+    }
+
+    private void learn(String documentKey, Set<String> terms) {
+        if (!learnedDocuments.add(documentKey)) {
+            return;
+        }
+        documentCount.incrementAndGet();
+        for (String term : terms) {
+            AtomicInteger df = documentFrequencies.get(term);
+            if (df == null) {
+                if (documentFrequencies.size() >= MAX_VOCABULARY) {
+                    continue;
+                }
+                df = documentFrequencies.computeIfAbsent(term, key -> new AtomicInteger());
+            }
+            df.incrementAndGet();
+        }
+    }
+
+    /**
+     * 1 when the resume shows at least the required years, scaled down below that; 0.5 when it shows none.
+     */
+    private double experienceFit(String resumeText, double requiredYears) {
+        if (requiredYears == 0) {
+            return 1.0;
+        }
+        double years = resumeYears(resumeText == null ? "" : resumeText.toLowerCase(Locale.ROOT));
+        if (years <= 0) {
+            return 0.5;
+        }
+        return Math.min(1.0, years / requiredYears);
+    }
+
+    private double resumeYears(String text) {
+        int stated = 0;
+        Matcher matcher = STATED_YEARS.matcher(text);
+        while (matcher.find()) {
+            String years = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+            stated = Math.max(stated, Math.min(45, Integer.parseInt(years)));
+        }
+
+        int currentYear = Year.now().getValue();
+        int earliest = Integer.MAX_VALUE;
+        int latest = 0;
+        matcher = YEAR_RANGE.matcher(text);
+        while (matcher.find()) {
+            int from = Integer.parseInt(matcher.group(1));
+            int to = Character.isDigit(matcher.group(2).charAt(0)) ? Integer.parseInt(matcher.group(2)) : currentYear;
+            if (from <= to && to <= currentYear) {
+                earliest = Math.min(earliest, from);
+                latest = Math.max(latest, to);
+            }
+        }
+        int span = latest > 0 ? latest - earliest : 0;
+        return Math.max(stated, span);
+    }
+
+    /**
+     * Years asked for by an experience level such as "5+ years", "Senior" or "Entry level"; -1 when unknown.
+     */
+    private double requiredYears(String experienceLevel) {
+        if (experienceLevel == null || experienceLevel.isBlank()) {
+            return -1;
+        }
+        String level = experienceLevel.toLowerCase(Locale.ROOT);
+        Matcher matcher = REQUIRED_NUMBER.matcher(level);
+        if (matcher.find()) {
+            return Integer.parseInt(matcher.group(1));
+        }
+        if (LEAD_LEVEL.matcher(level).find()) {
+            return 8;
+        }
+        if (SENIOR_LEVEL.matcher(level).find()) {
+            return 5;
+        }
+        if (MID_LEVEL.matcher(level).find()) {
+            return 3;
+        }
+        if (JUNIOR_LEVEL.matcher(level).find()) {
+            return 0;
+        }
+        return -1;
+    }
+
+    private List<String> splitSkills(String skills) {
+        if (skills == null || skills.isBlank()) {
+            return List.of();
+        }
+        Set<String> result = new LinkedHashSet<>();
+        for (String skill : SKILL_SEPARATOR.split(skills.toLowerCase(Locale.ROOT))) {
+            String normalized = String.join(" ", tokenize(skill));
+            if (!normalized.isEmpty()) {
+                result.add(normalized);
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        Matcher matcher = TOKEN.matcher(text.toLowerCase(Locale.ROOT));
+        while (matcher.find()) {
+            String token = matcher.group();
+            // Keep "c++", "c#" and "node.js", but not a sentence-ending period
+            while (token.endsWith(".")) {
+                token = token.substring(0, token.length() - 1);
+            }
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static Map<String, Integer> termCounts(List<String> tokens) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (String token : tokens) {
+            counts.merge(token, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
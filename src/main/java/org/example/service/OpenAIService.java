@@ -8,7 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -18,22 +18,22 @@ public class OpenAIService implements AIService {
     @Autowired
     private AISettingsService aiSettingsService;
 
-    private final OkHttpClient client;
+    @Autowired
+    private AIHttpClient httpClient;
+
+    @Autowired
+    private ResumeFieldExtractor fieldExtractor;
+
     private final ObjectMapper objectMapper;
 
     public OpenAIService() {
-        this.client = new OkHttpClient.Builder()
-                .connectTimeout(60, TimeUnit.SECONDS)
-                .readTimeout(60, TimeUnit.SECONDS)
-                .writeTimeout(60, TimeUnit.SECONDS)
-                .build();
         this.objectMapper = new ObjectMapper();
     }
 
     public AIAnalysisResponse analyzeResume(String resumeText, String jobRequirements) {
         String prompt = buildAnalysisPrompt(resumeText, jobRequirements);
         String response = callOpenAIAPI(prompt);
-        return parseOpenAIResponse(response);
+        return fieldExtractor.fill(parseOpenAIResponse(response), resumeText);
     }
 
     private String buildAnalysisPrompt(String resumeText, String jobRequirements) {
@@ -48,12 +48,7 @@ public class OpenAIService implements AIService {
                 
                 Please provide your analysis in the following JSON format:
                 {
-                  "candidateName": "extracted candidate name",
-                  "email": "extracted email address",
-                  "phone": "extracted phone number",
                   "matchScore": numerical score from 0 to 100,
-                  "extractedSkills": "comma-separated list of skills found in resume",
-                  "extractedExperience": "brief summary of experience",
                   "analysis": "detailed analysis of strengths, weaknesses, and overall fit"
                 }
                 
@@ -76,102 +71,119 @@ public class OpenAIService implements AIService {
 
     private String callOpenAIAPI(String prompt) {
         try {
-            // Get current settings dynamically
-            String apiKey = aiSettingsService.getOpenAiApiKey();
-            String model = aiSettingsService.getOpenAiModel();
-            String apiUrl = "https://api.openai.com/v1/chat/completions";
-
-            System.out.println("DEBUG: Calling OpenAI API at: " + apiUrl);
-            System.out.println("DEBUG: Using model: " + model);
-            System.out.println("DEBUG: API key loaded: " + (apiKey != null && !apiKey.isEmpty() ?
-                (apiKey.startsWith("sk-") ? "Yes (starts with sk-)" : "Yes (but format may be incorrect)") : "No (empty or null)"));
-            System.out.println("DEBUG: API key length: " + (apiKey != null ? apiKey.length() : 0));
-
-            // Validate API key
-            if (apiKey == null || apiKey.isEmpty() || apiKey.equals("your_openai_api_key_here")) {
-                throw new RuntimeException("OpenAI API key is not configured. Please:\n" +
-                        "1. Get your API key from https://platform.openai.com/api-keys\n" +
-                        "2. Update it in Admin Settings or set OPENAI_API_KEY environment variable\n" +
-                        "3. Ensure the key starts with 'sk-'");
-            }
+            return httpClient.execute("openai", buildRequest(prompt), this::readContent);
+        } catch (IOException e) {
+            System.err.println("ERROR: OpenAI API call failed: " + e.getMessage());
+            throw new RuntimeException("OpenAI API call failed: " + e.getMessage(), e);
+        }
+    }
 
-            // Build the JSON request body
-            String requestBody = String.format("""
+    @Override
+    public CompletableFuture<AIAnalysisResponse> analyzeResumeAsync(String resumeText, String jobRequirements) {
+        try {
+            Request request = buildRequest(buildAnalysisPrompt(resumeText, jobRequirements));
+            // Parsed in the response handler, so the future returned is the one that cancels the call
+            return httpClient.enqueue("openai", request, response -> fieldExtractor.fill(parseOpenAIResponse(readContent(response)), resumeText));
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private Request buildRequest(String prompt) throws IOException {
+        // Get current settings dynamically
+        String apiKey = aiSettingsService.getOpenAiApiKey();
+        String model = aiSettingsService.getOpenAiModel();
+        String apiUrl = "https://api.openai.com/v1/chat/completions";
+
+        System.out.println("DEBUG: Calling OpenAI API at: " + apiUrl);
+        System.out.println("DEBUG: Using model: " + model);
+        System.out.println("DEBUG: API key loaded: " + (apiKey != null && !apiKey.isEmpty() ?
+            (apiKey.startsWith("sk-") ? "Yes (starts with sk-)" : "Yes (but format may be incorrect)") : "No (empty or null)"));
+        System.out.println("DEBUG: API key length: " + (apiKey != null ? apiKey.length() : 0));
+
+        // Validate API key
+        if (apiKey == null || apiKey.isEmpty() || apiKey.equals("your_openai_api_key_here")) {
+            throw new RuntimeException("OpenAI API key is not configured. Please:\n" +
+                    "1. Get your API key from https://platform.openai.com/api-keys\n" +
+                    "2. Update it in Admin Settings or set OPENAI_API_KEY environment variable\n" +
+                    "3. Ensure the key starts with 'sk-'");
+        }
+
+        // Build the JSON request body
+        String requestBody = String.format("""
+            {
+              "model": "%s",
+              "messages": [
                 {
-                  "model": "%s",
-                  "messages": [
-                    {
-                      "role": "system",
-                      "content": "You are an expert HR analyst specializing in resume evaluation and candidate matching."
-                    },
-                    {
-                      "role": "user",
-                      "content": %s
-                    }
-                  ],
-                  "temperature": 0.7,
-                  "max_tokens": 2000
-                }
-                """, model, objectMapper.writeValueAsString(prompt));
-
-            RequestBody body = RequestBody.create(
-                    requestBody,
-                    MediaType.parse("application/json")
-            );
-
-
-            Request request = new Request.Builder()
-                    .url(apiUrl)
-                    .post(body)
-                    .addHeader("Content-Type", "application/json")
-                    .addHeader("Authorization", "Bearer " + apiKey)
-                    .build();
-
-            try (Response response = client.newCall(request).execute()) {
-                if (!response.isSuccessful()) {
-                    String errorBody = response.body() != null ? response.body().string() : "No error details";
-                    System.err.println("ERROR: OpenAI API failed with status " + response.code());
-                    System.err.println("ERROR: Response message: " + response.message());
-                    System.err.println("ERROR: Response body: " + errorBody);
-
-                    if (response.code() == 401) {
-                        throw new RuntimeException("OpenAI API authentication failed (401). Please verify:\n" +
-                                "1. API key is valid and active\n" +
-                                "2. API key is properly formatted\n" +
-                                "Error details: " + errorBody);
-                    }
-
-                    if (response.code() == 429) {
-                        throw new RuntimeException("OpenAI API rate limit exceeded (429). Please:\n" +
-                                "1. Check your API usage quota\n" +
-                                "2. Wait before retrying\n" +
-                                "Error details: " + errorBody);
-                    }
-
-                    throw new RuntimeException("OpenAI API call failed: " + response.code() + " - " +
-                            response.message() + "\nDetails: " + errorBody);
+                  "role": "system",
+                  "content": "You are an expert HR analyst specializing in resume evaluation and candidate matching."
+                },
+                {
+                  "role": "user",
+                  "content": %s
                 }
+              ],
+              "temperature": 0.7,
+              "max_tokens": 2000
+            }
+            """, model, objectMapper.writeValueAsString(prompt));
 
-                String responseBody = response.body().string();
-                System.out.println("DEBUG: OpenAI Response received");
+        RequestBody body = RequestBody.create(
+                requestBody,
+                MediaType.parse("application/json")
+        );
 
-                // Parse the response to extract the content
-                JsonNode jsonResponse = objectMapper.readTree(responseBody);
-                JsonNode choices = jsonResponse.get("choices");
 
-                if (choices != null && choices.size() > 0) {
-                    JsonNode message = choices.get(0).get("message");
-                    if (message != null && message.has("content")) {
-                        return message.get("content").asText();
-                    }
-                }
+        Request request = new Request.Builder()
+                .url(apiUrl)
+                .post(body)
+                .addHeader("Content-Type", "application/json")
+                .addHeader("Authorization", "Bearer " + apiKey)
+                .build();
 
-                throw new RuntimeException("Invalid response structure from OpenAI API");
+        return request;
+    }
+
+    private String readContent(Response response) throws IOException {
+        if (!response.isSuccessful()) {
+            String errorBody = response.body() != null ? response.body().string() : "No error details";
+            System.err.println("ERROR: OpenAI API failed with status " + response.code());
+            System.err.println("ERROR: Response message: " + response.message());
+            System.err.println("ERROR: Response body: " + errorBody);
+
+            if (response.code() == 401) {
+                throw new RuntimeException("OpenAI API authentication failed (401). Please verify:\n" +
+                        "1. API key is valid and active\n" +
+                        "2. API key is properly formatted\n" +
+                        "Error details: " + errorBody);
             }
-        } catch (IOException e) {
-            System.err.println("ERROR: OpenAI API call failed: " + e.getMessage());
-            throw new RuntimeException("OpenAI API call failed: " + e.getMessage(), e);
+
+            if (response.code() == 429) {
+                throw new RuntimeException("OpenAI API rate limit exceeded (429). Please:\n" +
+                        "1. Check your API usage quota\n" +
+                        "2. Wait before retrying\n" +
+                        "Error details: " + errorBody);
+            }
+
+            throw new RuntimeException("OpenAI API call failed: " + response.code() + " - " +
+                    response.message() + "\nDetails: " + errorBody);
         }
+
+        String responseBody = response.body().string();
+        System.out.println("DEBUG: OpenAI Response received");
+
+        // Parse the response to extract the content
+        JsonNode jsonResponse = objectMapper.readTree(responseBody);
+        JsonNode choices = jsonResponse.get("choices");
+
+        if (choices != null && choices.size() > 0) {
+            JsonNode message = choices.get(0).get("message");
+            if (message != null && message.has("content")) {
+                return message.get("content").asText();
+            }
+        }
+
+        throw new RuntimeException("Invalid response structure from OpenAI API");
     }
 
     private AIAnalysisResponse parseOpenAIResponse(String apiResponse) {
@@ -197,7 +209,9 @@ public class OpenAIService implements AIService {
         }
 
         // Return default response if parsing fails
-        return new AIAnalysisResponse(50.0, apiResponse, "", "", "", "", "");
+        AIAnalysisResponse fallback = new AIAnalysisResponse(50.0, apiResponse, "", "", "", "", "");
+        fallback.setParsed(false);
+        return fallback;
     }
 
     private String extractJsonFromResponse(String text) {
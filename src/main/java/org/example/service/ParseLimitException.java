@@ -0,0 +1,18 @@
+package org.example.service;
+
+/**
+ * Thrown when parsing a document broke one of the parser limits; the file is quarantined.
+ */
+public class ParseLimitException extends RuntimeException {
+
+    private final QuarantineReason reason;
+
+    public ParseLimitException(QuarantineReason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public QuarantineReason getReason() {
+        return reason;
+    }
+}
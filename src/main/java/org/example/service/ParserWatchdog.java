@@ -0,0 +1,334 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs document parsers on a bounded pool of worker threads and watches each one for wall-clock time,
+ * CPU time and bytes allocated. A parse that breaks a limit fails immediately with a {@link ParseLimitException}
+ * and its thread is interrupted. Parser libraries do not always notice interrupts, so a thread that is still
+ * busy after a grace period is abandoned and the pool grows by one to keep its capacity; it shrinks back once
+ * the abandoned thread finally returns.
+ * Parsers that fan work out to other threads run it through the {@link ParseContext} of their parse, so that
+ * work counts against the same limits and is cancelled with it.
+ */
+@Component
+public class ParserWatchdog {
+
+    @Value("${ingestion.parse.threads:0}")
+    private int parseThreads;
+
+    @Value("${ingestion.parse.watchdog.wall-clock-seconds:90}")
+    private long wallClockSeconds;
+
+    @Value("${ingestion.parse.watchdog.cpu-seconds:60}")
+    private long cpuSeconds;
+
+    @Value("${ingestion.parse.watchdog.max-allocated:2GB}")
+    private DataSize maxAllocated;
+
+    @Value("${ingestion.parse.watchdog.grace-seconds:10}")
+    private long graceSeconds;
+
+    @Value("${ingestion.parse.watchdog.check-interval-ms:250}")
+    private long checkIntervalMs;
+
+    private ThreadPoolExecutor workers;
+    private ScheduledExecutorService monitor;
+    private com.sun.management.ThreadMXBean threadMXBean;
+    private int poolSize;
+
+    private final Map<Thread, WatchedParse> running = new ConcurrentHashMap<>();
+    private final AtomicInteger abandoned = new AtomicInteger();
+
+    /**
+     * A parse as seen from code running inside it.
+     */
+    public interface ParseContext {
+
+        /**
+         * For code running outside the watchdog: never cancelled, helpers run unwatched.
+         */
+        ParseContext NONE = new ParseContext() {
+            @Override
+            public boolean isCancelled() {
+                return false;
+            }
+
+            @Override
+            public <T> T runAsHelper(Callable<T> task) throws Exception {
+                return task.call();
+            }
+        };
+
+        /**
+         * True once the parse broke a limit; helpers should stop at their next checkpoint.
+         */
+        boolean isCancelled();
+
+        /**
+         * Run part of the parse on the calling (pool) thread. Its CPU time and allocations count towards
+         * the parse's limits, and the thread is interrupted if the parse is stopped while it runs.
+         */
+        <T> T runAsHelper(Callable<T> task) throws Exception;
+    }
+
+    @PostConstruct
+    public void start() {
+        poolSize = parseThreads > 0 ? parseThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        workers = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "resume-parser-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        monitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "resume-parser-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        monitor.scheduleWithFixedDelay(this::check, checkIntervalMs, checkIntervalMs, TimeUnit.MILLISECONDS);
+
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean) {
+            threadMXBean = bean;
+            if (bean.isThreadCpuTimeSupported() && !bean.isThreadCpuTimeEnabled()) {
+                bean.setThreadCpuTimeEnabled(true);
+            }
+            if (bean.isThreadAllocatedMemorySupported() && !bean.isThreadAllocatedMemoryEnabled()) {
+                bean.setThreadAllocatedMemoryEnabled(true);
+            }
+        } else {
+            System.err.println("WARNING: Thread CPU and allocation metrics unavailable; parser limits are wall-clock only");
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        monitor.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Run {@code parser} under the watchdog's limits. The clock starts when a worker picks the task up.
+     * A breach completes the future from the watchdog thread, so dependent stages should run asynchronously.
+     */
+    public CompletableFuture<String> parse(String fileName, Callable<String> parser) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        workers.execute(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            Thread thread = Thread.currentThread();
+            WatchedParse watched = new WatchedParse(fileName, result, usage(thread));
+            running.put(thread, watched);
+            try {
+                result.complete(parser.call());
+            } catch (OutOfMemoryError e) {
+                result.completeExceptionally(new ParseLimitException(QuarantineReason.OUT_OF_MEMORY,
+                        "Ran out of memory parsing " + fileName));
+            } catch (StackOverflowError e) {
+                result.completeExceptionally(new ParseLimitException(QuarantineReason.STACK_OVERFLOW,
+                        "Stack overflow parsing " + fileName));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            } finally {
+                running.remove(thread);
+                // An interrupt meant for this parse must not leak into the next one
+                Thread.interrupted();
+                boolean wasAbandoned;
+                synchronized (watched) {
+                    watched.finished = true;
+                    wasAbandoned = watched.abandoned;
+                }
+                if (wasAbandoned) {
+                    abandoned.decrementAndGet();
+                    resizePool(-1);
+                }
+            }
+        });
+        return result;
+    }
+
+    public int getAbandonedThreads() {
+        return abandoned.get();
+    }
+
+    /**
+     * The parse running on the calling worker thread, or {@link ParseContext#NONE} outside the watchdog.
+     */
+    public ParseContext current() {
+        WatchedParse watched = running.get(Thread.currentThread());
+        return watched != null ? watched : ParseContext.NONE;
+    }
+
+    private void check() {
+        long now = System.nanoTime();
+        running.forEach((thread, watched) -> {
+            try {
+                if (watched.stoppedAt == 0) {
+                    ParseLimitException breach = findBreach(thread, watched, now);
+                    if (breach != null) {
+                        watched.stoppedAt = now;
+                        watched.result.completeExceptionally(breach);
+                        thread.interrupt();
+                        watched.interruptHelpers();
+                    }
+                } else if (!watched.abandoned && now - watched.stoppedAt > TimeUnit.SECONDS.toNanos(graceSeconds)) {
+                    // Still stuck; give up on the thread and restore pool capacity for the rest of the batch
+                    synchronized (watched) {
+                        if (watched.finished) {
+                            return;
+                        }
+                        watched.abandoned = true;
+                    }
+                    abandoned.incrementAndGet();
+                    resizePool(1);
+                    System.err.println("WARNING: Parser thread " + thread.getName() + " ignored cancellation of "
+                            + watched.fileName + "; abandoning it (" + abandoned.get() + " abandoned)");
+                }
+            } catch (Exception e) {
+                System.err.println("WARNING: Parser watchdog check failed: " + e.getMessage());
+            }
+        });
+    }
+
+    private ParseLimitException findBreach(Thread thread, WatchedParse watched, long now) {
+        long wallNanos = now - watched.startedAt;
+        if (wallNanos > TimeUnit.SECONDS.toNanos(wallClockSeconds)) {
+            return new ParseLimitException(QuarantineReason.WALL_CLOCK_TIMEOUT,
+                    "Parsing " + watched.fileName + " took longer than " + wallClockSeconds + " seconds");
+        }
+        Usage used = watched.used(thread);
+        if (used.cpu() >= 0 && used.cpu() > TimeUnit.SECONDS.toNanos(cpuSeconds)) {
+            return new ParseLimitException(QuarantineReason.CPU_TIME_LIMIT,
+                    "Parsing " + watched.fileName + " used more than " + cpuSeconds + " seconds of CPU time");
+        }
+        if (used.allocated() >= 0 && used.allocated() > maxAllocated.toBytes()) {
+            return new ParseLimitException(QuarantineReason.ALLOCATION_LIMIT,
+                    "Parsing " + watched.fileName + " allocated more than " + maxAllocated.toMegabytes() + " MB");
+        }
+        return null;
+    }
+
+    private synchronized void resizePool(int delta) {
+        poolSize += delta;
+        // Grow the maximum first and shrink it last so core never exceeds maximum
+        if (delta > 0) {
+            workers.setMaximumPoolSize(poolSize);
+            workers.setCorePoolSize(poolSize);
+        } else {
+            workers.setCorePoolSize(poolSize);
+            workers.setMaximumPoolSize(poolSize);
+        }
+    }
+
+    private Usage usage(Thread thread) {
+        return new Usage(cpuTime(thread), allocatedBytes(thread));
+    }
+
+    private long cpuTime(Thread thread) {
+        if (threadMXBean == null || !threadMXBean.isThreadCpuTimeEnabled()) {
+            return -1;
+        }
+        return threadMXBean.getThreadCpuTime(thread.getId());
+    }
+
+    private long allocatedBytes(Thread thread) {
+        if (threadMXBean == null || !threadMXBean.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        return threadMXBean.getThreadAllocatedBytes(thread.getId());
+    }
+
+    /**
+     * CPU nanoseconds and bytes allocated; -1 where the JVM does not measure them.
+     */
+    private record Usage(long cpu, long allocated) {
+
+        Usage since(Usage start) {
+            return new Usage(cpu >= 0 && start.cpu >= 0 ? cpu - start.cpu : -1,
+                    allocated >= 0 && start.allocated >= 0 ? allocated - start.allocated : -1);
+        }
+
+        Usage plus(Usage other) {
+            return new Usage(cpu >= 0 && other.cpu >= 0 ? cpu + other.cpu : -1,
+                    allocated >= 0 && other.allocated >= 0 ? allocated + other.allocated : -1);
+        }
+    }
+
+    private class WatchedParse implements ParseContext {
+        private final String fileName;
+        private final CompletableFuture<String> result;
+        private final long startedAt = System.nanoTime();
+        private final Usage start;
+        // Helper threads currently working for this parse, with their usage when they started
+        private final Map<Thread, Usage> helpers = new ConcurrentHashMap<>();
+        private Usage finishedHelpers = new Usage(0, 0);
+        private volatile long stoppedAt;
+        private volatile boolean abandoned;
+        private boolean finished;
+
+        WatchedParse(String fileName, CompletableFuture<String> result, Usage start) {
+            this.fileName = fileName;
+            this.result = result;
+            this.start = start;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return stoppedAt != 0;
+        }
+
+        @Override
+        public <T> T runAsHelper(Callable<T> task) throws Exception {
+            Thread thread = Thread.currentThread();
+            synchronized (this) {
+                if (isCancelled()) {
+                    throw new IOException("Parsing " + fileName + " was cancelled");
+                }
+                helpers.put(thread, usage(thread));
+            }
+            try {
+                return task.call();
+            } finally {
+                synchronized (this) {
+                    Usage helperStart = helpers.remove(thread);
+                    finishedHelpers = finishedHelpers.plus(usage(thread).since(helperStart));
+                    // A pool thread must not carry this parse's interrupt into its next task
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        /**
+         * Usage of the worker thread plus every helper, finished or still running.
+         */
+        synchronized Usage used(Thread worker) {
+            Usage total = usage(worker).since(start).plus(finishedHelpers);
+            for (Map.Entry<Thread, Usage> helper : helpers.entrySet()) {
+                total = total.plus(usage(helper.getKey()).since(helper.getValue()));
+            }
+            return total;
+        }
+
+        synchronized void interruptHelpers() {
+            helpers.keySet().forEach(Thread::interrupt);
+        }
+    }
+}
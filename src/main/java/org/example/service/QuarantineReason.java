@@ -0,0 +1,12 @@
+package org.example.service;
+
+/**
+ * Why a file was quarantined instead of parsed.
+ */
+public enum QuarantineReason {
+    WALL_CLOCK_TIMEOUT,
+    CPU_TIME_LIMIT,
+    ALLOCATION_LIMIT,
+    OUT_OF_MEMORY,
+    STACK_OVERFLOW
+}
@@ -0,0 +1,53 @@
+package org.example.service;
+
+import org.example.model.QuarantineRecord;
+import org.example.repository.QuarantineRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Files whose parsing broke a parser limit. Their content hash is recorded so later copies of the same
+ * file fail fast instead of tying up a parser again; releasing a record lets the file be retried.
+ */
+@Service
+public class QuarantineService {
+
+    @Autowired
+    private QuarantineRepository repository;
+
+    public void quarantine(IngestionItem item, String contentHash, ParseLimitException cause) {
+        try {
+            if (repository.findFirstByContentHash(contentHash).isPresent()) {
+                return;
+            }
+            String detail = cause.getMessage();
+            if (detail != null && detail.length() > 1000) {
+                detail = detail.substring(0, 1000);
+            }
+            repository.save(new QuarantineRecord(null, item.getFileName(), item.getContentType(), item.getSource(),
+                    item.getDriveFileId(), contentHash, cause.getReason().name(), detail, LocalDateTime.now()));
+            System.err.println("WARNING: Quarantined " + item.getFileName() + " (" + cause.getReason() + "): " + detail);
+        } catch (Exception e) {
+            System.err.println("WARNING: Could not quarantine " + item.getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    public Optional<QuarantineRecord> findByContentHash(String contentHash) {
+        return repository.findFirstByContentHash(contentHash);
+    }
+
+    public List<QuarantineRecord> getAll() {
+        return repository.findAllByOrderByQuarantinedAtDesc();
+    }
+
+    public void release(Long id) {
+        if (!repository.existsById(id)) {
+            throw new RuntimeException("Quarantine record not found");
+        }
+        repository.deleteById(id);
+    }
+}
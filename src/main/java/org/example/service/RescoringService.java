@@ -0,0 +1,256 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.dto.AIAnalysisResponse;
+import org.example.dto.IngestionJobDTO;
+import org.example.model.JobRequirement;
+import org.example.model.Resume;
+import org.example.model.ResumeSection;
+import org.example.repository.JobRequirementRepository;
+import org.example.repository.ResumeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Re-scores stored resumes against the active job requirement from their stored text, without re-parsing.
+ * Runs as a background job (progress and cancellation via /api/jobs) whenever the active requirement changes.
+ * Every re-scored resume records the requirement fingerprint it was scored against; that is the checkpoint,
+ * so resumes already matching the fingerprint are never sent to the model again, even after a restart.
+ * Resumes are pre-screened by the {@link LocalPreScorer}: only those above its threshold, and with
+ * {@code prescore.top-k} set only the best K by local score, are sent to the model.
+ */
+@Service
+public class RescoringService {
+
+    @Autowired
+    private ResumeRepository resumeRepository;
+
+    @Autowired
+    private JobRequirementRepository jobRequirementRepository;
+
+    @Autowired
+    private JobRequirementService jobRequirementService;
+
+    @Autowired
+    private AIProviderFactory aiProviderFactory;
+
+    @Autowired
+    private IngestionJobService jobService;
+
+    @Autowired
+    private LocalPreScorer preScorer;
+
+    @Value("${rescoring.auto:true}")
+    private boolean autoRescore;
+
+    @Value("${rescoring.ai-provider:}")
+    private String defaultProvider;
+
+    @Value("${rescoring.concurrency:4}")
+    private int concurrency;
+
+    @Value("${rescoring.page-size:100}")
+    private int pageSize;
+
+    private ExecutorService rescoreExecutor;
+    private volatile IngestionJob currentJob;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger counter = new AtomicInteger();
+        rescoreExecutor = Executors.newFixedThreadPool(Math.max(1, concurrency), runnable -> {
+            Thread thread = new Thread(runnable, "resume-rescore-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        rescoreExecutor.shutdownNow();
+    }
+
+    @EventListener
+    public void onJobRequirementChanged(JobRequirementChangedEvent event) {
+        if (!autoRescore) {
+            return;
+        }
+        try {
+            startRescoring(defaultProvider);
+        } catch (Exception e) {
+            System.err.println("WARNING: Could not start re-scoring for job requirement "
+                    + event.getJobRequirementId() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Start re-scoring against the active requirement. A re-scoring job that is still running is cancelled,
+     * since its requirement is no longer current, and the new job waits for its in-flight writes to finish
+     * first: otherwise a late write from the old job could replace a score the new job just stored.
+     */
+    public synchronized IngestionJobDTO startRescoring(String aiProvider) {
+        JobRequirement jobReq = jobRequirementRepository.findFirstByActiveTrue()
+                .orElseThrow(() -> new RuntimeException("No active job requirement found"));
+        String requirementText = jobRequirementService.buildRequirementText(jobReq);
+        String fingerprint = JobRequirementService.fingerprint(requirementText);
+        AIService aiService = aiProviderFactory.getCachingAIService(aiProvider);
+
+        IngestionJob previous = currentJob;
+        if (previous != null && !previous.isFinished()) {
+            previous.requestCancel();
+        }
+
+        long stale = resumeRepository.countByRequirementFingerprintIsNullOrRequirementFingerprintNot(fingerprint);
+        System.out.println("DEBUG: Re-scoring " + stale + " resume(s) against job requirement " + jobReq.getId()
+                + " with " + aiService.getProviderName());
+
+        LocalPreScorer.Profile profile = preScorer.isEnabled() ? preScorer.profile(jobReq) : null;
+        currentJob = jobService.startJob("RESCORE", job -> {
+            if (previous != null) {
+                awaitFinished(previous);
+            }
+            rescore(job, aiService, requirementText, fingerprint, profile);
+        });
+        return currentJob.toDTO(false);
+    }
+
+    private void rescore(IngestionJob job, AIService aiService, String requirementText, String fingerprint,
+                         LocalPreScorer.Profile profile) {
+        Set<Long> shortlist = profile != null && preScorer.getTopK() > 0 ? shortlist(job, fingerprint, profile) : null;
+
+        long afterId = 0;
+        while (!job.isCancelRequested()) {
+            List<Resume> page = resumeRepository.findStaleScoresAfter(afterId, fingerprint, PageRequest.of(0, pageSize));
+            if (page.isEmpty()) {
+                break;
+            }
+
+            List<CompletableFuture<Void>> futures = new ArrayList<>(page.size());
+            for (Resume resume : page) {
+                IngestionJob.FileEntry entry = job.addFile(resume.getFileName());
+                futures.add(CompletableFuture.runAsync(() -> {
+                    LocalPreScorer.Score score = profile != null
+                            ? preScorer.score(resume.getExtractedText(), sections(resume), profile, null) : null;
+                    boolean admitted = score == null
+                            || (preScorer.passes(score) && (shortlist == null || shortlist.contains(resume.getId())));
+                    rescoreOne(resume, entry, aiService, requirementText, fingerprint, score, admitted, job);
+                }, rescoreExecutor));
+            }
+            // A page at a time keeps memory flat; the pool bounds concurrent model calls within it
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            afterId = page.get(page.size() - 1).getId();
+        }
+        job.discoveryComplete();
+    }
+
+    private static void awaitFinished(IngestionJob job) {
+        CompletableFuture<Void> finished = new CompletableFuture<>();
+        IngestionJob.Observer observer = new IngestionJob.Observer() {
+            @Override
+            public void onFileFinished(IngestionJob.FileEntry entry) {
+            }
+
+            @Override
+            public void onJobFinished(IngestionJob finishedJob) {
+                finished.complete(null);
+            }
+        };
+        job.addObserver(observer);
+        try {
+            finished.join();
+        } finally {
+            job.removeObserver(observer);
+        }
+    }
+
+    /**
+     * Local scores of every stale resume, reduced to the ids of the best {@code prescore.top-k}.
+     */
+    private Set<Long> shortlist(IngestionJob job, String fingerprint, LocalPreScorer.Profile profile) {
+        int topK = preScorer.getTopK();
+        PriorityQueue<Candidate> best = new PriorityQueue<>(Comparator.comparingDouble(Candidate::score));
+        long afterId = 0;
+        while (!job.isCancelRequested()) {
+            List<Resume> page = resumeRepository.findStaleScoresAfter(afterId, fingerprint, PageRequest.of(0, pageSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            for (Resume resume : page) {
+                best.add(new Candidate(resume.getId(), preScorer.score(resume.getExtractedText(), sections(resume), profile, null).value()));
+                if (best.size() > topK) {
+                    best.poll();
+                }
+            }
+            afterId = page.get(page.size() - 1).getId();
+        }
+        System.out.println("DEBUG: Re-scoring shortlist holds " + best.size() + " resume(s), top-k " + topK);
+        Set<Long> ids = new HashSet<>();
+        best.forEach(candidate -> ids.add(candidate.id()));
+        return ids;
+    }
+
+    /**
+     * Stored sections, or segmented on the fly for resumes ingested before sections were recorded.
+     */
+    private static List<ResumeSection> sections(Resume resume) {
+        List<ResumeSection> sections = resume.getSections();
+        return sections != null && !sections.isEmpty() ? sections : SectionSegmenter.segment(resume.getExtractedText());
+    }
+
+    private record Candidate(long id, double score) {
+    }
+
+    private void rescoreOne(Resume resume, IngestionJob.FileEntry entry, AIService aiService, String requirementText,
+                            String fingerprint, LocalPreScorer.Score score, boolean admitted, IngestionJob job) {
+        if (job.isCancelRequested()) {
+            entry.onFailed(new RuntimeException("Cancelled"));
+            return;
+        }
+        try {
+            Double localScore = score != null ? score.value() : null;
+            if (!admitted) {
+                entry.onStage(IngestionListener.Stage.SAVING);
+                resumeRepository.updateScore(resume.getId(), localScore, score.describe(), localScore, true,
+                        fingerprint, LocalDateTime.now());
+                resume.setMatchScore(localScore);
+                entry.onSaved(resume);
+                return;
+            }
+
+            entry.onStage(IngestionListener.Stage.ANALYZING);
+            AIAnalysisResponse analysis = aiService.analyzeResume(resume.getExtractedText(), requirementText);
+            if (job.isCancelRequested()) {
+                // Superseded while the model was busy; the newer job scores this resume
+                entry.onFailed(new RuntimeException("Cancelled"));
+                return;
+            }
+
+            entry.onStage(IngestionListener.Stage.SAVING);
+            resumeRepository.updateScore(resume.getId(), analysis.getMatchScore(), analysis.getAnalysis(), localScore,
+                    false, fingerprint, LocalDateTime.now());
+            resume.setMatchScore(analysis.getMatchScore());
+            entry.onSaved(resume);
+        } catch (Exception e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            System.err.println("Error re-scoring resume " + resume.getId() + ": " + cause.getMessage());
+            entry.onFailed(cause);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.model.Resume;
+import org.example.model.ResumeSection;
+import org.example.repository.ResumeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind persistence for analyzed resumes. Entities are buffered and inserted in one
+ * JDBC batch per transaction once the buffer reaches the batch size or the flush interval passes.
+ * Callers get a future that completes after the batch has committed.
+ */
+@Component
+public class ResumeBatchWriter {
+
+    @Autowired
+    private ResumeRepository resumeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${ingestion.persist.batch-size:50}")
+    private int batchSize;
+
+    @Value("${ingestion.persist.flush-interval-ms:500}")
+    private long flushIntervalMs;
+
+    private final List<PendingWrite> buffer = new ArrayList<>();
+
+    private TransactionTemplate transactionTemplate;
+    private ScheduledExecutorService flusher;
+
+    private record PendingWrite(Resume resume, CompletableFuture<Resume> future) {
+    }
+
+    @PostConstruct
+    public void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "resume-batch-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushPending, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flushPending();
+    }
+
+    /**
+     * Queue a resume for insertion.
+     * @return future completing with the saved entity once its batch commits
+     */
+    public CompletableFuture<Resume> enqueue(Resume resume) {
+        PendingWrite write = new PendingWrite(resume, new CompletableFuture<>());
+        List<PendingWrite> fullBatch = null;
+        synchronized (buffer) {
+            buffer.add(write);
+            if (buffer.size() >= batchSize) {
+                fullBatch = drain();
+            }
+        }
+        if (fullBatch != null) {
+            List<PendingWrite> batch = fullBatch;
+            flusher.execute(() -> flush(batch));
+        }
+        return write.future();
+    }
+
+    private void flushPending() {
+        List<PendingWrite> batch;
+        synchronized (buffer) {
+            batch = drain();
+        }
+        flush(batch);
+    }
+
+    private List<PendingWrite> drain() {
+        List<PendingWrite> batch = new ArrayList<>(buffer);
+        buffer.clear();
+        return batch;
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<Resume> resumes = new ArrayList<>(batch.size());
+        batch.forEach(write -> resumes.add(write.resume()));
+        try {
+            List<Resume> saved = transactionTemplate.execute(status -> resumeRepository.saveAll(resumes));
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future().complete(saved.get(i));
+            }
+            System.out.println("DEBUG: Persisted batch of " + batch.size() + " resume(s)");
+        } catch (Exception e) {
+            // One bad row (e.g. a duplicate content hash) must not fail the whole batch
+            System.err.println("WARNING: Batch insert failed, retrying individually: " + e.getMessage());
+            for (PendingWrite write : batch) {
+                try {
+                    write.future().complete(saveOne(write.resume()));
+                } catch (Exception single) {
+                    write.future().completeExceptionally(single);
+                }
+            }
+        }
+    }
+
+    private Resume saveOne(Resume resume) {
+        try {
+            return resumeRepository.save(copyForRetry(resume));
+        } catch (DataIntegrityViolationException e) {
+            // Another writer stored the same content first; keep its analysis
+            if (resume.getContentHash() == null) {
+                throw e;
+            }
+            return resumeRepository.findByContentHash(resume.getContentHash()).orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * A fresh, transient copy of a resume from the rolled-back batch. The original already went through
+     * persist, so it may carry a sequence id and Hibernate-managed collections that must not be reused.
+     */
+    private static Resume copyForRetry(Resume resume) {
+        Resume copy = new Resume();
+        copy.setCandidateName(resume.getCandidateName());
+        copy.setEmail(resume.getEmail());
+        copy.setPhone(resume.getPhone());
+        copy.setExtractedText(resume.getExtractedText());
+        List<ResumeSection> sections = new ArrayList<>();
+        for (ResumeSection section : resume.getSections()) {
+            sections.add(new ResumeSection(section.getType(), section.getHeading(), section.getStartOffset(),
+                    section.getEndOffset()));
+        }
+        copy.setSections(sections);
+        copy.setSkills(resume.getSkills());
+        copy.setExperience(resume.getExperience());
+        copy.setFileName(resume.getFileName());
+        copy.setFileType(resume.getFileType());
+        copy.setSource(resume.getSource());
+        copy.setDriveFileId(resume.getDriveFileId());
+        copy.setDriveModifiedTime(resume.getDriveModifiedTime());
+        copy.setContentHash(resume.getContentHash());
+        copy.setMatchScore(resume.getMatchScore());
+        copy.setRequirementFingerprint(resume.getRequirementFingerprint());
+        copy.setLocalScore(resume.getLocalScore());
+        copy.setPreScreened(resume.getPreScreened());
+        copy.setMatchAnalysis(resume.getMatchAnalysis());
+        copy.setUploadedAt(resume.getUploadedAt());
+        copy.setAnalyzedAt(resume.getAnalyzedAt());
+        return copy;
+    }
+}
@@ -0,0 +1,208 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import org.example.dto.AIAnalysisResponse;
+import org.example.model.ResumeSection;
+import org.example.model.SectionType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts the deterministic resume fields in process instead of asking the AI provider for them: email and
+ * phone by precompiled patterns, the candidate's name from the contact block, skills by matching a configurable
+ * taxonomy with an {@link AhoCorasickMatcher}, and the opening lines of the experience section. The results are
+ * the same whichever provider scores the resume.
+ */
+@Component
+public class ResumeFieldExtractor {
+
+    private static final Pattern EMAIL = Pattern.compile("[A-Za-z0-9._%+-]+@[A-Za-z0-9-]+(?:\\.[A-Za-z0-9-]+)*\\.[A-Za-z]{2,}");
+    private static final Pattern PHONE = Pattern.compile(
+            "(?<![\\w+])(?:\\+\\d{1,3}[\\s.-]?)?(?:\\(\\d{1,4}\\)[\\s.-]?)?\\d{2,4}(?:[\\s.-]?\\d{2,4}){1,4}(?!\\w)");
+    private static final Pattern PHONE_LABEL = Pattern.compile("(?i)\\b(?:phone|tel|telephone|mobile|cell|mob)\\b");
+    private static final Pattern YEAR_RANGE = Pattern.compile("^(?:19|20)\\d{2}\\s*[-\\u2013]\\s*(?:19|20)\\d{2}$");
+    private static final Pattern NAME_LINE = Pattern.compile("[\\p{L}][\\p{L}'.-]*(?: [\\p{L}][\\p{L}'.-]*){1,3}");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Set<SectionType> CONTACT = Set.of(SectionType.CONTACT);
+    private static final Set<SectionType> EXPERIENCE = Set.of(SectionType.EXPERIENCE);
+    private static final int MIN_PHONE_DIGITS = 7;
+    private static final int MAX_PHONE_DIGITS = 15;
+    private static final int EXPERIENCE_LINES = 3;
+    private static final int MAX_EXPERIENCE_LENGTH = 500;
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    @Value("${resume.skills.taxonomy:classpath:skills-taxonomy.txt}")
+    private String taxonomyLocation;
+
+    private AhoCorasickMatcher skillMatcher;
+
+    public record Fields(String candidateName, String email, String phone, List<String> skills, String experience) {
+
+        public String skillList() {
+            return String.join(", ", skills);
+        }
+    }
+
+    @PostConstruct
+    public void loadTaxonomy() throws IOException {
+        Map<String, String> phrases = new LinkedHashMap<>();
+        Resource resource = resourceLoader.getResource(taxonomyLocation);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(),
+                StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                // "Canonical name|alias|alias"
+                String[] names = line.split("\\|");
+                String canonical = names[0].trim();
+                for (String name : names) {
+                    if (!name.isBlank()) {
+                        phrases.putIfAbsent(name.trim().toLowerCase(Locale.ROOT), canonical);
+                    }
+                }
+            }
+        }
+        skillMatcher = new AhoCorasickMatcher(phrases);
+        System.out.println("DEBUG: Loaded " + phrases.size() + " skill names from " + taxonomyLocation);
+    }
+
+    public Fields extract(String text, List<ResumeSection> sections) {
+        if (text == null || text.isEmpty()) {
+            return new Fields("", "", "", List.of(), "");
+        }
+        String contact = SectionSegmenter.hasSection(sections, SectionType.CONTACT)
+                ? SectionSegmenter.text(text, sections, CONTACT) : "";
+        return new Fields(name(contact), email(contact, text), phone(contact, text),
+                new ArrayList<>(skillMatcher.findAll(WHITESPACE.matcher(text).replaceAll(" "))),
+                experience(text, sections));
+    }
+
+    /**
+     * Fill a provider's response with the locally extracted fields; the model is no longer asked for them,
+     * but callers of {@link AIService} still get the candidate's details with the score.
+     */
+    public AIAnalysisResponse fill(AIAnalysisResponse response, String resumeText) {
+        Fields fields = extract(resumeText, SectionSegmenter.segment(resumeText));
+        response.setCandidateName(fields.candidateName());
+        response.setEmail(fields.email());
+        response.setPhone(fields.phone());
+        response.setExtractedSkills(fields.skillList());
+        response.setExtractedExperience(fields.experience());
+        return response;
+    }
+
+    private String email(String contact, String text) {
+        Matcher matcher = EMAIL.matcher(contact);
+        if (!matcher.find()) {
+            matcher = EMAIL.matcher(text);
+            if (!matcher.find()) {
+                return "";
+            }
+        }
+        return matcher.group().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * First plausible number in the contact block, then anywhere; a number on a line labelled phone/mobile wins.
+     */
+    private String phone(String contact, String text) {
+        String found = "";
+        for (String source : new String[]{contact, text}) {
+            for (String line : source.split("\n")) {
+                Matcher matcher = PHONE.matcher(line);
+                while (matcher.find()) {
+                    String candidate = matcher.group().trim();
+                    if (!isPhone(candidate)) {
+                        continue;
+                    }
+                    if (PHONE_LABEL.matcher(line).find()) {
+                        return candidate;
+                    }
+                    if (found.isEmpty()) {
+                        found = candidate;
+                    }
+                }
+            }
+            if (!found.isEmpty()) {
+                return found;
+            }
+        }
+        return found;
+    }
+
+    private boolean isPhone(String candidate) {
+        long digits = candidate.chars().filter(Character::isDigit).count();
+        return digits >= MIN_PHONE_DIGITS && digits <= MAX_PHONE_DIGITS && !YEAR_RANGE.matcher(candidate).matches();
+    }
+
+    /**
+     * The first line of the contact block that reads like a name: two to four words, no digits or symbols.
+     */
+    private String name(String contact) {
+        for (String line : contact.split("\n")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (trimmed.length() <= 50 && NAME_LINE.matcher(trimmed).matches()
+                    && SectionSegmenter.headingType(trimmed, false) == null) {
+                return isUpperCase(trimmed) ? titleCase(trimmed) : trimmed;
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Opening lines of the experience section (usually the latest role and employer), without the heading.
+     */
+    private String experience(String text, List<ResumeSection> sections) {
+        if (!SectionSegmenter.hasSection(sections, SectionType.EXPERIENCE)) {
+            return "";
+        }
+        String[] lines = SectionSegmenter.text(text, sections, EXPERIENCE).split("\n");
+        List<String> opening = new ArrayList<>();
+        for (int i = 1; i < lines.length && opening.size() < EXPERIENCE_LINES; i++) {
+            String line = lines[i].trim();
+            if (!line.isEmpty()) {
+                opening.add(line);
+            }
+        }
+        String experience = String.join("; ", opening);
+        return experience.length() > MAX_EXPERIENCE_LENGTH ? experience.substring(0, MAX_EXPERIENCE_LENGTH) : experience;
+    }
+
+    private static boolean isUpperCase(String value) {
+        return value.chars().filter(Character::isLetter).allMatch(Character::isUpperCase);
+    }
+
+    private static String titleCase(String value) {
+        StringBuilder result = new StringBuilder(value.length());
+        boolean wordStart = true;
+        for (char c : value.toCharArray()) {
+            result.append(wordStart ? c : Character.toLowerCase(c));
+            wordStart = c == ' ' || c == '-' || c == '\'';
+        }
+        return result.toString();
+    }
+}
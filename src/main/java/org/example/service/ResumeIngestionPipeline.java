@@ -0,0 +1,361 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.dto.AIAnalysisResponse;
+import org.example.model.QuarantineRecord;
+import org.example.model.Resume;
+import org.example.model.ResumeSection;
+import org.example.repository.ResumeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Staged pipeline for resume ingestion: parsing (CPU-bound) runs on a bounded executor and AI analysis
+ * (I/O-bound) is issued asynchronously, so files overlap across stages without a thread parked per request;
+ * persistence is batched by {@link ResumeBatchWriter}.
+ * Parsed text is scored by the {@link LocalPreScorer} first; resumes below its threshold skip AI analysis
+ * and are stored with their local score.
+ * Recoverable items are recorded in the {@link IngestionQueueService} before parsing and acknowledged once saved.
+ * Parsers run under the {@link ParserWatchdog}; files that break its limits are quarantined by content hash.
+ */
+@Component
+public class ResumeIngestionPipeline {
+
+    @Autowired
+    private ResumeParserService parserService;
+
+    @Autowired
+    private ResumeRepository resumeRepository;
+
+    @Autowired
+    private ResumeBatchWriter batchWriter;
+
+    @Autowired
+    private IngestionGovernor governor;
+
+    @Autowired
+    private IngestionQueueService queueService;
+
+    @Autowired
+    private LocalPreScorer preScorer;
+
+    @Autowired
+    private ParserWatchdog parserWatchdog;
+
+    @Autowired
+    private QuarantineService quarantineService;
+
+    @Autowired
+    private ExtractedTextCache textCache;
+
+    @Autowired
+    private ResumeFieldExtractor fieldExtractor;
+
+    @Value("${ingestion.parse.threads:0}")
+    private int parseThreads;
+
+    @Value("${ingestion.analyze.concurrency:32}")
+    private int analyzeConcurrency;
+
+    @Value("${ingestion.analyze.timeout-seconds:180}")
+    private long analyzeTimeoutSeconds;
+
+    private ExecutorService parseExecutor;
+
+    // Analyses in flight, and those waiting for one to finish; no thread is held by either
+    private final Object analysisSlots = new Object();
+    private int runningAnalyses;
+    private final Queue<Runnable> waitingAnalyses = new ConcurrentLinkedQueue<>();
+
+    // Content hashes currently being processed, so concurrent copies of one file are analyzed once
+    private final Map<String, CompletableFuture<Resume>> inFlight = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void start() {
+        int parsers = parseThreads > 0 ? parseThreads : Runtime.getRuntime().availableProcessors();
+        parseExecutor = Executors.newFixedThreadPool(parsers, namedThreads("resume-parse"));
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        parseExecutor.shutdown();
+        parseExecutor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Submit a single file to the pipeline.
+     * Content already stored (or currently in flight) under the same SHA-256 is not parsed or analyzed again.
+     * Blocks while the governor has no free file slot, so producers cannot queue unbounded work.
+     * @param profile requirement profile for local pre-screening, or null to send every file to the AI provider
+     * @param listener notified as the file enters each stage and when it is saved or fails
+     * @return future completing with the saved (or existing) resume, or exceptionally if any stage failed
+     */
+    public CompletableFuture<Resume> submit(IngestionItem item, AIService aiService, String jobRequirements,
+                                           LocalPreScorer.Profile profile, IngestionListener listener) {
+        IngestionGovernor.Permit slot = governor.acquireFileSlot();
+        return CompletableFuture
+                .supplyAsync(() -> {
+                    listener.onStage(IngestionListener.Stage.PARSING);
+                    return fingerprint(item);
+                }, parseExecutor)
+                .thenCompose(hash -> {
+                    Optional<Resume> existing = resumeRepository.findByContentHash(hash);
+                    if (existing.isPresent()) {
+                        System.out.println("DEBUG: " + item.getFileName() + " is a duplicate of resume " + existing.get().getId());
+                        listener.onDuplicate(existing.get());
+                        return CompletableFuture.completedFuture(existing.get());
+                    }
+                    Optional<QuarantineRecord> quarantined = quarantineService.findByContentHash(hash);
+                    if (quarantined.isPresent()) {
+                        return CompletableFuture.failedFuture(new RuntimeException("File is quarantined ("
+                                + quarantined.get().getReasonCode() + "): " + quarantined.get().getDetail()));
+                    }
+
+                    if (item.getQueueId() == null) {
+                        item.setQueueId(queueService.enqueue(item, hash, aiService.getProviderName().toLowerCase()));
+                    }
+
+                    CompletableFuture<Resume> pending = new CompletableFuture<>();
+                    CompletableFuture<Resume> inProgress = inFlight.putIfAbsent(hash, pending);
+                    if (inProgress != null) {
+                        // Same content is already going through the pipeline; share its result
+                        return inProgress.thenApply(resume -> {
+                            listener.onDuplicate(resume);
+                            return resume;
+                        });
+                    }
+
+                    process(item, hash, aiService, jobRequirements, profile, listener).whenComplete((saved, error) -> {
+                        inFlight.remove(hash);
+                        if (error != null) {
+                            pending.completeExceptionally(error);
+                        } else {
+                            pending.complete(saved);
+                        }
+                    });
+                    return pending.thenApply(saved -> {
+                        listener.onSaved(saved);
+                        return saved;
+                    });
+                })
+                .whenComplete((resume, error) -> {
+                    slot.close();
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        System.err.println("Error processing file " + item.getFileName() + ": " + cause.getMessage());
+                        if (item.getQueueId() != null) {
+                            queueService.fail(item.getQueueId(), cause.getMessage());
+                        }
+                        listener.onFailed(cause);
+                    } else if (item.getQueueId() != null) {
+                        queueService.acknowledge(item.getQueueId());
+                    }
+                });
+    }
+
+    private CompletableFuture<Resume> process(IngestionItem item, String contentHash, AIService aiService,
+                                              String jobRequirements, LocalPreScorer.Profile profile,
+                                              IngestionListener listener) {
+        Optional<ExtractedTextCache.CachedText> cached = textCache.get(contentHash);
+        CompletableFuture<String> extracted;
+        if (cached.isPresent()) {
+            System.out.println("DEBUG: Using cached text for " + item.getFileName());
+            extracted = CompletableFuture.completedFuture(cached.get().text());
+        } else {
+            // A breach completes the parse on the watchdog's own thread; continue on the parse executor instead
+            extracted = parserWatchdog.parse(item.getFileName(), () -> parse(item))
+                    .whenCompleteAsync((text, error) -> {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        if (cause instanceof ParseLimitException limit) {
+                            quarantineService.quarantine(item, contentHash, limit);
+                        } else if (error == null) {
+                            textCache.put(contentHash, text);
+                        }
+                    }, parseExecutor);
+        }
+        return extracted
+                .thenApplyAsync(text -> {
+                    List<ResumeSection> sections = SectionSegmenter.segment(text);
+                    return new Parsed(text, sections, fieldExtractor.extract(text, sections),
+                            profile != null ? preScorer.score(text, sections, profile, contentHash) : null);
+                }, parseExecutor)
+                .thenCompose(parsed -> {
+                    if (parsed.score() != null && !preScorer.passes(parsed.score())) {
+                        System.out.println("DEBUG: " + item.getFileName() + " pre-screened out with local score "
+                                + parsed.score().value());
+                        Resume resume = preScreened(item, parsed, jobRequirements);
+                        resume.setContentHash(contentHash);
+                        return CompletableFuture.completedFuture(resume);
+                    }
+                    return withAnalysisSlot(() -> {
+                        listener.onStage(IngestionListener.Stage.ANALYZING);
+                        return aiService.analyzeResumeAsync(parsed.text(), jobRequirements)
+                                .orTimeout(analyzeTimeoutSeconds, TimeUnit.SECONDS);
+                    }).thenApply(analysis -> {
+                        Resume resume = analyzed(item, parsed, analysis, aiService, jobRequirements);
+                        if (parsed.score() != null) {
+                            resume.setLocalScore(parsed.score().value());
+                        }
+                        resume.setContentHash(contentHash);
+                        return resume;
+                    });
+                })
+                .thenCompose(resume -> {
+                    listener.onStage(IngestionListener.Stage.SAVING);
+                    return batchWriter.enqueue(resume);
+                });
+    }
+
+    private String fingerprint(IngestionItem item) {
+        try (InputStream in = item.getContent().open()) {
+            return ContentHasher.sha256Hex(in);
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private String parse(IngestionItem item) {
+        if (item.getSpoolPath() != null && item.getArchiveEntry() == null) {
+            // Already a file on disk; parsers that need random access read it in place
+            try {
+                return parserService.extractText(Paths.get(item.getSpoolPath()), item.getContentType(),
+                        item.getFileName());
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }
+        try (InputStream in = item.getContent().open()) {
+            return parserService.extractText(in, item.getContentType(), item.getFileName());
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Starts the analysis once fewer than {@code ingestion.analyze.concurrency} are in flight, otherwise queues
+     * it. Completion is handled on the parse executor rather than the HTTP client's callback thread, so the
+     * rest of the pipeline never runs on (and blocks) that thread. A finishing analysis starts the next one
+     * from a fresh task, which also keeps a run of instantly completed analyses, such as cache hits, from
+     * recursing.
+     */
+    private <T> CompletableFuture<T> withAnalysisSlot(Supplier<CompletableFuture<T>> analysis) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable start = () -> {
+            CompletableFuture<T> call;
+            try {
+                call = analysis.get();
+            } catch (RuntimeException e) {
+                call = CompletableFuture.failedFuture(e);
+            }
+            call.whenCompleteAsync((value, error) -> {
+                releaseAnalysisSlot();
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            }, parseExecutor);
+        };
+        synchronized (analysisSlots) {
+            if (runningAnalyses >= Math.max(1, analyzeConcurrency)) {
+                waitingAnalyses.add(start);
+                return result;
+            }
+            runningAnalyses++;
+        }
+        start.run();
+        return result;
+    }
+
+    private void releaseAnalysisSlot() {
+        Runnable next;
+        synchronized (analysisSlots) {
+            next = waitingAnalyses.poll();
+            if (next == null) {
+                runningAnalyses--;
+            }
+        }
+        // The slot passes straight to the next waiting analysis
+        if (next != null) {
+            next.run();
+        }
+    }
+
+    private Resume analyzed(IngestionItem item, Parsed parsed, AIAnalysisResponse analysis, AIService aiService,
+                            String jobRequirements) {
+        System.out.println("DEBUG: Analyzed " + item.getFileName() + " with " + aiService.getProviderName());
+
+        Resume resume = newResume(item, parsed, jobRequirements);
+        resume.setMatchScore(analysis.getMatchScore());
+        resume.setMatchAnalysis(analysis.getAnalysis());
+        resume.setPreScreened(false);
+        return resume;
+    }
+
+    private Resume preScreened(IngestionItem item, Parsed parsed, String jobRequirements) {
+        LocalPreScorer.Score score = parsed.score();
+        Resume resume = newResume(item, parsed, jobRequirements);
+        resume.setMatchScore(score.value());
+        resume.setMatchAnalysis(score.describe());
+        resume.setLocalScore(score.value());
+        resume.setPreScreened(true);
+        return resume;
+    }
+
+    private Resume newResume(IngestionItem item, Parsed parsed, String jobRequirements) {
+        Resume resume = new Resume();
+        resume.setExtractedText(parsed.text());
+        resume.setSections(new ArrayList<>(parsed.sections()));
+        // Contact fields and skills are extracted locally, so they do not depend on the AI provider
+        resume.setCandidateName(parsed.fields().candidateName());
+        resume.setEmail(parsed.fields().email());
+        resume.setPhone(parsed.fields().phone());
+        resume.setSkills(parsed.fields().skillList());
+        resume.setExperience(parsed.fields().experience());
+        resume.setFileName(item.getFileName());
+        resume.setFileType(item.getContentType());
+        resume.setSource(item.getSource());
+        resume.setDriveFileId(item.getDriveFileId());
+        resume.setDriveModifiedTime(item.getDriveModifiedTime());
+        resume.setRequirementFingerprint(JobRequirementService.fingerprint(jobRequirements));
+        resume.setUploadedAt(LocalDateTime.now());
+        resume.setAnalyzedAt(LocalDateTime.now());
+        return resume;
+    }
+
+    private record Parsed(String text, List<ResumeSection> sections, ResumeFieldExtractor.Fields fields,
+                          LocalPreScorer.Score score) {
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
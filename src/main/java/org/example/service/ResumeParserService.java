@@ -1,58 +1,281 @@
 package org.example.service;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.text.PDFTextStripper;
-import org.apache.poi.xwpf.usermodel.XWPFDocument;
-import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.hwpf.extractor.WordExtractor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 
 @Service
 public class ResumeParserService {
 
-    public String extractTextFromFile(MultipartFile file) throws IOException {
-        String contentType = file.getContentType();
+    /**
+     * Bump whenever a change alters the extracted text, so text cached by an older parser is not reused.
+     */
+    public static final int PARSER_VERSION = 1;
+
+    @Autowired
+    private FileSpoolService spoolService;
+
+    @Autowired
+    private ParserWatchdog parserWatchdog;
+
+    // PDFs are read from disk; each open document keeps at most this much of its parsed content on the heap
+    // and spills the rest to a scratch file, so heap use is bounded by parse threads x this budget
+    @Value("${ingestion.pdf.scratch-memory:8MB}")
+    private DataSize pdfScratchMemory;
+
+    @Value("${ingestion.pdf.scratch-max:512MB}")
+    private DataSize pdfScratchMax;
+
+    @Value("${ingestion.pdf.max-pages:50}")
+    private int pdfMaxPages;
+
+    @Value("${ingestion.pdf.timeout-seconds:60}")
+    private long pdfTimeoutSeconds;
 
-        if (contentType != null && contentType.equals("application/pdf")) {
-            return extractTextFromPDF(file.getInputStream());
-        } else if (contentType != null && (contentType.equals("application/vnd.openxmlformats-officedocument.wordprocessingml.document")
-                || contentType.equals("application/msword"))) {
-            return extractTextFromWord(file.getInputStream());
-        } else {
-            throw new IllegalArgumentException("Unsupported file type: " + contentType);
+    @Value("${ingestion.pdf.parallel-min-pages:20}")
+    private int pdfParallelMinPages;
+
+    @Value("${ingestion.pdf.pages-per-task:5}")
+    private int pdfPagesPerTask;
+
+    @Value("${ingestion.pdf.page-threads:0}")
+    private int pdfPageThreads;
+
+    private ForkJoinPool pageExecutor;
+
+    @PostConstruct
+    public void start() {
+        int threads = pdfPageThreads > 0 ? pdfPageThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        pageExecutor = new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("pdf-pages-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    @PreDestroy
+    public void stop() {
+        pageExecutor.shutdownNow();
+    }
+
+    /**
+     * The parser version together with the settings that shape its output (the PDF page limit).
+     */
+    public String getVersion() {
+        return PARSER_VERSION + "-p" + pdfMaxPages;
+    }
+
+    public String extractTextFromFile(MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return extractText(in, file.getContentType(), file.getOriginalFilename());
         }
     }
 
     public String extractTextFromBytes(byte[] fileBytes, String mimeType) throws IOException {
-        if (mimeType != null && mimeType.equals("application/pdf")) {
-            return extractTextFromPDF(new ByteArrayInputStream(fileBytes));
-        } else if (mimeType != null && (mimeType.equals("application/vnd.openxmlformats-officedocument.wordprocessingml.document")
-                || mimeType.equals("application/msword"))) {
-            return extractTextFromWord(new ByteArrayInputStream(fileBytes));
-        } else {
-            throw new IllegalArgumentException("Unsupported file type: " + mimeType);
+        return extractText(new ByteArrayInputStream(fileBytes), mimeType);
+    }
+
+    public String extractText(Path file, String mimeType) throws IOException {
+        return extractText(file, mimeType, null);
+    }
+
+    public String extractText(InputStream inputStream, String mimeType) throws IOException {
+        return extractText(inputStream, mimeType, null);
+    }
+
+    /**
+     * Extract text from a file already on local disk; PDFs are read in place instead of being copied.
+     * The parser is chosen by the file's leading bytes; {@code mimeType} and {@code fileName} only settle ambiguity.
+     */
+    public String extractText(Path file, String mimeType, String fileName) throws IOException {
+        FormatSniffer.Format format = FormatSniffer.detect(file, mimeType, fileName);
+        if (format == FormatSniffer.Format.PDF) {
+            return extractTextFromPDF(file);
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            return extractText(format, in, mimeType);
+        }
+    }
+
+    /**
+     * Extract text from a stream, choosing the parser by its leading bytes. The peeked bytes are
+     * replayed from the sniffer's buffer rather than read again.
+     */
+    public String extractText(InputStream inputStream, String mimeType, String fileName) throws IOException {
+        FormatSniffer.Sniffed sniffed = FormatSniffer.sniff(inputStream, mimeType, fileName);
+        return extractText(sniffed.format(), sniffed.stream(), mimeType);
+    }
+
+    private String extractText(FormatSniffer.Format format, InputStream inputStream, String mimeType) throws IOException {
+        switch (format) {
+            case PDF:
+                return extractTextFromPDF(inputStream);
+            case DOCX:
+                return DocxTextExtractor.extractText(inputStream);
+            case DOC:
+                try (WordExtractor extractor = new WordExtractor(inputStream)) {
+                    return extractor.getText();
+                }
+            default:
+                throw new IllegalArgumentException("Unsupported file type: " + mimeType + " (content is " + format + ")");
         }
     }
 
     private String extractTextFromPDF(InputStream inputStream) throws IOException {
-        try (PDDocument document = org.apache.pdfbox.Loader.loadPDF(inputStream.readAllBytes())) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            return stripper.getText(document);
+        // PDFBox needs random access; spool the stream instead of reading it onto the heap
+        Path scratch = spoolService.spool(inputStream, "parse.pdf");
+        try {
+            return extractTextFromPDF(scratch);
+        } finally {
+            spoolService.delete(scratch);
         }
     }
 
-    private String extractTextFromWord(InputStream inputStream) throws IOException {
-        try (XWPFDocument document = new XWPFDocument(inputStream)) {
-            StringBuilder text = new StringBuilder();
-            for (XWPFParagraph paragraph : document.getParagraphs()) {
-                text.append(paragraph.getText()).append("\n");
+    private String extractTextFromPDF(Path file) throws IOException {
+        long deadlineNanos = System.nanoTime() + pdfTimeoutSeconds * 1_000_000_000L;
+        ParserWatchdog.ParseContext parse = parserWatchdog.current();
+        int endPage;
+        try (RandomAccessReadBufferedFile source = new RandomAccessReadBufferedFile(file.toFile());
+             PDDocument document = loadPDF(source)) {
+            int pages = document.getNumberOfPages();
+            endPage = pages;
+            if (pdfMaxPages > 0 && pages > pdfMaxPages) {
+                // Resumes lead with what matters; the tail of a huge PDF is not worth the memory and time
+                endPage = pdfMaxPages;
+            }
+            if (endPage < pdfParallelMinPages || pageExecutor.getParallelism() < 2) {
+                return extractPages(document, 1, endPage, deadlineNanos, parse::isCancelled);
             }
-            return text.toString();
         }
+        return extractPagesInParallel(file, endPage, deadlineNanos, parse);
     }
-}
 
+    /**
+     * Split long documents into page ranges and extract them concurrently, each from its own
+     * {@link PDDocument} (documents are not thread-safe), then join the text in page order. Ranges run as
+     * helpers of the calling parse so the watchdog counts their CPU and allocations; pool tasks ignore
+     * {@code cancel(true)}, so they also stop at the next page once any range fails or the parse is stopped.
+     */
+    private String extractPagesInParallel(Path file, int endPage, long deadlineNanos,
+                                          ParserWatchdog.ParseContext parse) throws IOException {
+        AtomicBoolean stopped = new AtomicBoolean();
+        BooleanSupplier cancelled = () -> stopped.get() || parse.isCancelled();
+        int rangeSize = Math.max(pdfPagesPerTask, (endPage + pageExecutor.getParallelism() - 1) / pageExecutor.getParallelism());
+        List<ForkJoinTask<String>> ranges = new ArrayList<>();
+        for (int start = 1; start <= endPage; start += rangeSize) {
+            int from = start;
+            int to = Math.min(endPage, start + rangeSize - 1);
+            ranges.add(pageExecutor.submit(() -> parse.runAsHelper(() -> {
+                try (RandomAccessReadBufferedFile source = new RandomAccessReadBufferedFile(file.toFile());
+                     PDDocument document = loadPDF(source)) {
+                    return extractPages(document, from, to, deadlineNanos, cancelled);
+                }
+            })));
+        }
+
+        StringBuilder text = new StringBuilder();
+        try {
+            for (ForkJoinTask<String> range : ranges) {
+                text.append(range.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while extracting PDF pages", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException("PDF page extraction failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            stopped.set(true);
+            ranges.forEach(range -> range.cancel(true));
+        }
+        return text.toString();
+    }
+
+    private PDDocument loadPDF(RandomAccessReadBufferedFile source) throws IOException {
+        long maxStorage = pdfScratchMax.toBytes() > 0 ? pdfScratchMax.toBytes() : -1;
+        MemoryUsageSetting memory = MemoryUsageSetting.setupMixed(pdfScratchMemory.toBytes(), maxStorage);
+        return Loader.loadPDF(source, memory.streamCache);
+    }
+
+    private String extractPages(PDDocument document, int startPage, int endPage, long deadlineNanos,
+                                BooleanSupplier cancelled) throws IOException {
+        PDFTextStripper stripper = newStripper(deadlineNanos, cancelled);
+        stripper.setStartPage(startPage);
+        stripper.setEndPage(endPage);
+        return stripper.getText(document);
+    }
+
+    /**
+     * Text strippers are not thread-safe, so each document gets its own, configured the same way.
+     */
+    private PDFTextStripper newStripper(long deadlineNanos, BooleanSupplier cancelled) {
+        PDFTextStripper stripper = new DeadlineTextStripper(deadlineNanos, pdfTimeoutSeconds, cancelled);
+        stripper.setSortByPosition(false);
+        stripper.setSuppressDuplicateOverlappingText(true);
+        stripper.setAddMoreFormatting(false);
+        stripper.setLineSeparator("\n");
+        // Lets the prompt compactor recognise running headers and footers
+        stripper.setPageEnd("\n" + ResumeTextCompactor.PAGE_BREAK);
+        return stripper;
+    }
+
+    /**
+     * Gives up between pages once the document has used its time budget or the parse was cancelled.
+     */
+    private static class DeadlineTextStripper extends PDFTextStripper {
+        private final long deadlineNanos;
+        private final long timeoutSeconds;
+        private final BooleanSupplier cancelled;
+
+        DeadlineTextStripper(long deadlineNanos, long timeoutSeconds, BooleanSupplier cancelled) {
+            this.deadlineNanos = deadlineNanos;
+            this.timeoutSeconds = timeoutSeconds;
+            this.cancelled = cancelled;
+        }
+
+        @Override
+        public void processPage(PDPage page) throws IOException {
+            if (System.nanoTime() > deadlineNanos) {
+                throw new ParseLimitException(QuarantineReason.WALL_CLOCK_TIMEOUT,
+                        "PDF text extraction exceeded " + timeoutSeconds + " seconds");
+            }
+            if (cancelled.getAsBoolean() || Thread.currentThread().isInterrupted()) {
+                throw new IOException("PDF text extraction cancelled");
+            }
+            super.processPage(page);
+        }
+    }
+}
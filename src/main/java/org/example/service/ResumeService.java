@@ -1,25 +1,42 @@
 package org.example.service;
 
+import com.google.api.client.util.DateTime;
 import com.google.api.services.drive.model.File;
-import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
-import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
-import org.example.dto.AIAnalysisResponse;
+import org.example.dto.IngestionJobDTO;
 import org.example.dto.ResumeDTO;
+import org.example.dto.ResumeSectionDTO;
+import org.example.model.DriveSyncState;
+import org.example.model.IngestionQueueItem;
 import org.example.model.JobRequirement;
 import org.example.model.Resume;
+import org.example.model.ResumeSection;
+import org.example.repository.DriveSyncStateRepository;
 import org.example.repository.JobRequirementRepository;
 import org.example.repository.ResumeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.security.GeneralSecurityException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,7 +49,7 @@ public class ResumeService {
     private JobRequirementRepository jobRequirementRepository;
 
     @Autowired
-    private ResumeParserService parserService;
+    private JobRequirementService jobRequirementService;
 
     @Autowired
     private AIProviderFactory aiProviderFactory;
@@ -40,223 +57,413 @@ public class ResumeService {
     @Autowired
     private GoogleDriveService driveService;
 
+    @Autowired
+    private ResumeIngestionPipeline ingestionPipeline;
+
+    @Autowired
+    private IngestionJobService jobService;
+
+    @Autowired
+    private FileSpoolService spoolService;
+
+    @Autowired
+    private ArchiveExpander archiveExpander;
+
+    @Autowired
+    private IngestionGovernor governor;
+
+    @Autowired
+    private IngestionQueueService queueService;
+
+    @Autowired
+    private DriveSyncStateRepository driveSyncStateRepository;
+
+    @Autowired
+    private DriveDownloader driveDownloader;
+
+    @Autowired
+    private LocalPreScorer preScorer;
+
+    @Value("${google.drive.sync.overlap-seconds:60}")
+    private long driveSyncOverlapSeconds;
+
+    private static final int DRIVE_LOOKUP_BATCH = 500;
+
     public ResumeDTO uploadAndAnalyzeResume(MultipartFile file) throws IOException {
         return uploadAndAnalyzeResume(file, null);
     }
 
     public ResumeDTO uploadAndAnalyzeResume(MultipartFile file, String aiProvider) throws IOException {
-        // Extract text from resume
-        String extractedText = parserService.extractTextFromFile(file);
-
         // Get active job requirement
         JobRequirement jobReq = jobRequirementRepository.findFirstByActiveTrue()
                 .orElseThrow(() -> new RuntimeException("No active job requirement found"));
 
-        // Get AI service and analyze
-        AIService aiService = aiProviderFactory.getAIService(aiProvider);
-        String jobRequirements = buildJobRequirementText(jobReq);
-        AIAnalysisResponse analysis = aiService.analyzeResume(extractedText, jobRequirements);
-
-        System.out.println("DEBUG: Analyzed with " + aiService.getProviderName());
-
-        // Create and save resume entity
-        Resume resume = new Resume();
-        resume.setExtractedText(extractedText);
-        resume.setFileName(file.getOriginalFilename());
-        resume.setFileType(file.getContentType());
-        resume.setSource("UPLOAD");
-        resume.setCandidateName(analysis.getCandidateName());
-        resume.setEmail(analysis.getEmail());
-        resume.setPhone(analysis.getPhone());
-        resume.setSkills(analysis.getExtractedSkills());
-        resume.setExperience(analysis.getExtractedExperience());
-        resume.setMatchScore(analysis.getMatchScore());
-        resume.setMatchAnalysis(analysis.getAnalysis());
-        resume.setUploadedAt(LocalDateTime.now());
-        resume.setAnalyzedAt(LocalDateTime.now());
-
-        resume = resumeRepository.save(resume);
-        return convertToDTO(resume);
-    }
-
-    public List<ResumeDTO> uploadAndAnalyzeMultipleResumes(MultipartFile[] files, String aiProvider) throws IOException {
-        List<ResumeDTO> results = new ArrayList<>();
-
-        // Get active job requirement once
-        JobRequirement jobReq = jobRequirementRepository.findFirstByActiveTrue()
-                .orElseThrow(() -> new RuntimeException("No active job requirement found"));
-        String jobRequirements = buildJobRequirementText(jobReq);
+        if (!sniff(file).isResume()) {
+            throw new IllegalArgumentException("Unsupported file type: " + file.getOriginalFilename());
+        }
 
-        // Get AI service
-        AIService aiService = aiProviderFactory.getAIService(aiProvider);
+        // Get AI service and analyze; content that was analyzed before returns the stored resume
+        AIService aiService = aiProviderFactory.getCachingAIService(aiProvider);
+        String jobRequirements = jobRequirementService.buildRequirementText(jobReq);
+        LocalPreScorer.Profile profile = preScorer.profile(jobReq);
+        IngestionItem item = new IngestionItem(file.getOriginalFilename(), file.getContentType(), "UPLOAD", null,
+                file::getInputStream);
+
+        try (IngestionGovernor.Permit permit = governor.admit(file.getSize())) {
+            Resume resume = ingestionPipeline.submit(item, aiService, jobRequirements, profile,
+                    IngestionListener.NONE).join();
+            return convertToDTO(resume);
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(cause.getMessage(), cause);
+        }
+    }
 
+    public IngestionJobDTO startMultipleUploadJob(MultipartFile[] files, String aiProvider) throws IOException {
+        long totalBytes = 0;
         for (MultipartFile file : files) {
-            try {
-                // Extract text from resume
-                String extractedText = parserService.extractTextFromFile(file);
-
-                // Analyze resume
-                AIAnalysisResponse analysis = aiService.analyzeResume(extractedText, jobRequirements);
-
-                System.out.println("DEBUG: Analyzed " + file.getOriginalFilename() + " with " + aiService.getProviderName());
-
-                // Create and save resume entity
-                Resume resume = new Resume();
-                resume.setExtractedText(extractedText);
-                resume.setFileName(file.getOriginalFilename());
-                resume.setFileType(file.getContentType());
-                resume.setSource("UPLOAD");
-                resume.setCandidateName(analysis.getCandidateName());
-                resume.setEmail(analysis.getEmail());
-                resume.setPhone(analysis.getPhone());
-                resume.setSkills(analysis.getExtractedSkills());
-                resume.setExperience(analysis.getExtractedExperience());
-                resume.setMatchScore(analysis.getMatchScore());
-                resume.setMatchAnalysis(analysis.getAnalysis());
-                resume.setUploadedAt(LocalDateTime.now());
-                resume.setAnalyzedAt(LocalDateTime.now());
-
-                resume = resumeRepository.save(resume);
-                results.add(convertToDTO(resume));
-            } catch (Exception e) {
-                System.err.println("Error processing file " + file.getOriginalFilename() + ": " + e.getMessage());
-                // Continue with next file
+            totalBytes += file.getSize();
+        }
+        IngestionGovernor.Permit permit = governor.admit(totalBytes);
+
+        // Spool to disk first: multipart temp files disappear once the request returns
+        List<IngestionItem> items = new ArrayList<>(files.length);
+        List<Path> spooled = new ArrayList<>(files.length);
+        try {
+            for (MultipartFile file : files) {
+                Path path = spoolService.spool(file);
+                spooled.add(path);
+                IngestionItem item = new IngestionItem(file.getOriginalFilename(), file.getContentType(), "UPLOAD", null,
+                        () -> Files.newInputStream(path));
+                item.setSpoolPath(path.toString());
+                items.add(item);
             }
+        } catch (IOException e) {
+            spooled.forEach(spoolService::delete);
+            permit.close();
+            throw e;
         }
 
-        return results;
+        return startIngestionJob("UPLOAD_MULTIPLE", aiProvider, sink -> items.forEach(sink::submit), () -> {
+            spooled.forEach(spoolService::delete);
+            permit.close();
+        });
     }
 
-    public List<ResumeDTO> uploadAndAnalyzeZipFile(MultipartFile zipFile, String aiProvider) throws IOException {
-        List<ResumeDTO> results = new ArrayList<>();
+    public IngestionJobDTO startZipUploadJob(MultipartFile zipFile, String aiProvider) throws IOException {
+        String archiveName = zipFile.getOriginalFilename() != null ? zipFile.getOriginalFilename() : "upload.zip";
+        FormatSniffer.Format format = sniff(zipFile);
+        if (!format.isArchive()) {
+            throw new IllegalArgumentException(archiveName + " is not a ZIP, TAR or TAR.GZ archive");
+        }
 
-        // Get active job requirement once
-        JobRequirement jobReq = jobRequirementRepository.findFirstByActiveTrue()
-                .orElseThrow(() -> new RuntimeException("No active job requirement found"));
-        String jobRequirements = buildJobRequirementText(jobReq);
+        // Spool the archive once and read entries from disk; nothing is buffered on the heap
+        IngestionGovernor.Permit permit = governor.admit(zipFile.getSize());
+        Path archive;
+        try {
+            archive = spoolService.spool(zipFile);
+        } catch (IOException e) {
+            permit.close();
+            throw e;
+        }
+        return startArchiveJob(archive, archiveName, aiProvider, permit);
+    }
+
+    /**
+     * Start a job for a file that is already in the spool, e.g. an assembled chunked upload.
+     * Archives are expanded; PDF and Word files are ingested as a single-file batch.
+     * The job owns the file from here on, unless admission is rejected before anything starts.
+     * @throws IngestionRejectedException if the governor cannot admit the file right now
+     */
+    public IngestionJobDTO startSpooledUploadJob(Path file, String fileName, String aiProvider) throws IOException {
+        IngestionGovernor.Permit permit = governor.admit(Files.size(file));
+        FormatSniffer.Format format;
+        try {
+            format = FormatSniffer.detect(file, null, fileName);
+        } catch (IOException e) {
+            permit.close();
+            throw e;
+        }
+        if (format.isArchive()) {
+            return startArchiveJob(file, fileName, aiProvider, permit);
+        }
+
+        String contentType = format.getContentType();
+        if (contentType == null) {
+            spoolService.delete(file);
+            permit.close();
+            throw new RuntimeException("Unsupported file type: " + fileName);
+        }
+        IngestionItem item = new IngestionItem(fileName, contentType, "UPLOAD", null, () -> Files.newInputStream(file));
+        item.setSpoolPath(file.toString());
+        return startIngestionJob("UPLOAD_MULTIPLE", aiProvider, sink -> sink.submit(item), () -> {
+            spoolService.delete(file);
+            permit.close();
+        });
+    }
 
-        // Get AI service
-        AIService aiService = aiProviderFactory.getAIService(aiProvider);
+    private FormatSniffer.Format sniff(MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            byte[] head = in.readNBytes(FormatSniffer.PEEK_BYTES);
+            return FormatSniffer.detect(head, head.length, file.getContentType(), file.getOriginalFilename());
+        }
+    }
 
-        try (ZipArchiveInputStream zipInput = new ZipArchiveInputStream(new ByteArrayInputStream(zipFile.getBytes()))) {
-            ZipArchiveEntry entry;
+    private IngestionJobDTO startArchiveJob(Path archive, String archiveName, String aiProvider,
+                                            IngestionGovernor.Permit permit) {
+        ArchiveExpander.Expansion expansion = archiveExpander.open();
+        return startIngestionJob("UPLOAD_ZIP", aiProvider, sink -> {
+            int found = expansion.expand(archive, archiveName, "UPLOAD_ZIP", sink::submit);
+            if (found == 0) {
+                throw new RuntimeException("No valid resume files found in archive. Please ensure it contains PDF or Word documents.");
+            }
+        }, () -> {
+            expansion.close();
+            spoolService.delete(archive);
+            permit.close();
+        });
+    }
 
-            while ((entry = zipInput.getNextEntry()) != null) {
-                if (entry.isDirectory()) {
+    public IngestionJobDTO startGoogleDriveImportJob(String folderId, String aiProvider) {
+        return startGoogleDriveSyncJob(folderId, aiProvider, true);
+    }
+
+    /**
+     * Sync a Drive folder: page through its files and ingest only those whose id and modifiedTime
+     * are not stored yet. An incremental sync lists only files modified since the folder's last sync
+     * (with a small overlap for Drive's indexing lag); a full sync lists everything but still skips
+     * unchanged files. A changed file replaces the resume analyzed from its previous version.
+     */
+    public IngestionJobDTO startGoogleDriveSyncJob(String folderId, String aiProvider, boolean full) {
+        String folderKey = folderId != null && !folderId.isEmpty() ? folderId : "ALL";
+        DriveSyncState state = driveSyncStateRepository.findById(folderKey)
+                .orElse(new DriveSyncState(folderKey, null, null, 0, 0));
+        DateTime modifiedAfter = !full && state.getLastModifiedTime() != null
+                ? new DateTime(state.getLastModifiedTime() - driveSyncOverlapSeconds * 1000) : null;
+
+        List<Path> downloaded = Collections.synchronizedList(new ArrayList<>());
+        AtomicBoolean listed = new AtomicBoolean();
+        AtomicLong newestSeen = new AtomicLong(state.getLastModifiedTime() != null ? state.getLastModifiedTime() : 0);
+        AtomicLong oldestFailed = new AtomicLong(Long.MAX_VALUE);
+        AtomicInteger listedCount = new AtomicInteger();
+        AtomicInteger changedCount = new AtomicInteger();
+        List<CompletableFuture<Void>> versionUpdates = Collections.synchronizedList(new ArrayList<>());
+
+        return startIngestionJob("GOOGLE_DRIVE", aiProvider, sink -> {
+            List<File> driveFiles = driveService.listResumeFiles(folderId, modifiedAfter);
+            Map<String, Long> stored = storedDriveVersions(driveFiles);
+            listed.set(true);
+            listedCount.set(driveFiles.size());
+
+            for (File driveFile : driveFiles) {
+                long modifiedTime = driveFile.getModifiedTime() != null ? driveFile.getModifiedTime().getValue() : 0;
+                newestSeen.accumulateAndGet(modifiedTime, Math::max);
+                Long storedTime = stored.get(driveFile.getId());
+                if (storedTime != null && storedTime >= modifiedTime) {
                     continue;
                 }
-
-                String fileName = entry.getName();
-                String lowerFileName = fileName.toLowerCase();
-
-                // Process only PDF and Word documents
-                if (lowerFileName.endsWith(".pdf") || lowerFileName.endsWith(".doc") || lowerFileName.endsWith(".docx")) {
-                    try {
-                        // Read file content from zip
-                        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-                        byte[] buffer = new byte[8192];
-                        int bytesRead;
-                        while ((bytesRead = zipInput.read(buffer)) != -1) {
-                            outputStream.write(buffer, 0, bytesRead);
-                        }
-                        byte[] fileBytes = outputStream.toByteArray();
-
-                        // Determine content type
-                        String contentType;
-                        if (lowerFileName.endsWith(".pdf")) {
-                            contentType = "application/pdf";
-                        } else if (lowerFileName.endsWith(".docx")) {
-                            contentType = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
-                        } else {
-                            contentType = "application/msword";
-                        }
-
-                        // Extract text from resume
-                        String extractedText = parserService.extractTextFromBytes(fileBytes, contentType);
-
-                        // Analyze resume
-                        AIAnalysisResponse analysis = aiService.analyzeResume(extractedText, jobRequirements);
-
-                        System.out.println("DEBUG: Analyzed " + fileName + " from ZIP with " + aiService.getProviderName());
-
-                        // Create and save resume entity
-                        Resume resume = new Resume();
-                        resume.setExtractedText(extractedText);
-                        resume.setFileName(fileName);
-                        resume.setFileType(contentType);
-                        resume.setSource("UPLOAD_ZIP");
-                        resume.setCandidateName(analysis.getCandidateName());
-                        resume.setEmail(analysis.getEmail());
-                        resume.setPhone(analysis.getPhone());
-                        resume.setSkills(analysis.getExtractedSkills());
-                        resume.setExperience(analysis.getExtractedExperience());
-                        resume.setMatchScore(analysis.getMatchScore());
-                        resume.setMatchAnalysis(analysis.getAnalysis());
-                        resume.setUploadedAt(LocalDateTime.now());
-                        resume.setAnalyzedAt(LocalDateTime.now());
-
-                        resume = resumeRepository.save(resume);
-                        results.add(convertToDTO(resume));
-                    } catch (Exception e) {
-                        System.err.println("Error processing file " + fileName + " from ZIP: " + e.getMessage());
-                        // Continue with next file
+                changedCount.incrementAndGet();
+
+                // Download starts now on the download pool and streams to the spool; it overlaps with
+                // analysis of earlier files, and the pipeline's file slots bound how far it runs ahead
+                IngestionItem item = new IngestionItem(driveFile.getName(), driveFile.getMimeType(), "GOOGLE_DRIVE",
+                        driveFile.getId(), driveDownloader.prefetch(driveFile.getId(), driveFile.getName(), downloaded::add));
+                item.setDriveModifiedTime(modifiedTime);
+                versionUpdates.add(sink.submit(item).handle((resume, error) -> {
+                    // No resume means the job was cancelled before the file was ingested: retry it like a failure
+                    if (error != null || resume == null) {
+                        oldestFailed.accumulateAndGet(modifiedTime, Math::min);
+                    } else {
+                        recordDriveVersion(resume, driveFile.getId(), modifiedTime);
                     }
+                    return null;
+                }));
+            }
+            System.out.println("DEBUG: Drive sync of " + folderKey + ": " + changedCount.get() + " of "
+                    + driveFiles.size() + " listed file(s) are new or changed");
+        }, () -> {
+            downloaded.forEach(spoolService::delete);
+            if (listed.get()) {
+                CompletableFuture.allOf(versionUpdates.toArray(new CompletableFuture[0])).join();
+                // Never advance past a file that failed or was skipped, so the next incremental sync picks it up again
+                long watermark = oldestFailed.get() == Long.MAX_VALUE
+                        ? newestSeen.get() : Math.min(newestSeen.get(), oldestFailed.get() - 1);
+                state.setLastModifiedTime(watermark > 0 ? watermark : null);
+                state.setLastSyncedAt(LocalDateTime.now());
+                state.setLastListedFiles(listedCount.get());
+                state.setLastChangedFiles(changedCount.get());
+                driveSyncStateRepository.save(state);
+            }
+        });
+    }
+
+    private Map<String, Long> storedDriveVersions(List<File> driveFiles) {
+        Map<String, Long> stored = new HashMap<>();
+        List<String> ids = driveFiles.stream().map(File::getId).collect(Collectors.toList());
+        // Bounded IN lists keep each lookup cheap for folders with thousands of files
+        for (int from = 0; from < ids.size(); from += DRIVE_LOOKUP_BATCH) {
+            List<String> batch = ids.subList(from, Math.min(ids.size(), from + DRIVE_LOOKUP_BATCH));
+            for (ResumeRepository.DriveFileVersion version : resumeRepository.findByDriveFileIdIn(batch)) {
+                if (version.getDriveModifiedTime() != null) {
+                    stored.merge(version.getDriveFileId(), version.getDriveModifiedTime(), Math::max);
                 }
             }
         }
+        return stored;
+    }
 
-        if (results.isEmpty()) {
-            throw new RuntimeException("No valid resume files found in ZIP. Please ensure ZIP contains PDF or Word documents.");
+    private void recordDriveVersion(Resume resume, String driveFileId, long modifiedTime) {
+        try {
+            // Unchanged content under a new modifiedTime (or a copy of an uploaded file) resolves to an
+            // existing resume; stamp it with this version so the next sync skips the file
+            if (!driveFileId.equals(resume.getDriveFileId()) || resume.getDriveModifiedTime() == null
+                    || resume.getDriveModifiedTime() < modifiedTime) {
+                resumeRepository.updateDriveVersion(resume.getId(), driveFileId, modifiedTime);
+            }
+            int replaced = resumeRepository.deleteOtherDriveVersions(driveFileId, resume.getId());
+            if (replaced > 0) {
+                System.out.println("DEBUG: Replaced " + replaced + " outdated analysis(es) of Drive file " + driveFileId);
+            }
+        } catch (Exception e) {
+            System.err.println("WARNING: Could not record Drive version of " + driveFileId + ": " + e.getMessage());
         }
+    }
 
-        return results;
+    /**
+     * Resume files that were still in the pipeline when the previous instance stopped.
+     * Their spooled content is kept; anything else left in the spool is removed.
+     * Already saved content is recognised by its hash and the stored analysis is reused.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void replayPendingIngestion() {
+        if (!queueService.isEnabled()) {
+            return;
+        }
+        List<IngestionQueueItem> pending = queueService.claimPendingForReplay();
+        Set<Path> keep = pending.stream()
+                .filter(row -> row.getSpoolPath() != null)
+                .map(row -> Paths.get(row.getSpoolPath()))
+                .collect(Collectors.toSet());
+        int orphans = spoolService.deleteOrphans(keep);
+        if (orphans > 0) {
+            System.out.println("DEBUG: Removed " + orphans + " orphaned spool file(s)");
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        System.out.println("DEBUG: Replaying " + pending.size() + " unfinished ingestion item(s)");
+        Map<String, List<IngestionQueueItem>> byProvider = pending.stream()
+                .collect(Collectors.groupingBy(row -> row.getAiProvider() != null ? row.getAiProvider() : ""));
+        byProvider.forEach((provider, rows) -> {
+            List<Path> downloaded = Collections.synchronizedList(new ArrayList<>());
+            AtomicBoolean started = new AtomicBoolean();
+            try {
+                startIngestionJob("REPLAY", provider, sink -> {
+                    started.set(true);
+                    rows.forEach(row -> sink.submit(toReplayItem(row, downloaded)));
+                }, () -> {
+                    // If the job could not start, the spooled content is still needed by the next attempt
+                    if (started.get()) {
+                        deleteReplayedContent(rows, downloaded);
+                    }
+                });
+            } catch (RuntimeException e) {
+                System.err.println("WARNING: Could not replay pending ingestion items: " + e.getMessage());
+            }
+        });
     }
 
-    public List<ResumeDTO> importFromGoogleDrive(String folderId) throws IOException, GeneralSecurityException {
-        return importFromGoogleDrive(folderId, null);
+    private IngestionItem toReplayItem(IngestionQueueItem row, List<Path> downloaded) {
+        IngestionItem.ContentSource content;
+        if (row.getSpoolPath() != null) {
+            Path path = Paths.get(row.getSpoolPath());
+            content = row.getArchiveEntry() != null
+                    ? () -> archiveExpander.openEntry(path, row.getArchiveEntry())
+                    : () -> Files.newInputStream(path);
+        } else {
+            content = driveDownloader.onFirstOpen(row.getDriveFileId(), row.getFileName(), downloaded::add);
+        }
+
+        IngestionItem item = new IngestionItem(row.getFileName(), row.getContentType(), row.getSource(),
+                row.getDriveFileId(), content);
+        item.setDriveModifiedTime(row.getDriveModifiedTime());
+        item.setSpoolPath(row.getSpoolPath());
+        item.setArchiveEntry(row.getArchiveEntry());
+        item.setQueueId(row.getId());
+        return item;
     }
 
-    public List<ResumeDTO> importFromGoogleDrive(String folderId, String aiProvider) throws IOException, GeneralSecurityException {
-        List<File> driveFiles = driveService.listResumeFiles(folderId);
-        List<ResumeDTO> results = new ArrayList<>();
+    private void deleteReplayedContent(List<IngestionQueueItem> replayed, List<Path> downloaded) {
+        downloaded.forEach(spoolService::delete);
+        replayed.stream()
+                .map(IngestionQueueItem::getSpoolPath)
+                .filter(path -> path != null)
+                .distinct()
+                .forEach(path -> spoolService.delete(Paths.get(path)));
+    }
 
-        JobRequirement jobReq = jobRequirementRepository.findFirstByActiveTrue()
-                .orElseThrow(() -> new RuntimeException("No active job requirement found"));
-        String jobRequirements = buildJobRequirementText(jobReq);
+    /**
+     * Feeds files discovered by an {@link ItemSource} into the ingestion pipeline as one background job.
+     */
+    @FunctionalInterface
+    private interface ItemSink {
+        /**
+         * @return future of the saved resume; completes with null when the job was cancelled before the item was submitted
+         */
+        CompletableFuture<Resume> submit(IngestionItem item);
+    }
 
-        AIService aiService = aiProviderFactory.getAIService(aiProvider);
+    @FunctionalInterface
+    private interface ItemSource {
+        void discover(ItemSink sink) throws Exception;
+    }
 
-        for (File driveFile : driveFiles) {
-            try {
-                byte[] fileBytes = driveService.downloadFile(driveFile.getId());
-                String extractedText = parserService.extractTextFromBytes(fileBytes, driveFile.getMimeType());
-
-                AIAnalysisResponse analysis = aiService.analyzeResume(extractedText, jobRequirements);
-
-                Resume resume = new Resume();
-                resume.setExtractedText(extractedText);
-                resume.setFileName(driveFile.getName());
-                resume.setFileType(driveFile.getMimeType());
-                resume.setSource("GOOGLE_DRIVE");
-                resume.setDriveFileId(driveFile.getId());
-                resume.setCandidateName(analysis.getCandidateName());
-                resume.setEmail(analysis.getEmail());
-                resume.setPhone(analysis.getPhone());
-                resume.setSkills(analysis.getExtractedSkills());
-                resume.setExperience(analysis.getExtractedExperience());
-                resume.setMatchScore(analysis.getMatchScore());
-                resume.setMatchAnalysis(analysis.getAnalysis());
-                resume.setUploadedAt(LocalDateTime.now());
-                resume.setAnalyzedAt(LocalDateTime.now());
-
-                resume = resumeRepository.save(resume);
-                results.add(convertToDTO(resume));
-            } catch (Exception e) {
-                System.err.println("Error processing file " + driveFile.getName() + ": " + e.getMessage());
-            }
+    private IngestionJobDTO startIngestionJob(String type, String aiProvider, ItemSource source, Runnable cleanup) {
+        // Resolve the requirement and provider up front so misconfiguration fails the request, not the job
+        String jobRequirements;
+        LocalPreScorer.Profile profile;
+        AIService aiService;
+        try {
+            JobRequirement jobReq = jobRequirementRepository.findFirstByActiveTrue()
+                    .orElseThrow(() -> new RuntimeException("No active job requirement found"));
+            jobRequirements = jobRequirementService.buildRequirementText(jobReq);
+            profile = preScorer.profile(jobReq);
+            aiService = aiProviderFactory.getCachingAIService(aiProvider);
+        } catch (RuntimeException e) {
+            cleanup.run();
+            throw e;
         }
 
-        return results;
+        IngestionJob job = jobService.startJob(type, j -> {
+            List<CompletableFuture<Resume>> futures = new ArrayList<>();
+            try {
+                source.discover(item -> {
+                    if (j.isCancelRequested()) {
+                        // Not enqueued either; cleanup still removes its spooled content
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    CompletableFuture<Resume> future = ingestionPipeline.submit(item, aiService, jobRequirements,
+                            profile, j.addFile(item.getFileName()));
+                    futures.add(future);
+                    return future;
+                });
+                j.discoveryComplete();
+            } finally {
+                // Failed files are recorded on their entries; wait for every file before cleaning up
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                        .handle((ignored, error) -> null)
+                        .join();
+                cleanup.run();
+            }
+        });
+        return job.toDTO(false);
     }
 
     public List<ResumeDTO> getAllResumesRanked() {
@@ -271,27 +478,25 @@ public class ResumeService {
         return convertToDTO(resume);
     }
 
-    public void deleteResume(Long id) {
-        resumeRepository.deleteById(id);
+    /**
+     * Sections of a resume's extracted text; resumes stored before sections were recorded are segmented on the fly.
+     */
+    public List<ResumeSectionDTO> getResumeSections(Long id) {
+        Resume resume = resumeRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Resume not found"));
+        String text = resume.getExtractedText() != null ? resume.getExtractedText() : "";
+        List<ResumeSection> sections = resume.getSections() != null && !resume.getSections().isEmpty()
+                ? resume.getSections() : SectionSegmenter.segment(text);
+        return sections.stream()
+                .filter(section -> section.getEndOffset() <= text.length())
+                .map(section -> new ResumeSectionDTO(section.getType().name(), section.getHeading(),
+                        section.getStartOffset(), section.getEndOffset(),
+                        text.substring(section.getStartOffset(), section.getEndOffset()).strip()))
+                .collect(Collectors.toList());
     }
 
-    private String buildJobRequirementText(JobRequirement jobReq) {
-        return String.format("""
-                Job Title: %s
-                
-                Description: %s
-                
-                Required Skills: %s
-                
-                Preferred Skills: %s
-                
-                Experience Level: %s
-                """,
-                jobReq.getJobTitle(),
-                jobReq.getDescription(),
-                jobReq.getRequiredSkills(),
-                jobReq.getPreferredSkills(),
-                jobReq.getExperienceLevel());
+    public void deleteResume(Long id) {
+        resumeRepository.deleteById(id);
     }
 
     private ResumeDTO convertToDTO(Resume resume) {
@@ -306,6 +511,8 @@ public class ResumeService {
         dto.setFileType(resume.getFileType());
         dto.setSource(resume.getSource());
         dto.setMatchScore(resume.getMatchScore());
+        dto.setLocalScore(resume.getLocalScore());
+        dto.setPreScreened(Boolean.TRUE.equals(resume.getPreScreened()));
         dto.setMatchAnalysis(resume.getMatchAnalysis());
         dto.setUploadedAt(resume.getUploadedAt());
         dto.setAnalyzedAt(resume.getAnalyzedAt());
@@ -0,0 +1,345 @@
+package org.example.service;
+
+import org.example.dto.PromptCompactionStatsDTO;
+import org.example.model.ResumeSection;
+import org.example.model.SectionType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Shrinks extracted resume text before it is put into a prompt. Whitespace is normalized, page numbers and
+ * headers/footers repeated on every PDF page are dropped, and text that is still over the provider's token
+ * budget loses its lowest-value sections first (awards and volunteering before experience and skills).
+ * Sections the analysis never needs (by default interests and references) are always left out.
+ * The stored resume text is never modified; only what is sent to the AI provider.
+ */
+@Component
+public class ResumeTextCompactor {
+
+    /**
+     * Page separator written by {@link ResumeParserService} between PDF pages.
+     */
+    public static final char PAGE_BREAK = '\f';
+
+    private static final Pattern INVISIBLE = Pattern.compile("[\\u00AD\\u200B-\\u200D\\u2060\\uFEFF]");
+    private static final Pattern HORIZONTAL_SPACE = Pattern.compile("[ \\t\\u00A0\\u2000-\\u200A\\u202F\\u3000]+");
+    private static final Pattern PAGE_NUMBER = Pattern.compile(
+            "(?i)^(?:page\\s*)?[-\\u2013(\\[]?\\s*\\d{1,3}\\s*(?:(?:/|of)\\s*\\d{1,3})?\\s*[-\\u2013)\\]]?$");
+    private static final Pattern DIGITS = Pattern.compile("\\d+");
+    private static final int MAX_BOILERPLATE_LINE = 120;
+    private static final String TRUNCATED = "[...]";
+
+    /**
+     * How much each kind of section tells the model about fit; sections below EDUCATION may be dropped whole.
+     */
+    private static final Map<SectionType, Integer> SECTION_VALUE = new EnumMap<>(Map.ofEntries(
+            Map.entry(SectionType.CONTACT, 100), Map.entry(SectionType.EXPERIENCE, 90),
+            Map.entry(SectionType.SKILLS, 85), Map.entry(SectionType.SUMMARY, 80),
+            Map.entry(SectionType.EDUCATION, 70), Map.entry(SectionType.PROJECTS, 55),
+            Map.entry(SectionType.CERTIFICATIONS, 50), Map.entry(SectionType.OTHER, 40),
+            Map.entry(SectionType.AWARDS, 30), Map.entry(SectionType.PUBLICATIONS, 25),
+            Map.entry(SectionType.VOLUNTEERING, 20), Map.entry(SectionType.LANGUAGES, 20),
+            Map.entry(SectionType.INTERESTS, 5), Map.entry(SectionType.REFERENCES, 0)));
+
+    @Value("${ai.prompt.compaction.enabled:true}")
+    private boolean enabled;
+
+    // Sections the analysis prompt never needs, left out whatever the budget
+    @Value("${ai.prompt.excluded-sections:INTERESTS,REFERENCES}")
+    private Set<SectionType> excludedSections;
+
+    @Value("${ai.prompt.max-resume-tokens.openai:6000}")
+    private int openAiMaxTokens;
+
+    @Value("${ai.prompt.max-resume-tokens.gemini:8000}")
+    private int geminiMaxTokens;
+
+    @Value("${ai.prompt.max-resume-tokens.groq:4000}")
+    private int groqMaxTokens;
+
+    private final AtomicLong resumes = new AtomicLong();
+    private final AtomicLong tokensBefore = new AtomicLong();
+    private final AtomicLong tokensAfter = new AtomicLong();
+    private final AtomicLong trimmed = new AtomicLong();
+
+    private record Section(SectionType type, int order, List<String> lines) {
+
+        int value() {
+            return SECTION_VALUE.getOrDefault(type, 40);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Compact resume text for a provider ("openai", "gemini" or "groq") and the model it currently uses.
+     */
+    public String compact(String text, String provider, String model) {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+        if (!enabled) {
+            return text.replace(PAGE_BREAK, '\n');
+        }
+        int before = estimateTokens(text, model);
+        List<String> lines = removeBoilerplate(normalize(text));
+
+        List<Section> sections = segment(lines);
+        if (excludedSections != null && !excludedSections.isEmpty()) {
+            sections.removeIf(section -> excludedSections.contains(section.type()));
+        }
+
+        String compacted = join(sections);
+        int budget = maxTokens(provider);
+        if (budget > 0 && estimateTokens(compacted, model) > budget) {
+            compacted = trimToBudget(sections, budget, model);
+            trimmed.incrementAndGet();
+        }
+
+        int after = estimateTokens(compacted, model);
+        resumes.incrementAndGet();
+        tokensBefore.addAndGet(before);
+        tokensAfter.addAndGet(after);
+        System.out.println("DEBUG: Compacted resume text for " + provider + " (" + model + ") from ~" + before
+                + " to ~" + after + " tokens");
+        return compacted;
+    }
+
+    /**
+     * Rough token count for a model family; there is no tokenizer on the classpath, so this uses the average
+     * characters per token of each family's vocabulary on English prose, counting non-Latin characters one each.
+     */
+    public int estimateTokens(String text, String model) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        double charsPerToken = charsPerToken(model);
+        long latin = 0;
+        long other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < 0x250) {
+                latin++;
+            } else {
+                other++;
+            }
+        }
+        return (int) Math.ceil(latin / charsPerToken + other);
+    }
+
+    public int maxTokens(String provider) {
+        if (provider == null) {
+            return openAiMaxTokens;
+        }
+        return switch (provider.toLowerCase(Locale.ROOT)) {
+            case "gemini" -> geminiMaxTokens;
+            case "groq" -> groqMaxTokens;
+            default -> openAiMaxTokens;
+        };
+    }
+
+    public PromptCompactionStatsDTO getStats() {
+        long count = resumes.get();
+        long before = tokensBefore.get();
+        long after = tokensAfter.get();
+        return new PromptCompactionStatsDTO(enabled, count, trimmed.get(), before, after,
+                count > 0 ? (double) before / count : 0, count > 0 ? (double) after / count : 0,
+                before > 0 ? 1.0 - (double) after / before : 0);
+    }
+
+    private double charsPerToken(String model) {
+        String name = model == null ? "" : model.toLowerCase(Locale.ROOT);
+        if (name.startsWith("gpt-4o") || name.startsWith("gpt-4.1") || name.startsWith("o1") || name.startsWith("o3")
+                || name.startsWith("o4")) {
+            return 4.2;
+        }
+        if (name.startsWith("gemini")) {
+            return 4.0;
+        }
+        if (name.contains("llama") || name.contains("mixtral") || name.contains("gemma")) {
+            return 3.6;
+        }
+        return 3.8;
+    }
+
+    /**
+     * One trimmed line per entry: invisible characters removed, runs of spaces and tabs collapsed and at most
+     * one blank line in a row. Page breaks survive as their own entries for boilerplate detection.
+     */
+    private List<String> normalize(String text) {
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC);
+        normalized = INVISIBLE.matcher(normalized).replaceAll("");
+        normalized = normalized.replace("\r\n", "\n").replace('\r', '\n');
+
+        normalized = normalized.replace(String.valueOf(PAGE_BREAK), "\n" + PAGE_BREAK + "\n");
+
+        List<String> lines = new ArrayList<>();
+        boolean blank = true;
+        for (String raw : normalized.split("\n")) {
+            if (raw.length() == 1 && raw.charAt(0) == PAGE_BREAK) {
+                lines.add(raw);
+                continue;
+            }
+            String line = HORIZONTAL_SPACE.matcher(raw).replaceAll(" ").trim();
+            if (line.isEmpty()) {
+                if (!blank) {
+                    lines.add("");
+                }
+                blank = true;
+            } else {
+                lines.add(line);
+                blank = false;
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Drops page numbers everywhere and, for multi-page documents, lines that recur on at least half of the
+     * pages (digits ignored, so "Jane Doe - Page 2" matches "Jane Doe - Page 3"). The first copy of a recurring
+     * line is kept because running headers often carry the candidate's name.
+     */
+    private List<String> removeBoilerplate(List<String> lines) {
+        List<List<String>> pages = new ArrayList<>();
+        List<String> page = new ArrayList<>();
+        for (String line : lines) {
+            if (line.length() == 1 && line.charAt(0) == PAGE_BREAK) {
+                pages.add(page);
+                page = new ArrayList<>();
+            } else if (!PAGE_NUMBER.matcher(line).matches()) {
+                page.add(line);
+            }
+        }
+        pages.add(page);
+        pages.removeIf(p -> p.stream().allMatch(String::isEmpty));
+
+        Set<String> boilerplate = new HashSet<>();
+        if (pages.size() > 1) {
+            Map<String, Integer> pagesContaining = new HashMap<>();
+            for (List<String> p : pages) {
+                Set<String> seen = new HashSet<>();
+                for (String line : p) {
+                    if (!line.isEmpty() && line.length() <= MAX_BOILERPLATE_LINE && seen.add(fingerprint(line))) {
+                        pagesContaining.merge(fingerprint(line), 1, Integer::sum);
+                    }
+                }
+            }
+            int threshold = Math.max(2, (pages.size() + 1) / 2);
+            pagesContaining.forEach((line, count) -> {
+                if (count >= threshold) {
+                    boilerplate.add(line);
+                }
+            });
+        }
+
+        List<String> result = new ArrayList<>();
+        Set<String> kept = new HashSet<>();
+        for (List<String> p : pages) {
+            for (String line : p) {
+                if (!line.isEmpty() && boilerplate.contains(fingerprint(line)) && !kept.add(fingerprint(line))) {
+                    continue;
+                }
+                if (line.isEmpty() && (result.isEmpty() || result.get(result.size() - 1).isEmpty())) {
+                    continue;
+                }
+                result.add(line);
+            }
+        }
+        while (!result.isEmpty() && result.get(result.size() - 1).isEmpty()) {
+            result.remove(result.size() - 1);
+        }
+        return result;
+    }
+
+    /**
+     * Removes whole sections from the least valuable up until the text fits; if the valuable ones alone are
+     * still too long, each keeps its opening lines in proportion to its size.
+     */
+    private String trimToBudget(List<Section> sections, int budget, String model) {
+        List<Section> byValue = new ArrayList<>(sections);
+        byValue.sort(Comparator.comparingInt(Section::value).thenComparing(s -> -s.order()));
+
+        int total = sections.stream().mapToInt(s -> tokens(s, model)).sum();
+        Set<Section> dropped = new HashSet<>();
+        for (Section section : byValue) {
+            if (total <= budget || section.value() >= SECTION_VALUE.get(SectionType.EDUCATION)) {
+                break;
+            }
+            dropped.add(section);
+            total -= tokens(section, model);
+        }
+
+        List<Section> remaining = sections.stream().filter(s -> !dropped.contains(s)).toList();
+        double keepRatio = total > budget ? (double) budget / total : 1.0;
+        StringBuilder text = new StringBuilder();
+        for (Section section : remaining) {
+            if (text.length() > 0) {
+                text.append('\n');
+            }
+            List<String> sectionLines = section.lines();
+            int keep = keepRatio < 1.0 ? Math.max(1, (int) (sectionLines.size() * keepRatio)) : sectionLines.size();
+            for (int i = 0; i < keep; i++) {
+                text.append(sectionLines.get(i)).append('\n');
+            }
+            if (keep < sectionLines.size()) {
+                text.append(TRUNCATED).append('\n');
+            }
+        }
+
+        // Line granularity can still overshoot on a few very long lines
+        String result = text.toString().trim();
+        int maxChars = (int) (budget * charsPerToken(model));
+        if (estimateTokens(result, model) > budget && result.length() > maxChars) {
+            result = result.substring(0, maxChars) + "\n" + TRUNCATED;
+        }
+        return result;
+    }
+
+    /**
+     * Splits normalized lines with {@link SectionSegmenter}, so the prompt sees the same sections as the
+     * ones stored with the resume.
+     */
+    private List<Section> segment(List<String> lines) {
+        String text = String.join("\n", lines);
+        List<Section> sections = new ArrayList<>();
+        for (ResumeSection section : SectionSegmenter.segment(text)) {
+            String sectionText = text.substring(section.getStartOffset(), section.getEndOffset()).strip();
+            sections.add(new Section(section.getType(), sections.size(), new ArrayList<>(List.of(sectionText.split("\n")))));
+        }
+        return sections;
+    }
+
+    private String join(List<Section> sections) {
+        StringBuilder text = new StringBuilder();
+        for (Section section : sections) {
+            if (text.length() > 0) {
+                text.append("\n\n");
+            }
+            text.append(String.join("\n", section.lines()));
+        }
+        return text.toString();
+    }
+
+    private int tokens(Section section, String model) {
+        return estimateTokens(String.join("\n", section.lines()), model) + 1;
+    }
+
+    private static String fingerprint(String line) {
+        return DIGITS.matcher(line.toLowerCase(Locale.ROOT)).replaceAll("#");
+    }
+
+}
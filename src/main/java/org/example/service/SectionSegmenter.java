@@ -0,0 +1,196 @@
+package org.example.service;
+
+import org.example.model.ResumeSection;
+import org.example.model.SectionType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Rule-based, single-pass splitter of extracted resume text into sections (contact, summary, experience,
+ * education, skills, projects, ...). A line is a heading when it is short and either names a known section
+ * ("Work Experience", "SKILLS:", "Skills: Java, SQL") or is written in capitals like the known headings
+ * before it. Sections are returned with character offsets into the text they were found in.
+ */
+public final class SectionSegmenter {
+
+    private static final int MAX_HEADING_LENGTH = 40;
+    private static final int MAX_HEADING_WORDS = 5;
+    private static final Pattern DECORATION = Pattern.compile("^[\\s#*=_~\\-\\u2022\\u25AA\\u25CF\\u2013\\u2014|]+|[\\s#*=_~\\-\\u2013\\u2014|:]+$");
+    private static final Pattern HEADING_TEXT = Pattern.compile("[\\p{L} &/,'-]+");
+    private static final Pattern WORD_SPLIT = Pattern.compile("[\\s/,]+");
+    private static final Pattern CONJUNCTION = Pattern.compile(" and |/|,");
+    // Sections whose entries often start with an employer, school or project name in capitals
+    private static final Set<SectionType> NAMED_ENTRIES = Set.of(SectionType.EXPERIENCE, SectionType.EDUCATION,
+            SectionType.PROJECTS, SectionType.VOLUNTEERING);
+    private static final Set<String> MINOR_WORDS = Set.of("and", "of", "&", "the", "in", "for", "to");
+
+    private static final Map<String, SectionType> KEYWORDS = new HashMap<>();
+
+    static {
+        keywords(SectionType.VOLUNTEERING, "volunteer experience", "volunteer work", "volunteering", "volunteer",
+                "extracurricular activities", "extracurricular", "activities", "involvement");
+        keywords(SectionType.SUMMARY, "summary", "profile", "objective", "about me", "overview", "introduction");
+        keywords(SectionType.EXPERIENCE, "experience", "employment", "work history", "career history", "history",
+                "internships");
+        keywords(SectionType.EDUCATION, "education", "academics", "qualifications");
+        keywords(SectionType.SKILLS, "skills", "competencies", "technologies", "tech stack", "expertise",
+                "proficiencies", "tools", "programming languages");
+        keywords(SectionType.PROJECTS, "projects", "portfolio");
+        keywords(SectionType.CERTIFICATIONS, "certifications", "certification", "certificates", "licenses",
+                "courses", "coursework", "training");
+        keywords(SectionType.AWARDS, "awards", "honors", "honours", "achievements", "accomplishments");
+        keywords(SectionType.PUBLICATIONS, "publications", "patents", "presentations", "talks");
+        keywords(SectionType.LANGUAGES, "languages");
+        keywords(SectionType.INTERESTS, "interests", "hobbies");
+        keywords(SectionType.REFERENCES, "references", "referees");
+    }
+
+    private SectionSegmenter() {
+    }
+
+    public static List<ResumeSection> segment(String text) {
+        List<ResumeSection> sections = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return sections;
+        }
+
+        SectionType currentType = SectionType.CONTACT;
+        String currentHeading = null;
+        int currentStart = 0;
+        // Unknown capitalised headings only count in documents whose known headings are capitalised too
+        boolean upperCaseHeadings = false;
+
+        int lineStart = 0;
+        while (lineStart < text.length()) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = text.length();
+            }
+            String line = text.substring(lineStart, lineEnd).trim();
+            SectionType heading = headingType(line, upperCaseHeadings && !NAMED_ENTRIES.contains(currentType));
+            // "Tools: Git" inside a skills section is a sub-heading, not a new section
+            if (heading != null && heading != currentType) {
+                addSection(sections, text, currentType, currentHeading, currentStart, lineStart);
+                currentType = heading;
+                currentHeading = line.length() > 100 ? line.substring(0, 100) : line;
+                currentStart = lineStart;
+                if (heading != SectionType.OTHER && currentHeading.indexOf(':') < 0) {
+                    upperCaseHeadings = isUpperCase(currentHeading);
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        addSection(sections, text, currentType, currentHeading, currentStart, text.length());
+        return sections;
+    }
+
+    /**
+     * Section a line opens, or null when the line is not a heading.
+     *
+     * @param allowUnknown whether a capitalised line naming no known section still counts as a heading;
+     *                     off before the first known heading, where it is more likely the candidate's name
+     */
+    public static SectionType headingType(String line, boolean allowUnknown) {
+        if (line.isEmpty() || line.length() > 100) {
+            return null;
+        }
+        // "Skills: Java, SQL" opens a section on the same line as its content
+        int colon = line.indexOf(':');
+        if (colon > 0 && colon < line.length() - 1) {
+            String label = DECORATION.matcher(line.substring(0, colon)).replaceAll("");
+            return label.length() <= MAX_HEADING_LENGTH && HEADING_TEXT.matcher(label).matches()
+                    && looksLikeHeading(label) ? known(label) : null;
+        }
+
+        String label = DECORATION.matcher(line).replaceAll("");
+        if (label.isEmpty() || label.length() > MAX_HEADING_LENGTH || !HEADING_TEXT.matcher(label).matches()
+                || !looksLikeHeading(label)) {
+            return null;
+        }
+        SectionType type = known(label);
+        if (type != null) {
+            return type;
+        }
+        long letters = label.chars().filter(Character::isLetter).count();
+        return allowUnknown && letters >= 4 && isUpperCase(label) ? SectionType.OTHER : null;
+    }
+
+    /**
+     * The text of every section of the given types, in document order.
+     */
+    public static String text(String text, List<ResumeSection> sections, Set<SectionType> types) {
+        StringBuilder result = new StringBuilder();
+        for (ResumeSection section : sections) {
+            if (types.contains(section.getType()) && section.getEndOffset() <= text.length()) {
+                result.append(text, section.getStartOffset(), section.getEndOffset());
+                if (result.length() > 0 && result.charAt(result.length() - 1) != '\n') {
+                    result.append('\n');
+                }
+            }
+        }
+        return result.toString();
+    }
+
+    public static boolean hasSection(List<ResumeSection> sections, SectionType type) {
+        return sections.stream().anyMatch(section -> section.getType() == type);
+    }
+
+    /**
+     * Matches the whole label, then its head noun: the last word of the first conjunct, so "Technical Skills"
+     * is SKILLS and "Education and Training" is EDUCATION, while a job title like "Research Assistant" is nothing.
+     */
+    private static SectionType known(String label) {
+        String normalized = label.toLowerCase(Locale.ROOT).replace("&", " and ").replaceAll("\\s+", " ").trim();
+        SectionType type = KEYWORDS.get(normalized);
+        if (type != null) {
+            return type;
+        }
+        String firstConjunct = CONJUNCTION.split(normalized)[0].trim();
+        type = KEYWORDS.get(firstConjunct);
+        if (type != null) {
+            return type;
+        }
+        String[] words = WORD_SPLIT.split(firstConjunct);
+        return words.length > 0 ? KEYWORDS.get(words[words.length - 1]) : null;
+    }
+
+    /**
+     * A few words, each capitalised apart from minor ones ("Work Experience", "EDUCATION", "Skills and Tools");
+     * rules out sentences such as "Experience with Java".
+     */
+    private static boolean looksLikeHeading(String label) {
+        String[] words = WORD_SPLIT.split(label.trim());
+        if (words.length == 0 || words.length > MAX_HEADING_WORDS) {
+            return false;
+        }
+        for (String word : words) {
+            if (!word.isEmpty() && Character.isLowerCase(word.charAt(0)) && !MINOR_WORDS.contains(word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isUpperCase(String label) {
+        return label.chars().filter(Character::isLetter).allMatch(Character::isUpperCase);
+    }
+
+    private static void addSection(List<ResumeSection> sections, String text, SectionType type, String heading,
+                                   int start, int end) {
+        if (end > start && !text.substring(start, end).isBlank()) {
+            sections.add(new ResumeSection(type, heading, start, end));
+        }
+    }
+
+    private static void keywords(SectionType type, String... phrases) {
+        for (String phrase : phrases) {
+            KEYWORDS.put(phrase, type);
+        }
+    }
+}
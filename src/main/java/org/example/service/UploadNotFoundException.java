@@ -0,0 +1,12 @@
+package org.example.service;
+
+/**
+ * Thrown for an upload session that does not exist, was aborted or has expired.
+ * Controllers answer it with 404 Not Found.
+ */
+public class UploadNotFoundException extends RuntimeException {
+
+    public UploadNotFoundException(String uploadId) {
+        super("Upload not found: " + uploadId);
+    }
+}
@@ -0,0 +1,147 @@
+package org.example.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.Request;
+import org.example.dto.AIHttpProviderStatsDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the shared AI HTTP client against a local fake HTTP server.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application.properties",
+        properties = "ai.http.gemini.read-timeout-seconds=15")
+public class AIHttpClientTest {
+
+    @Autowired
+    private AIHttpClient httpClient;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile boolean holdRequests;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 100);
+        server.createContext("/v1/chat/completions", this::handle);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testRequestsPerHostAreLimitedByTheDispatcher() throws Exception {
+        assertEquals(32, httpClient.getStats().getMaxRequestsPerHost());
+        holdRequests = true;
+
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            results.add(httpClient.enqueue("openai", request(), response -> response.body().string()));
+        }
+        waitFor(() -> inFlight.get() == 32);
+        // Give the dispatcher a chance to exceed the limit if it were going to
+        Thread.sleep(300);
+
+        assertEquals(32, maxInFlight.get());
+        assertEquals(8, httpClient.getStats().getQueuedCalls());
+        release.countDown();
+        for (CompletableFuture<String> result : results) {
+            assertEquals("{\"ok\":true}", result.get(30, TimeUnit.SECONDS));
+        }
+        assertEquals(32, maxInFlight.get());
+    }
+
+    @Test
+    public void testEachProviderHasItsOwnPoolAndMetrics() throws Exception {
+        AIHttpProviderStatsDTO openAi = httpClient.getStats().getProviders().get("openai");
+        AIHttpProviderStatsDTO groq = httpClient.getStats().getProviders().get("groq");
+        AIHttpProviderStatsDTO gemini = httpClient.getStats().getProviders().get("gemini");
+
+        assertEquals(200, (int) httpClient.execute("openai", request(), response -> response.code()));
+        assertEquals(200, (int) httpClient.execute("openai", request(), response -> response.code()));
+
+        AIHttpProviderStatsDTO openAiAfter = httpClient.getStats().getProviders().get("openai");
+        assertEquals(2, openAiAfter.getTotalCalls() - openAi.getTotalCalls());
+        assertEquals(1, openAiAfter.getConnectionsOpened() - openAi.getConnectionsOpened(),
+                "The second call reuses the kept-alive connection");
+        assertEquals(2, openAiAfter.getConnectionsAcquired() - openAi.getConnectionsAcquired());
+        assertEquals(0, openAiAfter.getInFlightCalls());
+        assertEquals(groq.getTotalCalls(), httpClient.getStats().getProviders().get("groq").getTotalCalls());
+
+        // Same host, but Groq does not borrow OpenAI's idle connection
+        assertEquals(200, (int) httpClient.execute("groq", request(), response -> response.code()));
+        AIHttpProviderStatsDTO groqAfter = httpClient.getStats().getProviders().get("groq");
+        assertEquals(1, groqAfter.getTotalCalls() - groq.getTotalCalls());
+        assertEquals(1, groqAfter.getConnectionsOpened() - groq.getConnectionsOpened());
+        assertTrue(groqAfter.getIdleConnections() >= 1);
+        assertEquals(gemini.getTotalCalls(), httpClient.getStats().getProviders().get("gemini").getTotalCalls());
+
+        // Timeouts come from ai.http.<provider>.* and fall back to ai.http.*
+        assertEquals(15_000, gemini.getReadTimeoutMillis());
+        assertEquals(60_000, openAi.getReadTimeoutMillis());
+        assertEquals(120_000, groq.getCallTimeoutMillis());
+        assertThrows(IllegalArgumentException.class, () -> httpClient.forProvider("anthropic"));
+    }
+
+    private Request request() {
+        return new Request.Builder()
+                .url("http://localhost:" + server.getAddress().getPort() + "/v1/chat/completions")
+                .build();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try (exchange) {
+            if (holdRequests) {
+                release.await(30, TimeUnit.SECONDS);
+            }
+            // Leave before answering: the client may start the next request as soon as it has the response
+            inFlight.decrementAndGet();
+            byte[] body = "{\"ok\":true}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for the requests");
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AhoCorasickMatcherTest {
+
+    @Test
+    public void testOverlappingPhrasesAllMatch() {
+        AhoCorasickMatcher matcher = matcher("spring", "spring boot", "boot");
+
+        assertEquals(Set.of("spring", "spring boot", "boot"), matcher.findAll("Spring Boot developer"));
+    }
+
+    @Test
+    public void testPhrasesSharingASuffixFollowFailureLinks() {
+        AhoCorasickMatcher matcher = matcher("machine learning", "learning", "deep learning");
+
+        assertEquals(Set.of("deep learning", "learning"), matcher.findAll("deep learning research"));
+        assertEquals(Set.of("machine learning", "learning"), matcher.findAll("machine deep machine learning"));
+    }
+
+    @Test
+    public void testMatchesOnlyWholeWords() {
+        AhoCorasickMatcher matcher = matcher("java", "javascript", "go", "sql");
+
+        assertEquals(Set.of("javascript"), matcher.findAll("JavaScript"));
+        assertEquals(Set.of("javascript", "java"), matcher.findAll("JavaScript and Java"));
+        assertTrue(matcher.findAll("Google, MySQL and ongoing work").isEmpty());
+        assertEquals(Set.of("go", "sql"), matcher.findAll("Go (SQL)"));
+    }
+
+    @Test
+    public void testPhrasesWithPunctuation() {
+        AhoCorasickMatcher matcher = matcher("c++", ".net", "node.js", "c");
+
+        assertEquals(Set.of("c++", ".net", "node.js"), matcher.findAll("Skilled in C++, .NET and Node.js."));
+        assertEquals(Set.of("c"), matcher.findAll("Languages: C, Rust"));
+        assertTrue(matcher.findAll("C# only").isEmpty());
+    }
+
+    @Test
+    public void testAliasesReportTheirLabelInOrderOfFirstOccurrence() {
+        Map<String, String> phrases = new LinkedHashMap<>();
+        phrases.put("javascript", "JavaScript");
+        phrases.put("js", "JavaScript");
+        phrases.put("postgres", "PostgreSQL");
+        phrases.put("postgresql", "PostgreSQL");
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(phrases);
+
+        assertEquals(List.of("PostgreSQL", "JavaScript"), List.copyOf(matcher.findAll("POSTGRES, JS, PostgreSQL, JavaScript")));
+        assertTrue(matcher.findAll(null).isEmpty());
+        assertTrue(matcher.findAll("").isEmpty());
+    }
+
+    private static AhoCorasickMatcher matcher(String... phrases) {
+        Map<String, String> labels = new LinkedHashMap<>();
+        for (String phrase : phrases) {
+            labels.put(phrase, phrase);
+        }
+        return new AhoCorasickMatcher(labels);
+    }
+}
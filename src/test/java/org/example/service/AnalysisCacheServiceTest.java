@@ -0,0 +1,52 @@
+package org.example.service;
+
+import org.example.dto.AIAnalysisResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application.properties")
+public class AnalysisCacheServiceTest {
+
+    @Autowired
+    private AnalysisCacheService cacheService;
+
+    @Test
+    public void testParsedAnalysisIsCached() {
+        String key = cacheService.buildKey("Resume " + UUID.randomUUID(), "Java", "openai", "gpt-test");
+        cacheService.put(key, "openai", "gpt-test",
+                new AIAnalysisResponse(81.0, "Good match", "Java", "5 years", "Jane Doe", "jane@example.com", ""));
+
+        AIAnalysisResponse cached = cacheService.get(key).orElseThrow();
+        assertEquals(81.0, cached.getMatchScore());
+        assertEquals("Good match", cached.getAnalysis());
+        cacheService.invalidate(key);
+    }
+
+    @Test
+    public void testUnparsedFallbackIsNotCached() {
+        String key = cacheService.buildKey("Resume " + UUID.randomUUID(), "Java", "openai", "gpt-test");
+        AIAnalysisResponse fallback = new AIAnalysisResponse(50.0, "Sorry, I cannot help with that", "", "", "", "", "");
+        fallback.setParsed(false);
+
+        cacheService.put(key, "openai", "gpt-test", fallback);
+
+        assertTrue(cacheService.get(key).isEmpty(), "A reply that could not be parsed must be asked for again");
+    }
+
+    @Test
+    public void testKeyDependsOnEveryInput() {
+        String key = cacheService.buildKey("Resume", "Java", "openai", "gpt-test");
+
+        assertEquals(key, cacheService.buildKey("  Resume ", "Java", "OpenAI", "gpt-test"));
+        assertNotEquals(key, cacheService.buildKey("Resume", "Java", "openai", "gpt-other"));
+        assertNotEquals(key, cacheService.buildKey("Resume", "Kotlin", "openai", "gpt-test"));
+        assertNotEquals(key, cacheService.buildKey("Resume", "Java", "gemini", "gpt-test"));
+    }
+}
@@ -0,0 +1,306 @@
+package org.example.service;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArchiveExpanderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final IngestionGovernor governor = new IngestionGovernor();
+    private final FileSpoolService spoolService = new FileSpoolService();
+    private final ArchiveExpander expander = new ArchiveExpander();
+    private final List<IngestionItem> items = new ArrayList<>();
+    private ArchiveExpander.Expansion expansion;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        ReflectionTestUtils.setField(governor, "maxBytesInFlight", DataSize.ofMegabytes(256));
+        ReflectionTestUtils.setField(governor, "maxConcurrentFiles", 4);
+        ReflectionTestUtils.setField(governor, "maxCompressionRatio", 100.0);
+        ReflectionTestUtils.setField(governor, "maxEntrySize", DataSize.ofMegabytes(1));
+        ReflectionTestUtils.setField(governor, "maxExpandedSize", DataSize.ofMegabytes(10));
+        ReflectionTestUtils.setField(governor, "maxArchiveEntries", 100);
+        governor.init();
+        ReflectionTestUtils.setField(spoolService, "spoolDir", tempDir.resolve("spool").toString());
+        spoolService.init();
+        ReflectionTestUtils.setField(expander, "spoolService", spoolService);
+        ReflectionTestUtils.setField(expander, "governor", governor);
+        ReflectionTestUtils.setField(expander, "maxDepth", 3);
+        expansion = expander.open();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        expansion.close();
+    }
+
+    @Test
+    public void testEntriesOverTheCompressionRatioAreSkipped() throws IOException {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        // Zeros deflate far beyond a 100:1 ratio
+        entries.put("bomb.pdf", pdf(new byte[500_000]));
+        entries.put("jane.pdf", pdf(random(2000)));
+        Path archive = zip(entries);
+
+        int found = expansion.expand(archive, "resumes.zip", "UPLOAD_ZIP", items::add);
+
+        assertEquals(1, found);
+        assertEquals("jane.pdf", items.get(0).getFileName());
+        assertEquals(1, governor.getStats().getRejectedArchiveEntries());
+    }
+
+    @Test
+    public void testArchiveWithTooManyEntriesIsRejected() throws IOException {
+        ReflectionTestUtils.setField(governor, "maxArchiveEntries", 5);
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        for (int i = 0; i < 6; i++) {
+            entries.put("notes-" + i + ".txt", "not a resume".getBytes(StandardCharsets.UTF_8));
+        }
+        Path archive = zip(entries);
+
+        IOException error = assertThrows(IOException.class,
+                () -> expansion.expand(archive, "resumes.zip", "UPLOAD_ZIP", items::add));
+
+        assertTrue(error.getMessage().contains("5 entries"), error.getMessage());
+    }
+
+    @Test
+    public void testArchiveExpandingBeyondTheBudgetIsRejected() throws IOException {
+        ReflectionTestUtils.setField(governor, "maxExpandedSize", DataSize.ofBytes(10_000));
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        for (int i = 0; i < 3; i++) {
+            entries.put("resume-" + i + ".pdf", pdf(random(4000)));
+        }
+        Path archive = zip(entries);
+
+        IOException error = assertThrows(IOException.class,
+                () -> expansion.expand(archive, "resumes.zip", "UPLOAD_ZIP", items::add));
+
+        assertTrue(error.getMessage().contains("10000 bytes"), error.getMessage());
+        assertEquals(2, items.size(), "Entries within the budget were already handed on");
+    }
+
+    @Test
+    public void testEntryStreamIsLimited() throws IOException {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("jane.pdf", pdf(random(2000)));
+        Path archive = zip(entries);
+
+        expansion.expand(archive, "resumes.zip", "UPLOAD_ZIP", items::add);
+        try (InputStream in = items.get(0).getContent().open()) {
+            assertEquals(2000 + 9, in.readAllBytes().length);
+        }
+        try (InputStream in = expander.openEntry(archive, "jane.pdf")) {
+            assertEquals(2000 + 9, in.readAllBytes().length);
+        }
+        assertThrows(IOException.class, () -> expander.openEntry(archive, "missing.pdf"));
+    }
+
+    @Test
+    public void testZipEntriesAreReadInPlaceByContent() throws Exception {
+        byte[] jane = pdf(random(3000));
+        byte[] john = pdf(random(5000));
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("resumes/jane", jane);
+        entries.put("resumes/john.pdf", john);
+        entries.put("__MACOSX/resumes/._john.pdf", new byte[]{0, 5, 22, 7, 0, 2, 0, 0});
+        entries.put("resumes/notes.txt", "not a resume".getBytes(StandardCharsets.UTF_8));
+        Path archive = zip(entries);
+
+        int found = expansion.expand(archive, "resumes.zip", "UPLOAD_ZIP", items::add);
+
+        assertEquals(2, found);
+        assertEquals(List.of("resumes/jane", "resumes/john.pdf"), items.stream().map(IngestionItem::getFileName).toList());
+        for (IngestionItem item : items) {
+            assertEquals("application/pdf", item.getContentType());
+            assertEquals(archive.toString(), item.getSpoolPath());
+            assertEquals(item.getFileName(), item.getArchiveEntry());
+        }
+        assertEquals(0, spooledFiles(), "ZIP entries are not copied to the spool");
+
+        // Random access: every item opens its own stream, so they can be read in parallel
+        CompletableFuture<byte[]> first = CompletableFuture.supplyAsync(() -> readAll(items.get(0)));
+        CompletableFuture<byte[]> second = CompletableFuture.supplyAsync(() -> readAll(items.get(1)));
+        assertArrayEquals(jane, first.get());
+        assertArrayEquals(john, second.get());
+    }
+
+    @Test
+    public void testTarEntriesAreSpooledAndCleanedUp() throws IOException {
+        byte[] jane = pdf(random(3000));
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("jane.pdf", jane);
+        entries.put("readme.txt", "not a resume".getBytes(StandardCharsets.UTF_8));
+        Path tar = write("resumes.tar", tar(entries));
+        Path tarGz = write("resumes.tgz", gzip(tar(entries)));
+
+        assertEquals(1, expansion.expand(tar, "resumes.tar", "UPLOAD_ZIP", items::add));
+        assertEquals(1, expansion.expand(tarGz, "resumes.tgz", "UPLOAD_ZIP", items::add));
+
+        assertEquals(2, spooledFiles());
+        for (IngestionItem item : items) {
+            assertEquals("jane.pdf", item.getFileName());
+            assertNull(item.getArchiveEntry());
+            assertTrue(item.getSpoolPath().startsWith(tempDir.resolve("spool").toString()), item.getSpoolPath());
+            assertArrayEquals(jane, readAll(item));
+        }
+        expansion.close();
+        assertEquals(0, spooledFiles());
+    }
+
+    @Test
+    public void testNestedArchivesAreExpandedFromTheSpool() throws IOException {
+        byte[] jane = pdf(random(3000));
+        byte[] john = pdf(random(4000));
+        byte[] mary = pdf(random(2000));
+        Map<String, byte[]> innerTar = new LinkedHashMap<>();
+        innerTar.put("john.pdf", john);
+        Map<String, byte[]> innerZip = new LinkedHashMap<>();
+        innerZip.put("mary.pdf", mary);
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("jane.pdf", jane);
+        entries.put("batch.tar.gz", gzip(tar(innerTar)));
+        entries.put("more.zip", zipBytes(innerZip));
+        Path archive = zip(entries);
+
+        int found = expansion.expand(archive, "resumes.zip", "UPLOAD_ZIP", items::add);
+
+        assertEquals(3, found);
+        Map<String, IngestionItem> byName = new LinkedHashMap<>();
+        items.forEach(item -> byName.put(item.getFileName(), item));
+        assertEquals(List.of("jane.pdf", "batch.tar.gz/john.pdf", "more.zip/mary.pdf"), List.copyOf(byName.keySet()));
+        assertArrayEquals(jane, readAll(byName.get("jane.pdf")));
+        assertArrayEquals(john, readAll(byName.get("batch.tar.gz/john.pdf")));
+        assertArrayEquals(mary, readAll(byName.get("more.zip/mary.pdf")));
+        // The two nested archives and the TAR entry
+        assertEquals(3, spooledFiles());
+
+        expansion.close();
+        assertEquals(0, spooledFiles());
+        assertThrows(IOException.class, () -> byName.get("batch.tar.gz/john.pdf").getContent().open());
+    }
+
+    @Test
+    public void testNestingStopsAtMaxDepth() throws IOException {
+        ReflectionTestUtils.setField(expander, "maxDepth", 1);
+        Map<String, byte[]> deepest = new LinkedHashMap<>();
+        deepest.put("deep.pdf", pdf(random(1000)));
+        Map<String, byte[]> middle = new LinkedHashMap<>();
+        middle.put("middle.pdf", pdf(random(1000)));
+        middle.put("deeper.zip", zipBytes(deepest));
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("inner.zip", zipBytes(middle));
+        Path archive = zip(entries);
+
+        assertEquals(1, expansion.expand(archive, "resumes.zip", "UPLOAD_ZIP", items::add));
+        assertEquals("inner.zip/middle.pdf", items.get(0).getFileName());
+    }
+
+    @Test
+    public void testNonArchiveIsRejected() throws IOException {
+        Path notAnArchive = write("resume.zip", pdf(random(100)));
+
+        IOException error = assertThrows(IOException.class,
+                () -> expansion.expand(notAnArchive, "resume.zip", "UPLOAD_ZIP", items::add));
+        assertTrue(error.getMessage().contains("PDF"), error.getMessage());
+    }
+
+    private Path zip(Map<String, byte[]> entries) throws IOException {
+        return write("archive.zip", zipBytes(entries));
+    }
+
+    private Path write(String name, byte[] content) throws IOException {
+        Path file = Files.createTempFile(tempDir, "upload-", "-" + name);
+        Files.write(file, content);
+        return file;
+    }
+
+    private long spooledFiles() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir.resolve("spool"))) {
+            return files.count();
+        }
+    }
+
+    private static byte[] readAll(IngestionItem item) {
+        try (InputStream in = item.getContent().open()) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static byte[] zipBytes(Map<String, byte[]> entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream out = new ZipOutputStream(bytes)) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                out.putNextEntry(new ZipEntry(entry.getKey()));
+                out.write(entry.getValue());
+                out.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] tar(Map<String, byte[]> entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (TarArchiveOutputStream out = new TarArchiveOutputStream(bytes)) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                TarArchiveEntry tarEntry = new TarArchiveEntry(entry.getKey());
+                tarEntry.setSize(entry.getValue().length);
+                out.putArchiveEntry(tarEntry);
+                out.write(entry.getValue());
+                out.closeArchiveEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(content);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] pdf(byte[] body) {
+        byte[] header = "%PDF-1.4\n".getBytes(StandardCharsets.US_ASCII);
+        byte[] content = new byte[header.length + body.length];
+        System.arraycopy(header, 0, content, 0, header.length);
+        System.arraycopy(body, 0, content, header.length, body.length);
+        return content;
+    }
+
+    private static byte[] random(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.service;
+
+import org.example.dto.ChunkedUploadDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application.properties")
+public class ChunkedUploadServiceTest {
+
+    private static final int CHUNK_SIZE = 16;
+
+    @Autowired
+    private ChunkedUploadService uploadService;
+
+    private DataSize originalChunkSize;
+    private long originalTtl;
+
+    @BeforeEach
+    public void setUp() {
+        originalChunkSize = (DataSize) ReflectionTestUtils.getField(uploadService, "chunkSize");
+        originalTtl = (long) ReflectionTestUtils.getField(uploadService, "sessionTtlMinutes");
+        ReflectionTestUtils.setField(uploadService, "chunkSize", DataSize.ofBytes(CHUNK_SIZE));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ReflectionTestUtils.setField(uploadService, "chunkSize", originalChunkSize);
+        ReflectionTestUtils.setField(uploadService, "sessionTtlMinutes", originalTtl);
+    }
+
+    @Test
+    public void testCorruptedResendDoesNotOverwriteAcceptedBytes() throws Exception {
+        byte[] content = "%PDF-1.7\n% chunked upload test body\n".getBytes(StandardCharsets.US_ASCII);
+        ChunkedUploadDTO upload = uploadService.init("resume.pdf", content.length);
+        byte[] first = Arrays.copyOfRange(content, 0, CHUNK_SIZE);
+        byte[] second = Arrays.copyOfRange(content, CHUNK_SIZE, 2 * CHUNK_SIZE);
+
+        uploadService.writeChunk(upload.getUploadId(), 0, new ByteArrayInputStream(first), checksum(first));
+        ChunkedUploadDTO status = uploadService.writeChunk(upload.getUploadId(), CHUNK_SIZE,
+                new ByteArrayInputStream(second), checksum(second));
+        assertEquals(2 * CHUNK_SIZE, status.getReceivedBytes());
+
+        // Re-send of the first chunk that was corrupted in transit
+        byte[] corrupted = first.clone();
+        corrupted[3] ^= 0x7f;
+        assertThrows(IllegalArgumentException.class, () -> uploadService.writeChunk(upload.getUploadId(), 0,
+                new ByteArrayInputStream(corrupted), checksum(first)));
+
+        byte[] stored = Files.readAllBytes(spoolPath(upload.getUploadId()));
+        assertArrayEquals(first, Arrays.copyOfRange(stored, 0, CHUNK_SIZE), "Verified bytes must be untouched");
+        assertArrayEquals(second, Arrays.copyOfRange(stored, CHUNK_SIZE, 2 * CHUNK_SIZE));
+        assertEquals(2 * CHUNK_SIZE, uploadService.getStatus(upload.getUploadId()).getReceivedBytes());
+
+        uploadService.abort(upload.getUploadId());
+    }
+
+    @Test
+    public void testSweepRemovesExpiredSessions() throws Exception {
+        ChunkedUploadDTO upload = uploadService.init("resume.pdf", 100);
+        Path path = spoolPath(upload.getUploadId());
+        assertTrue(Files.exists(path));
+
+        ReflectionTestUtils.setField(uploadService, "sessionTtlMinutes", -1L);
+        ReflectionTestUtils.invokeMethod(uploadService, "evictExpiredSessions");
+
+        assertThrows(UploadNotFoundException.class, () -> uploadService.getStatus(upload.getUploadId()));
+        assertFalse(Files.exists(path), "Spooled bytes of an expired session should be deleted");
+    }
+
+    private static String checksum(byte[] bytes) throws Exception {
+        return ContentHasher.sha256Hex(new ByteArrayInputStream(bytes));
+    }
+
+    private Path spoolPath(String uploadId) {
+        Map<?, ?> sessions = (Map<?, ?>) ReflectionTestUtils.getField(uploadService, "sessions");
+        return (Path) ReflectionTestUtils.getField(sessions.get(uploadId), "path");
+    }
+}
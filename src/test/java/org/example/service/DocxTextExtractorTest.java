@@ -0,0 +1,121 @@
+package org.example.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Word documents are built here from their XML parts; the legacy .doc is a fixture under {@code fixtures/}.
+ */
+public class DocxTextExtractorTest {
+
+    private static final String W = "xmlns:w=\"http://schemas.openxmlformats.org/wordprocessingml/2006/main\" "
+            + "xmlns:mc=\"http://schemas.openxmlformats.org/markup-compatibility/2006\"";
+
+    private static final String BODY = "<w:p><w:r><w:t>Jane Doe</w:t></w:r></w:p>"
+            + "<w:p><w:r><w:t>Experience</w:t></w:r></w:p>"
+            + "<w:p><w:r><w:t>Acme Corp</w:t><w:tab/><w:t>Java developer</w:t><w:br/><w:t xml:space=\"preserve\">2019 - 2024 </w:t></w:r></w:p>"
+            + "<w:tbl>"
+            + "<w:tr><w:tc><w:p><w:r><w:t>Skill</w:t></w:r></w:p></w:tc><w:tc><w:p><w:r><w:t>Years</w:t></w:r></w:p></w:tc></w:tr>"
+            + "<w:tr><w:tc><w:p><w:r><w:t>Java</w:t></w:r></w:p><w:p><w:r><w:t>Spring</w:t></w:r></w:p></w:tc>"
+            + "<w:tc><w:p><w:r><w:t>5</w:t></w:r></w:p></w:tc></w:tr>"
+            + "</w:tbl>"
+            + "<w:p><w:r><mc:AlternateContent>"
+            + "<mc:Choice Requires=\"wps\"><w:t>Text box</w:t></mc:Choice>"
+            + "<mc:Fallback><w:pict><w:t>Text box</w:t></w:pict></mc:Fallback>"
+            + "</mc:AlternateContent></w:r></w:p>";
+
+    @Test
+    public void testParagraphsTabsBreaksAndTables() throws IOException {
+        String text = DocxTextExtractor.extractText(docx(part("word/document.xml", BODY)));
+
+        assertEquals("Jane Doe\nExperience\nAcme Corp\tJava developer\n2019 - 2024 \n"
+                + "Skill\tYears\t\nJava\nSpring\t5\t\nText box\n", text);
+    }
+
+    @Test
+    public void testTabStopDefinitionsAreNotText() throws IOException {
+        String text = DocxTextExtractor.extractText(docx(part("word/document.xml",
+                "<w:p><w:pPr><w:tabs><w:tab w:val=\"left\" w:pos=\"720\"/><w:tab w:val=\"right\" w:pos=\"9360\"/></w:tabs></w:pPr>"
+                        + "<w:r><w:t>Acme Corp</w:t><w:tab/><w:t>2019 - 2024</w:t></w:r></w:p>")));
+
+        assertEquals("Acme Corp\t2019 - 2024\n", text);
+    }
+
+    @Test
+    public void testHeadersComeBeforeTheBodyAndFootersAfter() throws IOException {
+        String text = DocxTextExtractor.extractText(docx(
+                part("word/footer1.xml", "<w:p><w:r><w:t>Page footer</w:t></w:r></w:p>"),
+                part("word/document.xml", "<w:p><w:r><w:t>Body</w:t></w:r></w:p>"),
+                part("word/header1.xml", "<w:p><w:r><w:t>jane@example.com</w:t></w:r></w:p>"),
+                part("word/styles.xml", "<w:p><w:r><w:t>Not text</w:t></w:r></w:p>")));
+
+        assertEquals("jane@example.com\nBody\nPage footer\n", text);
+    }
+
+    @Test
+    public void testMissingOrMalformedBodyIsRejected() {
+        assertThrows(IOException.class, () -> DocxTextExtractor.extractText(
+                docx(part("word/header1.xml", "<w:p><w:r><w:t>Header only</w:t></w:r></w:p>"))));
+        assertThrows(IOException.class, () -> DocxTextExtractor.extractText(
+                docx(new String[]{"word/document.xml", "<w:document " + W + "><w:body><w:p>"})));
+    }
+
+    @Test
+    public void testExternalEntitiesAreNotResolved() throws IOException {
+        String xml = "<?xml version=\"1.0\"?><!DOCTYPE d [<!ENTITY secret SYSTEM \"file:///etc/hostname\">]>"
+                + "<w:document " + W + "><w:body><w:p><w:r><w:t>&secret;</w:t></w:r></w:p></w:body></w:document>";
+
+        String text;
+        try {
+            text = DocxTextExtractor.extractText(docx(new String[]{"word/document.xml", xml}));
+        } catch (IOException rejected) {
+            return;
+        }
+        assertEquals("\n", text);
+    }
+
+    @Test
+    public void testParserReadsDocxAndLegacyDocByContent() throws IOException {
+        ResumeParserService parser = new ResumeParserService();
+
+        String docx = parser.extractText(docx(part("word/document.xml", BODY)), "application/octet-stream", "resume");
+        assertTrue(docx.startsWith("Jane Doe\nExperience\nAcme Corp\tJava developer\n"), docx);
+
+        try (InputStream doc = getClass().getResourceAsStream("/fixtures/legacy-resume.doc")) {
+            String text = parser.extractText(doc, "application/octet-stream", "resume.bin");
+            assertTrue(text.startsWith("Jane Doe\njane@example.com\nExperience\n"), text);
+            assertTrue(text.contains("Acme Corp\tJava developer\n2019 - 2024\n"), text);
+            assertTrue(text.contains("Skills\nJava, Spring Boot, SQL"), text);
+        }
+    }
+
+    private static String[] part(String name, String paragraphs) {
+        return new String[]{name, "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                + "<w:document " + W + "><w:body>" + paragraphs + "</w:body></w:document>"};
+    }
+
+    private static InputStream docx(String[]... parts) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            zip.putNextEntry(new ZipEntry("[Content_Types].xml"));
+            zip.write("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\"/>"
+                    .getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+            for (String[] part : parts) {
+                zip.putNextEntry(new ZipEntry(part[0]));
+                zip.write(part[1].getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return new ByteArrayInputStream(bytes.toByteArray());
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExtractedTextCacheTest {
+
+    private static final String HASH = "3f2a9c0d4b6e8f1a2c3d4e5f60718293a4b5c6d7e8f90a1b2c3d4e5f60718293";
+    private static final String TEXT = "Jane Doe\nExperience\nJava developer" + ResumeTextCompactor.PAGE_BREAK + "Skills\nJava";
+
+    @TempDir
+    Path cacheDir;
+
+    @Test
+    public void testCachedTextSurvivesARestart() throws IOException {
+        cache(ResumeParserService.PARSER_VERSION).put(HASH, TEXT);
+
+        ExtractedTextCache restarted = cache(ResumeParserService.PARSER_VERSION);
+        ExtractedTextCache.CachedText cached = restarted.get(HASH).orElseThrow();
+
+        assertEquals(TEXT, cached.text());
+        assertEquals(1, cached.pageCount());
+        assertEquals(1, restarted.getStats().getHits());
+    }
+
+    @Test
+    public void testParserVersionBumpMissesTheCache() throws IOException {
+        ExtractedTextCache old = cache(ResumeParserService.PARSER_VERSION);
+        old.put(HASH, TEXT);
+        assertTrue(old.get(HASH).isPresent());
+
+        ExtractedTextCache bumped = cache(ResumeParserService.PARSER_VERSION + 1);
+
+        assertTrue(bumped.get(HASH).isEmpty(), "Text extracted by an older parser must not be reused");
+        assertEquals(0, bumped.getStats().getEntries());
+        assertEquals(1, bumped.getStats().getMisses());
+        assertFalse(Files.exists(cacheDir.resolve("v" + ResumeParserService.PARSER_VERSION + "-p50")),
+                "The older parser's entries are discarded on startup");
+    }
+
+    @Test
+    public void testEntryWrittenByAnotherVersionIsDropped() throws IOException {
+        cache(ResumeParserService.PARSER_VERSION).put(HASH, TEXT);
+        // An entry that ended up under the new version's directory, e.g. copied by hand
+        Path stale = cacheDir.resolve("v" + ResumeParserService.PARSER_VERSION + "-p50")
+                .resolve(HASH.substring(0, 2)).resolve(HASH + ".txt.gz");
+        Path moved = cacheDir.resolve("v" + (ResumeParserService.PARSER_VERSION + 1) + "-p50")
+                .resolve(HASH.substring(0, 2)).resolve(HASH + ".txt.gz");
+        Files.createDirectories(moved.getParent());
+        Files.copy(stale, moved);
+
+        ExtractedTextCache bumped = cache(ResumeParserService.PARSER_VERSION + 1);
+
+        assertEquals(1, bumped.getStats().getEntries());
+        assertTrue(bumped.get(HASH).isEmpty());
+        assertFalse(Files.exists(moved));
+    }
+
+    private ExtractedTextCache cache(int parserVersion) throws IOException {
+        ResumeParserService parserService = new ResumeParserService() {
+            @Override
+            public String getVersion() {
+                return parserVersion + "-p50";
+            }
+        };
+        ExtractedTextCache cache = new ExtractedTextCache();
+        ReflectionTestUtils.setField(cache, "parserService", parserService);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "cacheDir", cacheDir.toString());
+        ReflectionTestUtils.setField(cache, "maxSize", DataSize.ofMegabytes(1));
+        cache.init();
+        return cache;
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.service;
+
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.example.service.FormatSniffer.Format;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FormatSnifferTest {
+
+    private static final String DOCX_TYPE = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+
+    @Test
+    public void testPdf() {
+        assertEquals(Format.PDF, detect(ascii("%PDF-1.7\n%\u00E2\u00E3\u00CF\u00D3\n1 0 obj"), "application/pdf", "resume.pdf"));
+        // Some generators put a few bytes before the header
+        assertEquals(Format.PDF, detect(ascii("\r\n\r\n%PDF-1.4\n"), null, null));
+    }
+
+    @Test
+    public void testDocxIsAZipWithWordParts() throws IOException {
+        assertEquals(Format.DOCX, detect(zip("word/document.xml"), "application/octet-stream", "resume"));
+        assertEquals(Format.DOCX, detect(zip("[Content_Types].xml"), null, null));
+        assertEquals(Format.ZIP, detect(zip("resumes/jane.pdf"), "application/zip", "resumes.zip"));
+        // A package starting with an unusual part is settled by the declared type or extension
+        assertEquals(Format.DOCX, detect(zip("customXml/item1.xml"), DOCX_TYPE, "resume"));
+        assertEquals(Format.DOCX, detect(zip("customXml/item1.xml"), null, "Resume.DOCX"));
+    }
+
+    @Test
+    public void testLegacyDocIsAnOleContainer() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (POIFSFileSystem fs = new POIFSFileSystem()) {
+            fs.createDocument(new ByteArrayInputStream(new byte[64]), "WordDocument");
+            fs.writeFilesystem(out);
+        }
+
+        assertEquals(Format.DOC, detect(out.toByteArray(), "application/octet-stream", "resume.bin"));
+    }
+
+    @Test
+    public void testDeclaredTypeAndExtensionDoNotOverrideContent() throws IOException {
+        byte[] text = ascii("Jane Doe\nExperience\nJava developer");
+        assertEquals(Format.UNKNOWN, detect(text, "application/pdf", "resume.pdf"));
+        assertEquals(Format.UNKNOWN, detect(text, DOCX_TYPE, "resume.docx"));
+        // A PDF renamed to .docx is still a PDF
+        assertEquals(Format.PDF, detect(ascii("%PDF-1.7\n"), DOCX_TYPE, "resume.docx"));
+        assertEquals(Format.UNKNOWN, detect(new byte[0], null, null));
+    }
+
+    @Test
+    public void testArchives() throws IOException {
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(gzip)) {
+            out.write(ascii("payload"));
+        }
+        byte[] tar = new byte[512];
+        System.arraycopy(ascii("ustar"), 0, tar, 257, 5);
+
+        assertEquals(Format.GZIP, detect(gzip.toByteArray(), null, "resumes.tar.gz"));
+        assertEquals(Format.TAR, detect(tar, null, "resumes.tar"));
+        assertTrue(Format.TAR.isArchive() && !Format.TAR.isResume());
+        assertTrue(Format.DOC.isResume() && !Format.DOC.isArchive());
+    }
+
+    @Test
+    public void testTruncatedHeaders() throws IOException {
+        assertEquals(Format.UNKNOWN, detect(ascii("%PD"), null, null));
+        byte[] docx = zip("word/document.xml");
+        // Only the local header signature arrived: a ZIP, but not recognisably a .docx
+        assertEquals(Format.ZIP, FormatSniffer.detect(docx, 4, null, null));
+        assertEquals(Format.DOCX, FormatSniffer.detect(docx, 4, null, "resume.docx"));
+        // The entry name is cut short
+        assertEquals(Format.DOCX, FormatSniffer.detect(docx, 35, null, null));
+        assertEquals(Format.UNKNOWN, FormatSniffer.detect(docx, 3, null, null));
+        byte[] ole = {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A};
+        assertEquals(Format.UNKNOWN, detect(ole, null, null));
+        byte[] tar = new byte[260];
+        System.arraycopy(ascii("ust"), 0, tar, 257, 3);
+        assertEquals(Format.UNKNOWN, detect(tar, null, null));
+    }
+
+    @Test
+    public void testSniffReplaysThePeekedBytes() throws IOException {
+        byte[] content = new byte[FormatSniffer.PEEK_BYTES * 3];
+        Arrays.fill(content, (byte) 'x');
+        System.arraycopy(ascii("%PDF-1.7\n"), 0, content, 0, 9);
+
+        FormatSniffer.Sniffed sniffed = FormatSniffer.sniff(new ByteArrayInputStream(content) {
+            @Override
+            public boolean markSupported() {
+                return false;
+            }
+        }, null, null);
+
+        assertEquals(Format.PDF, sniffed.format());
+        assertArrayEquals(content, sniffed.stream().readAllBytes());
+    }
+
+    private static Format detect(byte[] content, String declaredType, String fileName) {
+        byte[] head = Arrays.copyOf(content, Math.min(content.length, FormatSniffer.PEEK_BYTES));
+        return FormatSniffer.detect(head, head.length, declaredType, fileName);
+    }
+
+    private static byte[] zip(String firstEntry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream out = new ZipOutputStream(bytes)) {
+            out.putNextEntry(new ZipEntry(firstEntry));
+            out.write(ascii("<w:document/>"));
+            out.closeEntry();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,187 @@
+package org.example.service;
+
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.services.drive.Drive;
+import com.google.api.services.drive.model.File;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Drive client against a local fake Drive HTTP server.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application.properties")
+public class GoogleDriveServiceTest {
+
+    private static final int CHUNK_SIZE = 1024;
+
+    @Autowired
+    private GoogleDriveService googleDriveService;
+
+    private HttpServer server;
+    private byte[] content;
+    private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+    private final List<String> ranges = new CopyOnWriteArrayList<>();
+    private final List<String> queries = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        content = new byte[5 * CHUNK_SIZE + 123];
+        new Random(42).nextBytes(content);
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/drive/v3/files", this::handle);
+        server.start();
+
+        Drive drive = new Drive.Builder(new NetHttpTransport(), GsonFactory.getDefaultInstance(), null)
+                .setRootUrl("http://localhost:" + server.getAddress().getPort() + "/")
+                .setApplicationName("TalentLensTest")
+                .build();
+        ReflectionTestUtils.setField(googleDriveService, "driveService", drive);
+        ReflectionTestUtils.setField(googleDriveService, "driveEnabled", true);
+        ReflectionTestUtils.setField(googleDriveService, "downloadRetryBackoffMs", 1L);
+        ReflectionTestUtils.setField(googleDriveService, "downloadChunkSize", DataSize.ofBytes(CHUNK_SIZE));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+        ReflectionTestUtils.setField(googleDriveService, "driveService", null);
+        ReflectionTestUtils.setField(googleDriveService, "driveEnabled", false);
+    }
+
+    @Test
+    public void testListResumeFilesFollowsEveryPage() throws Exception {
+        List<File> files = googleDriveService.listResumeFiles("folder-1");
+
+        assertEquals(3, files.size());
+        assertEquals(List.of("a", "b", "c"), files.stream().map(File::getId).toList());
+        assertEquals(2, queries.size(), "Second page should be requested with the page token");
+        assertTrue(queries.get(0).contains("trashed=false"));
+        assertTrue(queries.get(0).contains("'folder-1' in parents"));
+    }
+
+    @Test
+    public void testDownloadResumesAfterTruncatedResponse() throws Exception {
+        Path target = Files.createTempFile("drive-test-", ".pdf");
+        try {
+            googleDriveService.downloadTo("flaky", target);
+
+            assertArrayEquals(content, Files.readAllBytes(target));
+            // The retry continues from the bytes already written instead of starting over
+            assertTrue(ranges.stream().anyMatch(range -> range.startsWith("bytes=" + (CHUNK_SIZE + CHUNK_SIZE / 2) + "-")),
+                    "Expected a ranged retry, got " + ranges);
+        } finally {
+            Files.deleteIfExists(target);
+        }
+    }
+
+    @Test
+    public void testDownloadRetriesServerErrors() throws Exception {
+        Path target = Files.createTempFile("drive-test-", ".pdf");
+        try {
+            googleDriveService.downloadTo("busy", target);
+
+            assertArrayEquals(content, Files.readAllBytes(target));
+            assertTrue(requestCounts.get("busy").get() > 1);
+        } finally {
+            Files.deleteIfExists(target);
+        }
+    }
+
+    @Test
+    public void testDownloadDoesNotRetryMissingFile() throws Exception {
+        Path target = Files.createTempFile("drive-test-", ".pdf");
+        try {
+            assertThrows(IOException.class, () -> googleDriveService.downloadTo("missing", target));
+            assertEquals(1, requestCounts.get("missing").get());
+        } finally {
+            Files.deleteIfExists(target);
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String query = exchange.getRequestURI().getRawQuery() != null
+                ? java.net.URLDecoder.decode(exchange.getRequestURI().getRawQuery(), StandardCharsets.UTF_8) : "";
+        try (exchange) {
+            if (path.equals("/drive/v3/files")) {
+                queries.add(query);
+                String body = query.contains("pageToken=page-2")
+                        ? "{\"files\":[{\"id\":\"c\",\"name\":\"c.pdf\",\"mimeType\":\"application/pdf\"}]}"
+                        : "{\"nextPageToken\":\"page-2\",\"files\":[{\"id\":\"a\",\"name\":\"a.pdf\",\"mimeType\":\"application/pdf\"},"
+                        + "{\"id\":\"b\",\"name\":\"b.pdf\",\"mimeType\":\"application/pdf\"}]}";
+                respond(exchange, 200, body.getBytes(StandardCharsets.UTF_8), "application/json");
+                return;
+            }
+
+            String fileId = path.substring("/drive/v3/files/".length());
+            int count = requestCounts.computeIfAbsent(fileId, id -> new AtomicInteger()).incrementAndGet();
+            if (fileId.equals("missing")) {
+                respond(exchange, 404, "{\"error\":{\"code\":404,\"message\":\"File not found\"}}".getBytes(StandardCharsets.UTF_8),
+                        "application/json");
+                return;
+            }
+            if (fileId.equals("busy") && count == 1) {
+                respond(exchange, 503, "{\"error\":{\"code\":503,\"message\":\"Backend Error\"}}".getBytes(StandardCharsets.UTF_8),
+                        "application/json");
+                return;
+            }
+
+            String range = exchange.getRequestHeaders().getFirst("Range");
+            ranges.add(range);
+            int start = 0;
+            int end = content.length - 1;
+            if (range != null && range.startsWith("bytes=")) {
+                String[] bounds = range.substring("bytes=".length()).split("-");
+                start = Integer.parseInt(bounds[0]);
+                if (bounds.length > 1 && !bounds[1].isEmpty()) {
+                    end = Math.min(end, Integer.parseInt(bounds[1]));
+                }
+            }
+            int length = end - start + 1;
+
+            exchange.getResponseHeaders().set("Content-Type", "application/pdf");
+            exchange.getResponseHeaders().set("Content-Range", "bytes " + start + "-" + end + "/" + content.length);
+            exchange.sendResponseHeaders(206, length);
+            OutputStream out = exchange.getResponseBody();
+            if (fileId.equals("flaky") && start == CHUNK_SIZE && requestCounts.get("flaky").get() == 2) {
+                // Drop the connection halfway through the second chunk
+                out.write(content, start, CHUNK_SIZE / 2);
+                out.flush();
+                throw new IOException("Simulated connection drop");
+            }
+            out.write(content, start, length);
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, byte[] body, String contentType) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+}
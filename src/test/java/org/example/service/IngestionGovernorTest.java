@@ -0,0 +1,126 @@
+package org.example.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IngestionGovernorTest {
+
+    private final IngestionGovernor governor = new IngestionGovernor();
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(governor, "maxBytesInFlight", DataSize.ofBytes(1000));
+        ReflectionTestUtils.setField(governor, "maxConcurrentFiles", 2);
+        ReflectionTestUtils.setField(governor, "admissionWaitMs", 200L);
+        ReflectionTestUtils.setField(governor, "retryAfterSeconds", 30L);
+        ReflectionTestUtils.setField(governor, "maxCompressionRatio", 100.0);
+        ReflectionTestUtils.setField(governor, "maxEntrySize", DataSize.ofBytes(10_000));
+        ReflectionTestUtils.setField(governor, "maxExpandedSize", DataSize.ofBytes(50_000));
+        ReflectionTestUtils.setField(governor, "maxArchiveEntries", 100);
+        governor.init();
+    }
+
+    @Test
+    public void testRequestsBeyondTheBytesBudgetAreRejected() {
+        IngestionGovernor.Permit first = governor.admit(600);
+        long start = System.currentTimeMillis();
+
+        IngestionRejectedException rejected = assertThrows(IngestionRejectedException.class, () -> governor.admit(600));
+
+        assertTrue(System.currentTimeMillis() - start >= 150, "Waits for the budget before rejecting");
+        assertEquals(30, rejected.getRetryAfterSeconds());
+        assertEquals(600, governor.getStats().getBytesInFlight());
+        assertEquals(1, governor.getStats().getRejectedRequests());
+        first.close();
+        governor.admit(600).close();
+        assertEquals(0, governor.getStats().getBytesInFlight());
+    }
+
+    @Test
+    public void testWaitingRequestIsAdmittedWhenBudgetFrees() throws Exception {
+        IngestionGovernor.Permit first = governor.admit(800);
+        ReflectionTestUtils.setField(governor, "admissionWaitMs", 5000L);
+
+        CompletableFuture<IngestionGovernor.Permit> second = CompletableFuture.supplyAsync(() -> governor.admit(800));
+        Thread.sleep(100);
+        assertFalse(second.isDone());
+        first.close();
+
+        second.get(5, TimeUnit.SECONDS).close();
+        assertEquals(0, governor.getStats().getActiveRequests());
+    }
+
+    @Test
+    public void testOversizedRequestRunsAlone() {
+        try (IngestionGovernor.Permit large = governor.admit(5000)) {
+            assertEquals(1000, governor.getStats().getBytesInFlight(), "Reserves the whole budget, no more");
+            assertThrows(IngestionRejectedException.class, () -> governor.admit(1));
+        }
+        assertEquals(0, governor.getStats().getBytesInFlight());
+    }
+
+    @Test
+    public void testPermitsAreReleasedOnce() {
+        IngestionGovernor.Permit permit = governor.admit(400);
+        IngestionGovernor.Permit other = governor.admit(400);
+        permit.close();
+        permit.close();
+        assertEquals(400, governor.getStats().getBytesInFlight(), "A second close must not release another request's bytes");
+        other.close();
+
+        IngestionGovernor.Permit slot = governor.acquireFileSlot();
+        IngestionGovernor.Permit otherSlot = governor.acquireFileSlot();
+        assertEquals(2, governor.getStats().getActiveFiles());
+        slot.close();
+        slot.close();
+        assertEquals(1, governor.getStats().getActiveFiles());
+        otherSlot.close();
+        assertEquals(0, governor.getStats().getActiveFiles());
+    }
+
+    @Test
+    public void testArchiveEntryLimits() throws IOException {
+        governor.checkArchiveEntry("ok.pdf", 5000, 100);
+        // Sizes unknown up front are left to the stream limit
+        governor.checkArchiveEntry("unknown.pdf", -1, -1);
+
+        IOException ratio = assertThrows(IOException.class, () -> governor.checkArchiveEntry("bomb.pdf", 5000, 10));
+        assertTrue(ratio.getMessage().contains("compression ratio"), ratio.getMessage());
+        assertThrows(IOException.class, () -> governor.checkArchiveEntry("large.pdf", 20_000, 19_000));
+        assertEquals(2, governor.getStats().getRejectedArchiveEntries());
+        assertEquals(100, governor.getStats().getMaxArchiveEntries());
+    }
+
+    @Test
+    public void testEntryStreamStopsAtTheRatioLimit() throws IOException {
+        try (InputStream in = governor.limitArchiveEntry(new ByteArrayInputStream(new byte[1000]), "ok.pdf", 10)) {
+            assertEquals(1000, in.readAllBytes().length);
+        }
+
+        InputStream bomb = governor.limitArchiveEntry(new ByteArrayInputStream(new byte[1001]), "bomb.pdf", 10);
+        IOException error = assertThrows(IOException.class, bomb::readAllBytes);
+        assertTrue(error.getMessage().contains("bomb.pdf"), error.getMessage());
+
+        // Without a stored size only the entry size limit applies, and skipping counts too
+        InputStream unknown = governor.limitArchiveEntry(new ByteArrayInputStream(new byte[20_000]), "tar-entry.pdf", -1);
+        assertEquals(9_000, unknown.skip(9_000));
+        assertThrows(IOException.class, () -> unknown.skip(2_000));
+    }
+
+    @Test
+    public void testExpandedBytesBudget() {
+        assertEquals(10_000, governor.maxExpandedBytes(100));
+        assertEquals(50_000, governor.maxExpandedBytes(10_000));
+        assertEquals(100, governor.maxExpandedBytes(0));
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.service;
+
+import org.example.model.JobRequirement;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocalPreScorerTest {
+
+    private static final String MATCHING = "Jane Doe\nExperience\nBackend developer building Java and Spring Boot "
+            + "services, deployed with Docker on Kubernetes. 2016 - 2024";
+    private static final String UNRELATED = "John Roe\nExperience\nPastry chef running a busy bakery kitchen. 2016 - 2024";
+
+    private final LocalPreScorer scorer = new LocalPreScorer();
+
+    @Test
+    public void testRequiredYearsFromExperienceLevel() {
+        assertEquals(10, profile("10+ years").requiredYears());
+        assertEquals(3, profile("Years of experience: 3").requiredYears());
+        assertEquals(5, profile("Senior").requiredYears());
+        assertEquals(0, profile("Entry level").requiredYears());
+        assertEquals(-1, profile(null).requiredYears());
+        assertEquals(-1, profile("Negotiable").requiredYears());
+        assertEquals(8, profile("Tech Lead").requiredYears());
+        assertEquals(5, profile("Sr. Engineer").requiredYears());
+        assertEquals(3, profile("Mid-level").requiredYears());
+        assertEquals(0, profile("Internship").requiredYears());
+    }
+
+    @Test
+    public void testLevelKeywordsMatchWholeWords() {
+        assertEquals(-1, profile("Leadership skills").requiredYears());
+        assertEquals(-1, profile("International team").requiredYears());
+        assertEquals(-1, profile("Strong communicator").requiredYears());
+        assertEquals(5, profile("Senior, internal tools").requiredYears());
+        assertEquals(0, profile("Junior, staffing agency").requiredYears());
+    }
+
+    @Test
+    public void testScoreRewardsRequiredSkills() {
+        LocalPreScorer.Profile profile = profile("3+ years");
+
+        LocalPreScorer.Score matching = scorer.score(MATCHING, profile);
+        LocalPreScorer.Score unrelated = scorer.score(UNRELATED, profile);
+
+        assertEquals(2, matching.requiredSkillCount());
+        assertEquals(2, matching.requiredMatched());
+        assertTrue(matching.matchedSkills().containsAll(List.of("java", "spring boot", "docker")),
+                "Matched " + matching.matchedSkills());
+        assertEquals(0, unrelated.requiredMatched());
+        assertTrue(matching.value() > unrelated.value(), matching.value() + " vs " + unrelated.value());
+        assertTrue(matching.value() <= 100 && unrelated.value() >= 0);
+    }
+
+    @Test
+    public void testStatedYearsCountTowardsExperience() {
+        LocalPreScorer.Profile profile = profile("10+ years");
+
+        double tenPlus = scorer.score("Experience\nJava developer, 10+ years", profile).value();
+        double three = scorer.score("Experience\nJava developer, 3+ years", profile).value();
+        double labelled = scorer.score("Experience\nJava developer, years of experience: 12", profile).value();
+        double unlabelled = scorer.score("Experience\nJava developer, years of experience", profile).value();
+
+        assertTrue(tenPlus > three, tenPlus + " vs " + three);
+        assertTrue(labelled > unlabelled, labelled + " vs " + unlabelled);
+    }
+
+    @Test
+    public void testDocumentFrequenciesCountEachResumeOnce() {
+        LocalPreScorer.Profile profile = profile("3+ years");
+
+        scorer.score(MATCHING, SectionSegmenter.segment(MATCHING), profile, "hash-a");
+        scorer.score(MATCHING, SectionSegmenter.segment(MATCHING), profile, "hash-a");
+        double before = scorer.score(MATCHING, profile).value();
+        // Re-scoring passes no hash and must not move the weights
+        scorer.score(UNRELATED, SectionSegmenter.segment(UNRELATED), profile, null);
+
+        assertEquals(1L, ((AtomicLong) ReflectionTestUtils.getField(scorer, "documentCount")).get());
+        assertEquals(before, scorer.score(MATCHING, profile).value());
+    }
+
+    @Test
+    public void testScoresDoNotDependOnIngestionOrder() {
+        LocalPreScorer.Profile profile = profile("3+ years");
+        LocalPreScorer other = new LocalPreScorer();
+
+        scorer.score(MATCHING, SectionSegmenter.segment(MATCHING), profile, "hash-a");
+        scorer.score(UNRELATED, SectionSegmenter.segment(UNRELATED), profile, "hash-b");
+        other.score(UNRELATED, SectionSegmenter.segment(UNRELATED), profile, "hash-b");
+        other.score(MATCHING, SectionSegmenter.segment(MATCHING), profile, "hash-a");
+
+        String candidate = "Experience\nJava engineer using Spring Boot since 2019";
+        assertEquals(scorer.score(candidate, profile).value(), other.score(candidate, profile).value());
+    }
+
+    private LocalPreScorer.Profile profile(String experienceLevel) {
+        return scorer.profile(new JobRequirement(null, "Java Developer", "Backend Java development",
+                "Java, Spring Boot", "Docker", experienceLevel, LocalDateTime.now(), true));
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.service;
+
+import org.example.model.Resume;
+import org.example.model.ResumeSection;
+import org.example.model.SectionType;
+import org.example.repository.ResumeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application.properties")
+public class ResumeBatchWriterTest {
+
+    @Autowired
+    private ResumeBatchWriter batchWriter;
+
+    @Autowired
+    private ResumeRepository resumeRepository;
+
+    private int originalBatchSize;
+    private final List<String> hashes = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        originalBatchSize = (int) ReflectionTestUtils.getField(batchWriter, "batchSize");
+        ReflectionTestUtils.setField(batchWriter, "batchSize", 3);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ReflectionTestUtils.setField(batchWriter, "batchSize", originalBatchSize);
+        hashes.forEach(hash -> resumeRepository.findByContentHash(hash).ifPresent(resume -> resumeRepository.delete(resume)));
+    }
+
+    @Test
+    public void testDuplicateInBatchDoesNotLoseOtherRows() throws Exception {
+        String first = newHash();
+        String other = newHash();
+
+        // Hold the buffer so the scheduled flush cannot split the three writes across batches
+        Object buffer = ReflectionTestUtils.getField(batchWriter, "buffer");
+        CompletableFuture<Resume> a;
+        CompletableFuture<Resume> duplicate;
+        CompletableFuture<Resume> c;
+        synchronized (buffer) {
+            a = batchWriter.enqueue(resume("a.pdf", first));
+            duplicate = batchWriter.enqueue(resume("a-copy.pdf", first));
+            c = batchWriter.enqueue(resume("c.pdf", other));
+        }
+
+        Resume savedA = a.get(30, TimeUnit.SECONDS);
+        Resume savedDuplicate = duplicate.get(30, TimeUnit.SECONDS);
+        Resume savedC = c.get(30, TimeUnit.SECONDS);
+
+        assertNotNull(savedA.getId());
+        assertNotNull(savedC.getId());
+        assertEquals(savedA.getId(), savedDuplicate.getId(), "The duplicate resolves to the stored row");
+        Resume storedA = resumeRepository.findByContentHash(first).orElseThrow();
+        assertEquals("a.pdf", storedA.getFileName());
+        assertEquals(1, storedA.getSections().size());
+        Resume storedC = resumeRepository.findByContentHash(other).orElseThrow();
+        assertEquals("c.pdf", storedC.getFileName());
+        assertEquals(1, storedC.getSections().size());
+    }
+
+    private String newHash() {
+        String hash = UUID.randomUUID().toString();
+        hashes.add(hash);
+        return hash;
+    }
+
+    private static Resume resume(String fileName, String contentHash) {
+        Resume resume = new Resume();
+        resume.setFileName(fileName);
+        resume.setFileType("application/pdf");
+        resume.setSource("UPLOAD");
+        resume.setExtractedText("Experience\nJava developer");
+        resume.setSections(new ArrayList<>(List.of(new ResumeSection(SectionType.EXPERIENCE, "Experience", 0, 25))));
+        resume.setContentHash(contentHash);
+        resume.setMatchScore(60.0);
+        resume.setUploadedAt(LocalDateTime.now());
+        resume.setAnalyzedAt(LocalDateTime.now());
+        return resume;
+    }
+}
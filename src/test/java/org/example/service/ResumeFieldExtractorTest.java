@@ -0,0 +1,99 @@
+package org.example.service;
+
+import org.example.dto.AIAnalysisResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResumeFieldExtractorTest {
+
+    private static final String RESUME = """
+            JANE DOE
+            Jane.Doe@Example.COM
+            Fax 555 123 4567
+            Mobile: +1 (555) 987-6543
+
+            Experience
+            Senior Engineer, Acme Corp
+            2019-2024
+            Built payment services in Java and Spring Boot
+
+            Skills
+            JavaScript, postgres, Docker
+
+            References
+            Available from john.roe@example.org
+            """;
+
+    private final ResumeFieldExtractor extractor = new ResumeFieldExtractor();
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        ReflectionTestUtils.setField(extractor, "resourceLoader", new DefaultResourceLoader());
+        ReflectionTestUtils.setField(extractor, "taxonomyLocation", "classpath:skills-taxonomy.txt");
+        extractor.loadTaxonomy();
+    }
+
+    @Test
+    public void testExtractsContactFields() {
+        ResumeFieldExtractor.Fields fields = extract(RESUME);
+
+        assertEquals("Jane Doe", fields.candidateName(), "Capitalised names are title-cased");
+        assertEquals("jane.doe@example.com", fields.email(), "The contact block wins over later addresses");
+        assertEquals("+1 (555) 987-6543", fields.phone(), "A number on a mobile/phone line wins");
+    }
+
+    @Test
+    public void testNameSkipsLinesThatAreNotNames() {
+        ResumeFieldExtractor.Fields fields = extract("john.smith@example.com\n+44 20 7946 0958\nJohn Smith\n\nSummary\nEngineer");
+
+        assertEquals("John Smith", fields.candidateName());
+        assertEquals("+44 20 7946 0958", fields.phone());
+    }
+
+    @Test
+    public void testYearRangesAreNotPhoneNumbers() {
+        ResumeFieldExtractor.Fields fields = extract("Ann Lee\nann@example.com\n\nExperience\nAcme Corp 2015-2024");
+
+        assertEquals("", fields.phone());
+    }
+
+    @Test
+    public void testSkillsAndExperience() {
+        ResumeFieldExtractor.Fields fields = extract(RESUME);
+
+        assertEquals(List.of("Java", "Spring Boot", "JavaScript", "PostgreSQL", "Docker"), fields.skills());
+        assertEquals("Senior Engineer, Acme Corp; 2019-2024; Built payment services in Java and Spring Boot",
+                fields.experience());
+    }
+
+    @Test
+    public void testEmptyText() {
+        ResumeFieldExtractor.Fields fields = extract("");
+
+        assertEquals("", fields.candidateName());
+        assertEquals("", fields.email());
+        assertEquals("", fields.phone());
+        assertTrue(fields.skills().isEmpty());
+    }
+
+    @Test
+    public void testFillSetsResponseFields() {
+        AIAnalysisResponse response = extractor.fill(new AIAnalysisResponse(80.0, "Good", "", "", "", "", ""), RESUME);
+
+        assertEquals("Jane Doe", response.getCandidateName());
+        assertEquals("jane.doe@example.com", response.getEmail());
+        assertTrue(response.getExtractedSkills().startsWith("Java, Spring Boot"));
+        assertEquals(80.0, response.getMatchScore());
+    }
+
+    private ResumeFieldExtractor.Fields extract(String text) {
+        return extractor.extract(text, SectionSegmenter.segment(text));
+    }
+}
@@ -0,0 +1,174 @@
+package org.example.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.dto.AIAnalysisResponse;
+import org.example.model.Resume;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the pipeline's analysis slots against a local fake Groq HTTP server.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application.properties")
+public class ResumeIngestionPipelineTest {
+
+    private static final String COMPLETION = "{\"choices\":[{\"message\":{\"content\":"
+            + "\"{\\\"matchScore\\\": 72, \\\"analysis\\\": \\\"Strong Java background\\\"}\"}}]}";
+
+    @Autowired
+    private ResumeIngestionPipeline pipeline;
+
+    @Autowired
+    private GroqService groqService;
+
+    @Autowired
+    private AISettingsService aiSettingsService;
+
+    @Autowired
+    private IngestionGovernor governor;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private Map<String, String> originalSettings;
+    private int originalConcurrency;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/openai/v1/chat/completions", this::handle);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        Map<String, String> settings = (Map<String, String>) ReflectionTestUtils.getField(aiSettingsService, "runtimeSettings");
+        originalSettings = new HashMap<>(settings);
+        settings.put("groq.api.key", "gsk_test");
+        settings.put("groq.api.url", "http://localhost:" + server.getAddress().getPort() + "/openai/v1/chat/completions");
+        originalConcurrency = (int) ReflectionTestUtils.getField(pipeline, "analyzeConcurrency");
+    }
+
+    @AfterEach
+    @SuppressWarnings("unchecked")
+    public void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        Map<String, String> settings = (Map<String, String>) ReflectionTestUtils.getField(aiSettingsService, "runtimeSettings");
+        settings.clear();
+        settings.putAll(originalSettings);
+        ReflectionTestUtils.setField(pipeline, "analyzeConcurrency", originalConcurrency);
+    }
+
+    @Test
+    public void testAnalysesBeyondTheLimitWaitForASlot() throws Exception {
+        ReflectionTestUtils.setField(pipeline, "analyzeConcurrency", 4);
+
+        List<CompletableFuture<AIAnalysisResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            results.add(withAnalysisSlot(() -> groqService.analyzeResumeAsync("Java developer", "Java")));
+        }
+        for (CompletableFuture<AIAnalysisResponse> result : results) {
+            AIAnalysisResponse response = result.get(30, TimeUnit.SECONDS);
+            assertEquals(72.0, response.getMatchScore());
+            assertEquals("Strong Java background", response.getAnalysis());
+        }
+
+        assertEquals(12, requests.get());
+        assertTrue(maxInFlight.get() <= 4, "At most 4 requests in flight, saw " + maxInFlight.get());
+        assertEquals(0, (int) ReflectionTestUtils.getField(pipeline, "runningAnalyses"));
+    }
+
+    @Test
+    public void testInstantlyCompletedAnalysesDoNotRecurse() throws Exception {
+        ReflectionTestUtils.setField(pipeline, "analyzeConcurrency", 1);
+
+        // Hold the only slot so every following analysis queues behind it
+        CompletableFuture<AIAnalysisResponse> first = new CompletableFuture<>();
+        CompletableFuture<AIAnalysisResponse> held = withAnalysisSlot(() -> first);
+        AIAnalysisResponse cached = new AIAnalysisResponse();
+        cached.setMatchScore(50.0);
+        List<CompletableFuture<AIAnalysisResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            results.add(withAnalysisSlot(() -> CompletableFuture.completedFuture(cached)));
+        }
+
+        first.complete(cached);
+        held.get(30, TimeUnit.SECONDS);
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+        assertEquals(0, (int) ReflectionTestUtils.getField(pipeline, "runningAnalyses"));
+    }
+
+    @Test
+    public void testFailedFilesReleaseTheirSlot() {
+        int activeBefore = governor.getStats().getActiveFiles();
+        int maxFiles = (int) ReflectionTestUtils.getField(governor, "maxConcurrentFiles");
+
+        // More failures than there are slots: a leaked slot would block a later submit for good
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            for (int i = 0; i <= maxFiles; i++) {
+                IngestionItem item = i % 2 == 0
+                        ? new IngestionItem("missing-" + i + ".pdf", "application/pdf", "UPLOAD", null, () -> {
+                            throw new IOException("Spool file is gone");
+                        })
+                        : new IngestionItem("notes-" + i + ".pdf", "application/pdf", "UPLOAD", null,
+                            () -> new ByteArrayInputStream(("Not a resume " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8)));
+                CompletableFuture<Resume> result = pipeline.submit(item, groqService, "Java", null, IngestionListener.NONE);
+                assertThrows(ExecutionException.class, () -> result.get(30, TimeUnit.SECONDS));
+            }
+        });
+
+        assertEquals(activeBefore, governor.getStats().getActiveFiles());
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<AIAnalysisResponse> withAnalysisSlot(Supplier<CompletableFuture<AIAnalysisResponse>> analysis) {
+        return (CompletableFuture<AIAnalysisResponse>) ReflectionTestUtils.invokeMethod(pipeline, "withAnalysisSlot", analysis);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+            Thread.sleep(100);
+            // Leave before answering: the client may start the next request as soon as it has the response
+            inFlight.decrementAndGet();
+            byte[] body = COMPLETION.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
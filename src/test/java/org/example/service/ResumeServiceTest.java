@@ -0,0 +1,308 @@
+package org.example.service;
+
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.client.util.DateTime;
+import com.google.api.services.drive.Drive;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.example.dto.IngestionJobDTO;
+import org.example.dto.ResumeDTO;
+import org.example.model.DriveSyncState;
+import org.example.model.JobRequirement;
+import org.example.model.Resume;
+import org.example.model.ResumeSection;
+import org.example.model.SectionType;
+import org.example.repository.DriveSyncStateRepository;
+import org.example.repository.JobRequirementRepository;
+import org.example.repository.ResumeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs uploads and Google Drive syncs end to end, the latter against a local fake Drive HTTP server. Every file
+ * is pre-screened locally, so no AI provider is called.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application.properties")
+public class ResumeServiceTest {
+
+    private static final Pattern MODIFIED_AFTER = Pattern.compile("modifiedTime > '([^']+)'");
+    private static final long HOUR = 3_600_000L;
+
+    @Autowired
+    private ResumeService resumeService;
+
+    @Autowired
+    private GoogleDriveService googleDriveService;
+
+    @Autowired
+    private IngestionJobService jobService;
+
+    @Autowired
+    private IngestionGovernor governor;
+
+    @Autowired
+    private LocalPreScorer preScorer;
+
+    @Autowired
+    private ResumeRepository resumeRepository;
+
+    @Autowired
+    private JobRequirementRepository jobRequirementRepository;
+
+    @Autowired
+    private DriveSyncStateRepository driveSyncStateRepository;
+
+    private HttpServer server;
+    private final Map<String, FakeFile> files = new LinkedHashMap<>();
+    private final CountDownLatch releaseFirstDownload = new CountDownLatch(1);
+    private String firstFileId;
+    private double originalThreshold;
+    private long originalOverlap;
+
+    private record FakeFile(String id, long modifiedTime, byte[] content) {
+    }
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/drive/v3/files", this::handle);
+        server.start();
+
+        Drive drive = new Drive.Builder(new NetHttpTransport(), GsonFactory.getDefaultInstance(), null)
+                .setRootUrl("http://localhost:" + server.getAddress().getPort() + "/")
+                .setApplicationName("TalentLensTest")
+                .build();
+        ReflectionTestUtils.setField(googleDriveService, "driveService", drive);
+        ReflectionTestUtils.setField(googleDriveService, "driveEnabled", true);
+
+        if (jobRequirementRepository.findFirstByActiveTrue().isEmpty()) {
+            jobRequirementRepository.save(new JobRequirement(null, "Java Developer", "Backend Java development",
+                    "Java, Spring Boot", "Docker", "3+ years", LocalDateTime.now(), true));
+        }
+        // Keep every file below the gate so nothing reaches an AI provider
+        originalThreshold = preScorer.getThreshold();
+        ReflectionTestUtils.setField(preScorer, "threshold", 1000.0);
+        // Without the overlap the watermark alone decides what the next incremental sync lists
+        originalOverlap = (long) ReflectionTestUtils.getField(resumeService, "driveSyncOverlapSeconds");
+        ReflectionTestUtils.setField(resumeService, "driveSyncOverlapSeconds", 0L);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        releaseFirstDownload.countDown();
+        server.stop(0);
+        ReflectionTestUtils.setField(googleDriveService, "driveService", null);
+        ReflectionTestUtils.setField(googleDriveService, "driveEnabled", false);
+        ReflectionTestUtils.setField(preScorer, "threshold", originalThreshold);
+        ReflectionTestUtils.setField(resumeService, "driveSyncOverlapSeconds", originalOverlap);
+    }
+
+    @Test
+    public void testCancelledDriveSyncDoesNotSkipUnimportedFiles() throws Exception {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        String folderId = "folder-" + run;
+        long base = System.currentTimeMillis() - 10 * HOUR;
+        addFile("a-" + run, base);
+        addFile("b-" + run, base + HOUR);
+        addFile("c-" + run, base + 2 * HOUR);
+        firstFileId = "a-" + run;
+
+        // Leave a single pipeline slot: the first file holds it while its download is stalled, so discovery
+        // blocks on the second file and the job can be cancelled halfway through the listing
+        int maxFiles = (int) ReflectionTestUtils.getField(governor, "maxConcurrentFiles");
+        List<IngestionGovernor.Permit> drained = new ArrayList<>();
+        for (int i = 0; i < maxFiles - 1; i++) {
+            drained.add(governor.acquireFileSlot());
+        }
+        String firstJobId;
+        try {
+            String jobId = resumeService.startGoogleDriveSyncJob(folderId, null, false).getId();
+            waitFor(() -> jobService.findJob(jobId).toDTO(false).getTotalFiles() >= 2);
+            jobService.cancelJob(jobId);
+            releaseFirstDownload.countDown();
+            waitFor(() -> jobService.findJob(jobId).isFinished());
+            firstJobId = jobId;
+        } finally {
+            drained.forEach(IngestionGovernor.Permit::close);
+        }
+
+        assertEquals("CANCELLED", jobService.getJob(firstJobId).getStatus());
+        assertEquals(1, resumeRepository.findByDriveFileIdIn(List.of("a-" + run)).size(), "First file is imported");
+        assertTrue(resumeRepository.findByDriveFileIdIn(List.of("c-" + run)).isEmpty(), "Last file was skipped");
+        DriveSyncState state = driveSyncStateRepository.findById(folderId).orElseThrow();
+        assertTrue(state.getLastModifiedTime() < base + 2 * HOUR,
+                "Watermark must stay below the skipped file, was " + state.getLastModifiedTime());
+
+        IngestionJobDTO second = resumeService.startGoogleDriveSyncJob(folderId, null, false);
+        waitFor(() -> jobService.findJob(second.getId()).isFinished());
+
+        assertEquals("COMPLETED", jobService.getJob(second.getId()).getStatus());
+        assertEquals(1, resumeRepository.findByDriveFileIdIn(List.of("b-" + run)).size());
+        assertEquals(1, resumeRepository.findByDriveFileIdIn(List.of("c-" + run)).size(),
+                "The re-sync must import the file the cancelled sync skipped");
+        assertEquals(base + 2 * HOUR, driveSyncStateRepository.findById(folderId).orElseThrow().getLastModifiedTime());
+    }
+
+    @Test
+    public void testLongPdfIsStoredWithItsFullText() throws Exception {
+        String run = UUID.randomUUID().toString();
+        List<String> pages = new ArrayList<>();
+        for (int page = 1; page <= 30; page++) {
+            StringBuilder text = new StringBuilder(page == 1 ? "Candidate " + run + "\nExperience\n" : "");
+            for (int line = 1; line <= 40; line++) {
+                text.append("Project ").append(page).append('.').append(line).append(": built Java services for payments\n");
+            }
+            if (page == 30) {
+                text.append("Skills\nJava, Spring Boot, Docker\n");
+            }
+            pages.add(text.toString());
+        }
+        MockMultipartFile file = new MockMultipartFile("file", "long-resume.pdf", "application/pdf", pdf(pages));
+
+        ResumeDTO saved = resumeService.uploadAndAnalyzeResume(file);
+
+        try {
+            Resume resume = resumeRepository.findById(saved.getId()).orElseThrow();
+            String text = resume.getExtractedText();
+            assertTrue(text.length() > 40_000, "Stored " + text.length() + " characters");
+            assertTrue(text.contains("Project 1.1: built"));
+            assertTrue(text.contains("Project 30.40: built"), "The last page is stored too");
+            // Section offsets point into the stored text
+            List<SectionType> types = resume.getSections().stream().map(ResumeSection::getType).toList();
+            assertTrue(types.containsAll(List.of(SectionType.EXPERIENCE, SectionType.SKILLS)), "Sections " + types);
+            for (ResumeSection section : resume.getSections()) {
+                assertTrue(section.getEndOffset() <= text.length());
+                if (section.getHeading() != null) {
+                    assertTrue(text.startsWith(section.getHeading(), section.getStartOffset()), section.getHeading());
+                }
+            }
+        } finally {
+            resumeRepository.deleteById(saved.getId());
+        }
+    }
+
+    private void addFile(String id, long modifiedTime) throws IOException {
+        files.put(id, new FakeFile(id, modifiedTime, pdf("Candidate " + id + "\nExperience\nJava developer since 2015")));
+    }
+
+    private static byte[] pdf(String text) throws IOException {
+        return pdf(List.of(text));
+    }
+
+    private static byte[] pdf(List<String> pages) throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (String text : pages) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 10);
+                    content.setLeading(12);
+                    content.newLineAtOffset(72, 740);
+                    for (String line : text.split("\n")) {
+                        content.showText(line);
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String query = exchange.getRequestURI().getRawQuery() != null
+                ? URLDecoder.decode(exchange.getRequestURI().getRawQuery(), StandardCharsets.UTF_8) : "";
+        try (exchange) {
+            if (path.equals("/drive/v3/files")) {
+                Matcher after = MODIFIED_AFTER.matcher(query);
+                long modifiedAfter = after.find() ? DateTime.parseRfc3339(after.group(1)).getValue() : Long.MIN_VALUE;
+                List<String> listed = new ArrayList<>();
+                for (FakeFile file : files.values()) {
+                    if (file.modifiedTime() > modifiedAfter) {
+                        listed.add("{\"id\":\"" + file.id() + "\",\"name\":\"" + file.id() + ".pdf\","
+                                + "\"mimeType\":\"application/pdf\",\"modifiedTime\":\""
+                                + new DateTime(file.modifiedTime()).toStringRfc3339() + "\"}");
+                    }
+                }
+                respond(exchange, 200, ("{\"files\":[" + String.join(",", listed) + "]}").getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+
+            FakeFile file = files.get(path.substring("/drive/v3/files/".length()));
+            if (file == null) {
+                respond(exchange, 404, "{\"error\":{\"code\":404,\"message\":\"File not found\"}}".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            if (file.id().equals(firstFileId)) {
+                try {
+                    releaseFirstDownload.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            int start = 0;
+            int end = file.content().length - 1;
+            String range = exchange.getRequestHeaders().getFirst("Range");
+            if (range != null && range.startsWith("bytes=")) {
+                String[] bounds = range.substring("bytes=".length()).split("-");
+                start = Integer.parseInt(bounds[0]);
+                if (bounds.length > 1 && !bounds[1].isEmpty()) {
+                    end = Math.min(end, Integer.parseInt(bounds[1]));
+                }
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/pdf");
+            exchange.getResponseHeaders().set("Content-Range", "bytes " + start + "-" + end + "/" + file.content().length);
+            exchange.sendResponseHeaders(206, end - start + 1);
+            exchange.getResponseBody().write(file.content(), start, end - start + 1);
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for the sync job");
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.service;
+
+import org.example.model.SectionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResumeTextCompactorTest {
+
+    private static final String MODEL = "llama-3.3-70b-versatile";
+    private static final char PAGE = ResumeTextCompactor.PAGE_BREAK;
+
+    private final ResumeTextCompactor compactor = new ResumeTextCompactor();
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(compactor, "enabled", true);
+        ReflectionTestUtils.setField(compactor, "excludedSections", EnumSet.of(SectionType.INTERESTS, SectionType.REFERENCES));
+        ReflectionTestUtils.setField(compactor, "openAiMaxTokens", 6000);
+        ReflectionTestUtils.setField(compactor, "geminiMaxTokens", 8000);
+        ReflectionTestUtils.setField(compactor, "groqMaxTokens", 4000);
+    }
+
+    @Test
+    public void testRepeatedHeadersAndPageNumbersAreRemoved() {
+        String text = "Jane Doe - Curriculum Vitae\nJane Doe\njane@example.com\n\nExperience\nAcme Corp, Java engineer\nPage 1 of 3"
+                + PAGE + "Jane Doe - Curriculum Vitae\nBuilt payment services\n2\n"
+                + PAGE + "Jane Doe - Curriculum Vitae\nSkills\nJava, SQL\n- 3 -\n";
+
+        String compacted = compactor.compact(text, "groq", MODEL);
+
+        assertEquals(1, occurrences(compacted, "Curriculum Vitae"), "The running header is kept once: " + compacted);
+        assertFalse(compacted.contains("Page 1"));
+        assertFalse(compacted.contains("- 3 -"));
+        assertFalse(compacted.indexOf(PAGE) >= 0);
+        assertTrue(compacted.contains("Acme Corp, Java engineer\nBuilt payment services"), compacted);
+        assertTrue(compacted.contains("Java, SQL"));
+    }
+
+    @Test
+    public void testExcludedSectionsAndWhitespace() {
+        String text = "Jane   Doe\u200B\n\n\n\nExperience\n\tAcme Corp\n\nInterests\nChess\n\nReferences\nOn request";
+
+        String compacted = compactor.compact(text, "openai", "gpt-4o-mini");
+
+        assertEquals("Jane Doe\n\nExperience\nAcme Corp", compacted);
+    }
+
+    @Test
+    public void testLowValueSectionsGoFirstWhenOverBudget() {
+        ReflectionTestUtils.setField(compactor, "groqMaxTokens", 60);
+        String text = "Jane Doe\n\nExperience\nAcme Corp, senior Java engineer building payment services\n\n"
+                + "Skills\nJava, Spring Boot, SQL\n\n"
+                + "Awards\n" + "Employee of the month for outstanding contributions to the team\n".repeat(3)
+                + "\nVolunteering\n" + "Taught programming to school children every weekend\n".repeat(3);
+
+        String compacted = compactor.compact(text, "groq", MODEL);
+
+        assertTrue(compacted.contains("Acme Corp, senior Java engineer"), compacted);
+        assertTrue(compacted.contains("Java, Spring Boot, SQL"));
+        assertFalse(compacted.contains("Volunteering"));
+        assertFalse(compacted.contains("Employee of the month"));
+        assertTrue(compactor.estimateTokens(compacted, MODEL) <= 60);
+    }
+
+    @Test
+    public void testValuableSectionsAreTruncatedToTheBudget() {
+        ReflectionTestUtils.setField(compactor, "groqMaxTokens", 50);
+        StringBuilder text = new StringBuilder("Jane Doe\n\nExperience\n");
+        for (int i = 1; i <= 40; i++) {
+            text.append("Role ").append(i).append(": built and operated Java services\n");
+        }
+
+        String compacted = compactor.compact(text.toString(), "groq", MODEL);
+
+        assertTrue(compacted.contains("Role 1: built"), compacted);
+        assertFalse(compacted.contains("Role 40"));
+        assertTrue(compacted.contains("[...]"));
+        // Allow for the truncation marker itself
+        assertTrue(compactor.estimateTokens(compacted, MODEL) <= 50 + 3, compacted);
+    }
+
+    @Test
+    public void testDisabledOnlyReplacesPageBreaks() {
+        ReflectionTestUtils.setField(compactor, "enabled", false);
+
+        assertEquals("Jane  Doe\nPage 1\nMore", compactor.compact("Jane  Doe\nPage 1" + PAGE + "More", "groq", MODEL));
+        assertEquals(6000, compactor.maxTokens(null));
+        assertEquals(8000, compactor.maxTokens("Gemini"));
+    }
+
+    private static int occurrences(String text, String part) {
+        int count = 0;
+        for (int i = text.indexOf(part); i >= 0; i = text.indexOf(part, i + 1)) {
+            count++;
+        }
+        return count;
+    }
+}
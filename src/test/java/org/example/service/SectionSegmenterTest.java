@@ -0,0 +1,87 @@
+package org.example.service;
+
+import org.example.model.ResumeSection;
+import org.example.model.SectionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SectionSegmenterTest {
+
+    private static final String RESUME = """
+            Jane Doe
+            jane@example.com
+
+            PROFESSIONAL SUMMARY
+            Backend engineer.
+
+            WORK EXPERIENCE
+            ACME CORP
+            Senior Engineer, 2019 - present
+
+            Education & Training
+            BSc Computer Science
+
+            Skills: Java, SQL
+            Tools: Git, Docker
+            """;
+
+    @Test
+    public void testDetectsHeadings() {
+        List<ResumeSection> sections = SectionSegmenter.segment(RESUME);
+
+        assertEquals(List.of(SectionType.CONTACT, SectionType.SUMMARY, SectionType.EXPERIENCE, SectionType.EDUCATION,
+                SectionType.SKILLS), sections.stream().map(ResumeSection::getType).toList());
+        assertNull(sections.get(0).getHeading());
+        assertEquals("PROFESSIONAL SUMMARY", sections.get(1).getHeading());
+        assertEquals("WORK EXPERIENCE", sections.get(2).getHeading());
+        assertEquals("Education & Training", sections.get(3).getHeading());
+        assertEquals("Skills: Java, SQL", sections.get(4).getHeading());
+    }
+
+    @Test
+    public void testOffsetsCoverTheText() {
+        List<ResumeSection> sections = SectionSegmenter.segment(RESUME);
+
+        assertEquals(0, sections.get(0).getStartOffset());
+        for (int i = 1; i < sections.size(); i++) {
+            assertEquals(sections.get(i - 1).getEndOffset(), sections.get(i).getStartOffset(), "Sections are contiguous");
+        }
+        assertEquals(RESUME.length(), sections.get(sections.size() - 1).getEndOffset());
+        for (ResumeSection section : sections.subList(1, sections.size())) {
+            assertTrue(RESUME.startsWith(section.getHeading(), section.getStartOffset()),
+                    "Section starts at its heading: " + section.getHeading());
+        }
+        assertEquals("Skills: Java, SQL\nTools: Git, Docker\n",
+                SectionSegmenter.text(RESUME, sections, Set.of(SectionType.SKILLS)));
+    }
+
+    @Test
+    public void testCapitalisedEntriesAreNotHeadings() {
+        // "ACME CORP" is an employer inside the experience section, and a sentence is never a heading
+        List<ResumeSection> sections = SectionSegmenter.segment("EXPERIENCE\nACME CORP\nExperience with Java\n");
+
+        assertEquals(1, sections.size());
+        assertEquals(SectionType.EXPERIENCE, sections.get(0).getType());
+        assertNull(SectionSegmenter.headingType("Experience with Java", true));
+        assertEquals(SectionType.SKILLS, SectionSegmenter.headingType("Technical Skills", false));
+        assertNull(SectionSegmenter.headingType("Research Assistant", false));
+    }
+
+    @Test
+    public void testTextWithoutHeadings() {
+        String text = "Jane Doe\nI have built web services in Java for ten years.\n";
+        List<ResumeSection> sections = SectionSegmenter.segment(text);
+
+        assertEquals(1, sections.size());
+        assertEquals(SectionType.CONTACT, sections.get(0).getType());
+        assertEquals(0, sections.get(0).getStartOffset());
+        assertEquals(text.length(), sections.get(0).getEndOffset());
+        assertFalse(SectionSegmenter.hasSection(sections, SectionType.EXPERIENCE));
+        assertTrue(SectionSegmenter.segment("").isEmpty());
+        assertTrue(SectionSegmenter.segment(null).isEmpty());
+    }
+}